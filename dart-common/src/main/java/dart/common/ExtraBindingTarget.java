@@ -20,6 +20,7 @@ package dart.common;
 import static dart.common.util.DartModelUtil.DART_MODEL_SUFFIX;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +29,8 @@ import javax.lang.model.type.TypeMirror;
 
 public class ExtraBindingTarget {
   public final Map<String, ExtraInjection> bindingMap = new LinkedHashMap<>();
+  // Extras of the ancestors bound by the binder of this target itself, when binders are flattened.
+  public final Map<String, ExtraInjection> inheritedBindingMap = new LinkedHashMap<>();
   public final String classPackage;
   public final String className;
   public String parentPackage;
@@ -40,6 +43,16 @@ public class ExtraBindingTarget {
   // just having a look at the parent class is enough to retrieve this information.
   public String closestRequiredAncestorPackage;
   public String closestRequiredAncestorClass;
+  // Whether the required setters of the closest ancestor with required fields are implemented by
+  // a state of their own rather than by its AllSet.
+  public boolean closestRequiredAncestorSeparate;
+  // Whether the required setters of this target are implemented by a state of their own, as an
+  // ancestor already declares a setter under the key of one of them.
+  public boolean separateRequiredSetters;
+
+  // Names of the fields of an immutable navigation model, in the order of the parameters of its
+  // constructor. Null for mutable navigation models, whose fields are assigned by their binder.
+  public List<String> constructorParameters;
 
   public boolean hasRequiredFields;
   public boolean topLevel;
@@ -60,16 +73,62 @@ public class ExtraBindingTarget {
     return parentPackage + "." + parentClass;
   }
 
-  public void addField(String key, String name, TypeMirror type, boolean required, boolean parcel) {
+  /** @return true if the navigation model is created through its constructor. */
+  public boolean isImmutable() {
+    return constructorParameters != null;
+  }
+
+  public void addField(
+      String key, String name, TypeMirror type, boolean required, boolean parcel, boolean lazy) {
     ExtraInjection extraInjection = bindingMap.get(key);
     if (extraInjection == null) {
       extraInjection = new ExtraInjection(key);
       bindingMap.put(key, extraInjection);
     }
-    extraInjection.addFieldBinding(new FieldBinding(name, type, required, parcel));
+    extraInjection.addFieldBinding(new FieldBinding(name, type, required, parcel, lazy));
     hasRequiredFields = hasRequiredFields || required;
   }
 
+  /**
+   * Makes the binder of this target bind the extras declared by {@code ancestor}. Ancestors must be
+   * inherited from the root of the hierarchy down.
+   */
+  public void inherit(ExtraBindingTarget ancestor) {
+    for (ExtraInjection extraInjection : ancestor.bindingMap.values()) {
+      addFieldBindings(inheritedBindingMap, extraInjection);
+    }
+  }
+
+  /**
+   * @return the extras bound by the binder of this target, the inherited ones first. Extras
+   *     inherited and declared under the same key are merged so that they are read once.
+   */
+  public Collection<ExtraInjection> getBindings() {
+    if (inheritedBindingMap.isEmpty()) {
+      return bindingMap.values();
+    }
+    final Map<String, ExtraInjection> bindings = new LinkedHashMap<>();
+    for (ExtraInjection extraInjection : inheritedBindingMap.values()) {
+      addFieldBindings(bindings, extraInjection);
+    }
+    for (ExtraInjection extraInjection : bindingMap.values()) {
+      addFieldBindings(bindings, extraInjection);
+    }
+    return bindings.values();
+  }
+
+  private static void addFieldBindings(
+      Map<String, ExtraInjection> bindings, ExtraInjection extraInjection) {
+    ExtraInjection merged = bindings.get(extraInjection.getKey());
+    if (merged == null) {
+      merged = new ExtraInjection(extraInjection.getKey());
+      bindings.put(extraInjection.getKey(), merged);
+    }
+    for (FieldBinding fieldBinding : extraInjection.getFieldBindings()) {
+      merged.addFieldBinding(fieldBinding);
+    }
+  }
+
   public void addChild(TypeElement typeElement) {
     childClasses.add(typeElement);
   }
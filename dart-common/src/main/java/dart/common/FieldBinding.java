@@ -24,18 +24,21 @@ public final class FieldBinding implements Binding {
   private final TypeMirror type;
   private final boolean required;
   private final boolean parcel;
+  private final boolean lazy;
 
-  FieldBinding(String name, TypeMirror type, boolean required, boolean parcel) {
+  FieldBinding(String name, TypeMirror type, boolean required, boolean parcel, boolean lazy) {
     this.name = name;
     this.type = type;
     this.required = required;
     this.parcel = parcel;
+    this.lazy = lazy;
   }
 
   public String getName() {
     return name;
   }
 
+  /** @return the type of the extra, which is the type argument of {@code dart.Lazy} fields. */
   public TypeMirror getType() {
     return type;
   }
@@ -53,4 +56,9 @@ public final class FieldBinding implements Binding {
   public boolean isParcel() {
     return parcel;
   }
+
+  /** @return true if the field is a {@code dart.Lazy} holder of the extra. */
+  public boolean isLazy() {
+    return lazy;
+  }
 }
@@ -23,6 +23,8 @@ public class NavigationModelBindingTarget {
   public final String navigationModelPackage;
   public final String navigationModelClass;
   public String navigationModelFieldName;
+  // True if the navigation model is created through its constructor.
+  public boolean immutableNavigationModel;
   public String parentPackage;
   public String parentClass;
 
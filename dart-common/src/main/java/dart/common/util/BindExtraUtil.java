@@ -17,23 +17,37 @@
 
 package dart.common.util;
 
+import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.STATIC;
+import static javax.lang.model.util.ElementFilter.constructorsIn;
+import static javax.lang.model.util.ElementFilter.fieldsIn;
 
 import dart.BindExtra;
 import dart.common.ExtraBindingTarget;
+import dart.common.ExtraInjection;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 
 public class BindExtraUtil {
 
+  public static final String LAZY_CLASS = "dart.Lazy";
+
   private final CompilerUtil compilerUtil;
   private final ParcelerUtil parcelerUtil;
   private final LoggingUtil loggingUtil;
@@ -92,15 +106,167 @@ public class BindExtraUtil {
       targetClassMap.put(enclosingElement, extraBindingTarget);
     }
 
-    final String annotationValue = element.getAnnotation(BindExtra.class).value();
+    addField(element, extraBindingTarget);
+  }
+
+  /**
+   * Adds the extras bound by the fields of {@code typeElement} to {@code extraBindingTarget}. Used
+   * for navigation models compiled earlier, e.g. in other modules, whose {@link BindExtra}
+   * annotations are retained in their class files.
+   */
+  public void parseBindExtraFields(TypeElement typeElement, ExtraBindingTarget extraBindingTarget) {
+    for (VariableElement field : fieldsIn(typeElement.getEnclosedElements())) {
+      if (field.getAnnotation(BindExtra.class) != null) {
+        addField(field, extraBindingTarget);
+      }
+    }
+  }
+
+  /**
+   * Finds the constructor of each immutable navigation model, i.e. whose {@link BindExtra} fields
+   * are final. Its parameters must be named and typed after these fields, in any order. Immutable
+   * navigation models can neither extend nor be extended by other navigation models, as their
+   * binders don't assign fields.
+   */
+  public void parseImmutableTargets(Map<TypeElement, ExtraBindingTarget> targetClassMap) {
+    for (Map.Entry<TypeElement, ExtraBindingTarget> entry : targetClassMap.entrySet()) {
+      final TypeElement typeElement = entry.getKey();
+      final ExtraBindingTarget extraBindingTarget = entry.getValue();
+      final TypeMirror superType = typeElement.getSuperclass();
+      if (superType.getKind() == TypeKind.DECLARED
+          && isImmutableNavigationModel((TypeElement) ((DeclaredType) superType).asElement())) {
+        loggingUtil.error(
+            typeElement,
+            "DartModel %s can't extend an immutable navigation model.",
+            typeElement.getQualifiedName());
+        continue;
+      }
+      if (!isImmutableNavigationModel(typeElement)) {
+        continue;
+      }
+      if (extraBindingTarget.parentPackage != null) {
+        loggingUtil.error(
+            typeElement,
+            "Immutable DartModel %s can't extend another navigation model.",
+            typeElement.getQualifiedName());
+        continue;
+      }
+
+      final Map<String, VariableElement> fields = new LinkedHashMap<>();
+      for (VariableElement field : fieldsIn(typeElement.getEnclosedElements())) {
+        if (field.getAnnotation(BindExtra.class) == null) {
+          continue;
+        }
+        if (!field.getModifiers().contains(FINAL)) {
+          loggingUtil.error(
+              field,
+              "@BindExtra fields of immutable DartModel must all be final. (%s.%s)",
+              typeElement.getQualifiedName(),
+              field.getSimpleName());
+        }
+        fields.put(field.getSimpleName().toString(), field);
+      }
+
+      extraBindingTarget.constructorParameters = findConstructorParameters(typeElement, fields);
+      if (extraBindingTarget.constructorParameters == null) {
+        loggingUtil.error(
+            typeElement,
+            "Immutable DartModel %s must declare a non private constructor whose parameters are "
+                + "named and typed after its @BindExtra fields.",
+            typeElement.getQualifiedName());
+      }
+    }
+  }
+
+  /**
+   * Finds the targets whose required setters can't be implemented by their {@code AllSet}, which
+   * inherits a setter, required or optional, from an ancestor under the key of one of them.
+   */
+  public void findSeparateRequiredSetters(Map<TypeElement, ExtraBindingTarget> targetClassMap) {
+    for (Map.Entry<TypeElement, ExtraBindingTarget> entry : targetClassMap.entrySet()) {
+      final ExtraBindingTarget extraBindingTarget = entry.getValue();
+      if (!extraBindingTarget.hasRequiredFields) {
+        continue;
+      }
+      final Set<String> inheritedKeys = getInheritedKeys(entry.getKey());
+      for (ExtraInjection extraInjection : extraBindingTarget.bindingMap.values()) {
+        if (!extraInjection.getRequiredBindings().isEmpty()
+            && inheritedKeys.contains(extraInjection.getKey())) {
+          extraBindingTarget.separateRequiredSetters = true;
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the keys of the extras bound by the ancestors of {@code typeElement}, compiled or not,
+   *     as {@link BindExtra} annotations are retained in class files.
+   */
+  private Set<String> getInheritedKeys(TypeElement typeElement) {
+    final Set<String> keys = new HashSet<>();
+    TypeMirror superType = typeElement.getSuperclass();
+    while (superType.getKind() == TypeKind.DECLARED) {
+      final TypeElement superTypeElement = (TypeElement) ((DeclaredType) superType).asElement();
+      for (VariableElement field : fieldsIn(superTypeElement.getEnclosedElements())) {
+        if (field.getAnnotation(BindExtra.class) != null) {
+          keys.add(getKey(field));
+        }
+      }
+      superType = superTypeElement.getSuperclass();
+    }
+    return keys;
+  }
+
+  /** @return true if a {@link BindExtra} field of {@code typeElement} is final. */
+  public static boolean isImmutableNavigationModel(TypeElement typeElement) {
+    for (VariableElement field : fieldsIn(typeElement.getEnclosedElements())) {
+      if (field.getAnnotation(BindExtra.class) != null && field.getModifiers().contains(FINAL)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private List<String> findConstructorParameters(
+      TypeElement typeElement, Map<String, VariableElement> fields) {
+    for (ExecutableElement constructor : constructorsIn(typeElement.getEnclosedElements())) {
+      if (constructor.getModifiers().contains(PRIVATE)
+          || constructor.getParameters().size() != fields.size()) {
+        continue;
+      }
+      final List<String> parameters = new ArrayList<>();
+      for (VariableElement parameter : constructor.getParameters()) {
+        final String name = parameter.getSimpleName().toString();
+        final VariableElement field = fields.get(name);
+        if (field == null || !compilerUtil.isSameType(field.asType(), parameter.asType())) {
+          break;
+        }
+        parameters.add(name);
+      }
+      if (parameters.size() == fields.size()) {
+        return parameters;
+      }
+    }
+    return null;
+  }
 
+  private void addField(Element element, ExtraBindingTarget extraBindingTarget) {
     final String name = element.getSimpleName().toString();
-    final String key = StringUtil.isNullOrEmpty(annotationValue) ? name : annotationValue;
-    final TypeMirror type = element.asType();
+    final String key = getKey(element);
+    final boolean lazy = isLazy(element.asType());
+    final TypeMirror type = getExtraType(element);
     final boolean required = isRequiredInjection(element);
     final boolean parcel =
         parcelerUtil.isParcelerAvailable() && parcelerUtil.isValidExtraTypeForParceler(type);
-    extraBindingTarget.addField(key, name, type, required, parcel);
+    extraBindingTarget.addField(key, name, type, required, parcel, lazy);
+  }
+
+  private static String getKey(Element element) {
+    final String annotationValue = element.getAnnotation(BindExtra.class).value();
+    return StringUtil.isNullOrEmpty(annotationValue)
+        ? element.getSimpleName().toString()
+        : annotationValue;
   }
 
   private boolean isValidUsageOfBindExtra(Element element) {
@@ -118,8 +284,19 @@ public class BindExtraUtil {
       valid = false;
     }
 
+    // Verify that lazy fields declare the type of their extra.
+    if (isLazy(element.asType())
+        && ((DeclaredType) element.asType()).getTypeArguments().isEmpty()) {
+      loggingUtil.error(
+          element,
+          "@BindExtra field of type Lazy must declare the type of its extra. (%s.%s)",
+          enclosingElement.getQualifiedName(),
+          element.getSimpleName());
+      return false;
+    }
+
     // Verify that the type is primitive, serializable or parcelable.
-    TypeMirror typeElement = element.asType();
+    TypeMirror typeElement = getExtraType(element);
     if (!isValidExtraType(typeElement)
         && !(parcelerUtil.isParcelerAvailable()
             && parcelerUtil.isValidExtraTypeForParceler(typeElement))) {
@@ -164,6 +341,22 @@ public class BindExtraUtil {
         || compilerUtil.isCharSequence(type);
   }
 
+  /**
+   * Returns the type of the extra bound to a field, which is the type argument of {@code dart.Lazy}
+   * fields.
+   */
+  private TypeMirror getExtraType(Element element) {
+    final TypeMirror type = element.asType();
+    return isLazy(type) ? ((DeclaredType) type).getTypeArguments().get(0) : type;
+  }
+
+  private boolean isLazy(TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED
+        && ((TypeElement) ((DeclaredType) type).asElement())
+            .getQualifiedName()
+            .contentEquals(LAZY_CLASS);
+  }
+
   /**
    * Returns {@code true} if an binding is deemed to be required. Returns false when a field is
    * annotated with any annotation named {@code Optional} or {@code Nullable}.
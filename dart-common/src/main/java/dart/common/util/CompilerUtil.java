@@ -99,6 +99,10 @@ public class CompilerUtil {
     return isAssignable(type, "java.lang.CharSequence");
   }
 
+  public boolean isSameType(TypeMirror type, TypeMirror otherType) {
+    return typeUtils.isSameType(type, otherType);
+  }
+
   public boolean isAssignable(TypeMirror type, String assignableType) {
     return typeUtils.isAssignable(type, elementUtils.getTypeElement(assignableType).asType());
   }
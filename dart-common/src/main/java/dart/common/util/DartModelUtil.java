@@ -102,21 +102,24 @@ public class DartModelUtil {
       valid = false;
     }
 
-    // Verify default constructor.
-    final ExecutableElement defaultConstructor = findDefaultConstructor(element);
-    if (defaultConstructor == null) {
-      loggingUtil.error(
-          element, "DartModel class %s must have a default constructor.", element.getSimpleName());
-      valid = false;
-    }
-
-    // Verify default constructor visibility.
-    if (defaultConstructor.getModifiers().contains(Modifier.PRIVATE)) {
-      loggingUtil.error(
-          element,
-          "DartModel class %s default constructor must not be private.",
-          element.getSimpleName());
-      valid = false;
+    // Verify default constructor. Immutable navigation models are created through the
+    // constructor matching their fields instead, verified once their fields are parsed.
+    if (!BindExtraUtil.isImmutableNavigationModel(element)) {
+      final ExecutableElement defaultConstructor = findDefaultConstructor(element);
+      if (defaultConstructor == null) {
+        loggingUtil.error(
+            element,
+            "DartModel class %s must have a default constructor.",
+            element.getSimpleName());
+        valid = false;
+      } else if (defaultConstructor.getModifiers().contains(Modifier.PRIVATE)) {
+        // Verify default constructor visibility.
+        loggingUtil.error(
+            element,
+            "DartModel class %s default constructor must not be private.",
+            element.getSimpleName());
+        valid = false;
+      }
     }
 
     // Verify Dart Model suffix.
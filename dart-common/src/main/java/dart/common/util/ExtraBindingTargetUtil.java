@@ -19,6 +19,7 @@ package dart.common.util;
 
 import static dart.common.util.DartModelUtil.DART_MODEL_SUFFIX;
 import static javax.lang.model.util.ElementFilter.methodsIn;
+import static javax.lang.model.util.ElementFilter.typesIn;
 
 import dart.common.ExtraBindingTarget;
 import java.util.Map;
@@ -36,6 +37,8 @@ public class ExtraBindingTargetUtil {
 
   public static final String NEXT_STATE_METHOD = "getNextState";
   public static final String BUNDLE_BUILDER_SUFFIX = "__IntentBuilder";
+  // The state implementing the required setters of a builder, when its AllSet can't.
+  public static final String REQUIRED_SETTERS_CLASS = "RequiredSetters";
 
   private final CompilerUtil compilerUtil;
   private final LoggingUtil loggingUtil;
@@ -136,6 +139,8 @@ public class ExtraBindingTargetUtil {
                 intentBuilderTypeElement, extraBindingTarget.closestRequiredAncestorPackage);
         extraBindingTarget.closestRequiredAncestorClass =
             intentBuilderClass.substring(0, intentBuilderClass.indexOf(BUNDLE_BUILDER_SUFFIX));
+        extraBindingTarget.closestRequiredAncestorSeparate =
+            hasRequiredSetters(intentBuilderTypeElement);
       }
     }
   }
@@ -147,15 +152,27 @@ public class ExtraBindingTargetUtil {
       if (extraBindingTarget.hasRequiredFields) {
         childTarget.closestRequiredAncestorPackage = extraBindingTarget.classPackage;
         childTarget.closestRequiredAncestorClass = extraBindingTarget.className;
+        childTarget.closestRequiredAncestorSeparate = extraBindingTarget.separateRequiredSetters;
       } else {
         childTarget.closestRequiredAncestorPackage =
             extraBindingTarget.closestRequiredAncestorPackage;
         childTarget.closestRequiredAncestorClass = extraBindingTarget.closestRequiredAncestorClass;
+        childTarget.closestRequiredAncestorSeparate =
+            extraBindingTarget.closestRequiredAncestorSeparate;
       }
       spreadClosestRequiredAncestorToChildren(targetClassMap, childTarget);
     }
   }
 
+  private static boolean hasRequiredSetters(TypeElement intentBuilder) {
+    for (TypeElement type : typesIn(intentBuilder.getEnclosedElements())) {
+      if (type.getSimpleName().contentEquals(REQUIRED_SETTERS_CLASS)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private TypeElement getIntentBuilder(TypeMirror dartModelMirror) {
     final TypeElement dartModel = (TypeElement) ((DeclaredType) dartModelMirror).asElement();
     final String modelFQN = dartModel.getQualifiedName().toString();
@@ -52,12 +52,16 @@ public class NavigationModelBindingTargetUtil {
         compilerUtil.getClassName(navigationModelElement, navigationModelPackage);
     final String navigationModelFieldName =
         navigationModelVariableElement.getSimpleName().toString();
-    return new NavigationModelBindingTarget(
-        classPackage,
-        className,
-        navigationModelPackage,
-        navigationModelClass,
-        navigationModelFieldName);
+    final NavigationModelBindingTarget target =
+        new NavigationModelBindingTarget(
+            classPackage,
+            className,
+            navigationModelPackage,
+            navigationModelClass,
+            navigationModelFieldName);
+    target.immutableNavigationModel =
+        BindExtraUtil.isImmutableNavigationModel(navigationModelElement);
+    return target;
   }
 
   public void createBindingTargetTrees(
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dart.processor;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import dart.BinderRegistry;
+import dart.Dart;
+import dart.ExtraStateSaver;
+import dart.NavigationModelBinder;
+import dart.common.BaseGenerator;
+import java.util.Map;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Creates Java code for a {@link BinderRegistry} that maps all the targets of a module to their
+ * generated binders.
+ *
+ * <p>{@link dart.Dart} to use this code at runtime.
+ */
+public class BinderRegistryGenerator extends BaseGenerator {
+
+  static final String EXTRA_BINDER_REGISTRY_CLASS = "ExtraBinderRegistry";
+  static final String NAVIGATION_MODEL_BINDER_REGISTRY_CLASS = "NavigationModelBinderRegistry";
+  private static final String GET_EXTRA_BINDER_METHOD = "getExtraBinder";
+  private static final String GET_NAVIGATION_MODEL_BINDER_METHOD = "getNavigationModelBinder";
+
+  private final String registryPackage;
+  private final boolean extraBinders;
+  private final Map<String, String> targetToBinder;
+
+  /**
+   * @param registryPackage the package of the generated registry.
+   * @param extraBinders true to generate a registry of extra binders, false to generate a registry
+   *     of navigation model binders.
+   * @param targetToBinder fully qualified names of the targets, mapped to the fully qualified names
+   *     of their binders.
+   */
+  public BinderRegistryGenerator(
+      String registryPackage, boolean extraBinders, Map<String, String> targetToBinder) {
+    this.registryPackage = registryPackage;
+    this.extraBinders = extraBinders;
+    this.targetToBinder = targetToBinder;
+  }
+
+  @Override
+  public String brewJava() {
+    TypeSpec.Builder registryTypeSpec =
+        TypeSpec.classBuilder(registryClassName())
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addSuperinterface(ClassName.get(BinderRegistry.class));
+    emitGetter(
+        registryTypeSpec,
+        GET_EXTRA_BINDER_METHOD,
+        ExtraStateSaver.class,
+        "navigationModelClass",
+        extraBinders);
+    emitGetter(
+        registryTypeSpec,
+        GET_NAVIGATION_MODEL_BINDER_METHOD,
+        NavigationModelBinder.class,
+        "targetClass",
+        !extraBinders);
+    JavaFile javaFile =
+        JavaFile.builder(registryPackage, registryTypeSpec.build())
+            .addFileComment("Generated code from Dart. Do not modify!")
+            .build();
+    return javaFile.toString();
+  }
+
+  @Override
+  public String getFqcn() {
+    return registryPackage + "." + registryClassName();
+  }
+
+  private String registryClassName() {
+    return extraBinders ? EXTRA_BINDER_REGISTRY_CLASS : NAVIGATION_MODEL_BINDER_REGISTRY_CLASS;
+  }
+
+  private void emitGetter(
+      TypeSpec.Builder builder,
+      String methodName,
+      Class<?> binderType,
+      String parameterName,
+      boolean lookup) {
+    final TypeName wildcard = WildcardTypeName.subtypeOf(Object.class);
+    MethodSpec.Builder getterBuilder =
+        MethodSpec.methodBuilder(methodName)
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(
+                ParameterizedTypeName.get(ClassName.get(Class.class), wildcard), parameterName)
+            .returns(ParameterizedTypeName.get(ClassName.get(binderType), wildcard));
+
+    if (lookup && !targetToBinder.isEmpty()) {
+      // A switch on the name only loads the class of the matching case, if any. Classes of the
+      // same name loaded by other class loaders, e.g. dynamic features, don't match.
+      getterBuilder.beginControlFlow("switch ($L.getName())", parameterName);
+      for (Map.Entry<String, String> entry : targetToBinder.entrySet()) {
+        getterBuilder
+            .addCode("case $S:\n", entry.getKey())
+            .addStatement(
+                "$>return $L == $T.class ? $T.$L : null$<",
+                parameterName,
+                ClassName.bestGuess(entry.getKey()),
+                ClassName.bestGuess(entry.getValue()),
+                Dart.BINDER_INSTANCE_FIELD);
+      }
+      getterBuilder.addCode("default:\n").addStatement("$>return null$<").endControlFlow();
+    } else {
+      getterBuilder.addStatement("return null");
+    }
+
+    builder.addMethod(getterBuilder.build());
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dart.processor;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Emits {@code android.os.Trace} sections into generated binders, when the {@code
+ * dart.traceBinders} processor option is set. Binders generated without this option contain no
+ * tracing code at all.
+ *
+ * <p>Sections are opened and closed through private helpers of each binder, which skip tracing
+ * below API 18.
+ */
+final class BinderTracing {
+  private static final ClassName BUILD = ClassName.get("android.os", "Build");
+  private static final ClassName TRACE = ClassName.get("android.os", "Trace");
+  // Trace rejects longer section names.
+  private static final int MAX_SECTION_NAME_LENGTH = 127;
+
+  private BinderTracing() {
+    // No instances.
+  }
+
+  static void emitHelpers(TypeSpec.Builder builder) {
+    builder.addMethod(
+        MethodSpec.methodBuilder("beginSection")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .addParameter(String.class, "sectionName")
+            .beginControlFlow("if ($T.VERSION.SDK_INT >= 18)", BUILD)
+            .addStatement("$T.beginSection(sectionName)", TRACE)
+            .endControlFlow()
+            .build());
+    builder.addMethod(
+        MethodSpec.methodBuilder("endSection")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .beginControlFlow("if ($T.VERSION.SDK_INT >= 18)", BUILD)
+            .addStatement("$T.endSection()", TRACE)
+            .endControlFlow()
+            .build());
+  }
+
+  static void beginSection(MethodSpec.Builder builder, String sectionName) {
+    if (sectionName.length() > MAX_SECTION_NAME_LENGTH) {
+      sectionName = sectionName.substring(0, MAX_SECTION_NAME_LENGTH);
+    }
+    builder.addStatement("beginSection($S)", sectionName);
+  }
+
+  static void endSection(MethodSpec.Builder builder) {
+    builder.addStatement("endSection()");
+  }
+
+  /** Opens a section that is closed even if the code that follows throws. */
+  static void beginTrySection(MethodSpec.Builder builder, String sectionName) {
+    beginSection(builder, sectionName);
+    builder.beginControlFlow("try");
+  }
+
+  static void endTrySection(MethodSpec.Builder builder) {
+    builder.nextControlFlow("finally");
+    endSection(builder);
+    builder.endControlFlow();
+  }
+}
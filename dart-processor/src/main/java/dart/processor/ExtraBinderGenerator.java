@@ -20,19 +20,29 @@ package dart.processor;
 import static dart.common.util.DartModelUtil.DART_MODEL_SUFFIX;
 
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+import com.squareup.javapoet.WildcardTypeName;
 import dart.Dart;
+import dart.ExtraBinder;
+import dart.ExtraSource;
+import dart.ImmutableExtraBinder;
 import dart.common.BaseGenerator;
 import dart.common.Binding;
 import dart.common.ExtraBindingTarget;
 import dart.common.ExtraInjection;
 import dart.common.FieldBinding;
+import dart.common.util.BindExtraUtil;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 
 /**
@@ -42,17 +52,63 @@ import javax.lang.model.type.TypeMirror;
  */
 public class ExtraBinderGenerator extends BaseGenerator {
 
+  private static final ClassName BUNDLE = ClassName.get("android.os", "Bundle");
+  private static final ClassName EXTRA_SOURCE = ClassName.get(ExtraSource.class);
+  private static final ClassName LAZY = ClassName.bestGuess(BindExtraUtil.LAZY_CLASS);
+
   private final ExtraBindingTarget target;
+  private final boolean trace;
 
   public ExtraBinderGenerator(ExtraBindingTarget target) {
+    this(target, false);
+  }
+
+  /**
+   * @param target the navigation model to generate a binder for.
+   * @param trace true to emit a trace section around the binding of the navigation model, each of
+   *     its extras, and each Parceler unwrap.
+   */
+  public ExtraBinderGenerator(ExtraBindingTarget target, boolean trace) {
     this.target = target;
+    this.trace = trace;
   }
 
   @Override
   public String brewJava() {
+    // Binders are generic so that the binder of a subclass can extend the binder of its parent.
+    final TypeVariableName targetType =
+        TypeVariableName.get("T", ClassName.bestGuess(target.getFQN() + DART_MODEL_SUFFIX));
     TypeSpec.Builder binderTypeSpec =
-        TypeSpec.classBuilder(binderClassName()).addModifiers(Modifier.PUBLIC);
-    emitBind(binderTypeSpec);
+        TypeSpec.classBuilder(binderClassName())
+            .addModifiers(Modifier.PUBLIC)
+            .addTypeVariable(targetType);
+    emitInstanceField(binderTypeSpec);
+    if (target.isImmutable()) {
+      // Immutable navigation models are created by the binder of their activity or fragment, never
+      // bound. They can't be extended, their binder is typed by the navigation model itself.
+      final ClassName navigationModel = ClassName.bestGuess(target.getFQN() + DART_MODEL_SUFFIX);
+      binderTypeSpec.addSuperinterface(
+          ParameterizedTypeName.get(ClassName.get(ImmutableExtraBinder.class), navigationModel));
+      emitCreate(binderTypeSpec);
+      emitSaveState(binderTypeSpec, navigationModel);
+    } else {
+      if (target.parentPackage != null) {
+        binderTypeSpec.superclass(
+            ParameterizedTypeName.get(
+                ClassName.bestGuess(
+                    target.getParentFQN() + DART_MODEL_SUFFIX + Dart.EXTRA_BINDER_SUFFIX),
+                targetType));
+      } else {
+        binderTypeSpec.addSuperinterface(
+            ParameterizedTypeName.get(ClassName.get(ExtraBinder.class), targetType));
+      }
+      emitBind(binderTypeSpec, targetType);
+      emitRebind(binderTypeSpec, targetType);
+      emitSaveState(binderTypeSpec, targetType);
+    }
+    if (trace) {
+      BinderTracing.emitHelpers(binderTypeSpec);
+    }
     JavaFile javaFile =
         JavaFile.builder(target.classPackage, binderTypeSpec.build())
             .addFileComment("Generated code from Dart. Do not modify!")
@@ -65,39 +121,217 @@ public class ExtraBinderGenerator extends BaseGenerator {
     return target.classPackage + "." + binderClassName();
   }
 
+  /** Keeps the binder cached by Dart for as long as the class loader of its class lives. */
+  private void emitInstanceField(TypeSpec.Builder builder) {
+    final ClassName binder = ClassName.get(target.classPackage, binderClassName());
+    builder.addField(
+        FieldSpec.builder(
+                ParameterizedTypeName.get(binder, WildcardTypeName.subtypeOf(Object.class)),
+                Dart.BINDER_INSTANCE_FIELD,
+                Modifier.PUBLIC,
+                Modifier.STATIC,
+                Modifier.FINAL)
+            .initializer("new $T<>()", binder)
+            .build());
+  }
+
   private String binderClassName() {
     return target.className + DART_MODEL_SUFFIX + Dart.EXTRA_BINDER_SUFFIX;
   }
 
-  private void emitBind(TypeSpec.Builder builder) {
+  private void emitBind(TypeSpec.Builder builder, TypeName targetType) {
     MethodSpec.Builder bindBuilder =
         MethodSpec.methodBuilder("bind")
-            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
-            .addParameter(ClassName.get(Dart.Finder.class), "finder")
-            .addParameter(ClassName.bestGuess(target.getFQN() + DART_MODEL_SUFFIX), "target")
-            .addParameter(ClassName.get(Object.class), "source");
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(targetType, "target")
+            .addParameter(EXTRA_SOURCE, "extras");
+
+    if (trace) {
+      BinderTracing.beginTrySection(bindBuilder, readSectionName());
+    }
 
     if (target.parentPackage != null) {
       // Emit a call to the superclass binder, if any.
-      bindBuilder.addStatement(
-          "$T.bind(finder, target, source)",
-          ClassName.bestGuess(
-              target.getParentFQN() + DART_MODEL_SUFFIX + Dart.EXTRA_BINDER_SUFFIX));
+      bindBuilder.addStatement("super.bind(target, extras)");
     }
 
-    // Local variable in which all extras will be temporarily stored.
-    bindBuilder.addStatement("Object object");
+    // Local variable in which all extras read as objects will be temporarily stored.
+    boolean objectDeclared = false;
 
     // Loop over each extras binding and emit it.
-    for (ExtraInjection binding : target.bindingMap.values()) {
-      emitExtraInjection(bindBuilder, binding);
+    for (ExtraInjection binding : target.getBindings()) {
+      if (!objectDeclared && isReadAsObject(binding)) {
+        bindBuilder.addStatement("Object object");
+        objectDeclared = true;
+      }
+      emitExtraBinding(bindBuilder, binding, false);
+    }
+
+    if (trace) {
+      BinderTracing.endTrySection(bindBuilder);
     }
 
     builder.addMethod(bindBuilder.build());
   }
 
-  private void emitExtraInjection(MethodSpec.Builder builder, ExtraInjection binding) {
-    builder.addStatement("object = finder.getExtra(source, $S)", binding.getKey());
+  /**
+   * Binds again only the extras whose value differs from the previously bound extras, resetting the
+   * fields of removed optional extras from a new navigation model.
+   */
+  private void emitRebind(TypeSpec.Builder builder, TypeName targetType) {
+    MethodSpec.Builder rebindBuilder =
+        MethodSpec.methodBuilder("rebind")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(targetType, "target")
+            .addParameter(targetType, "defaults")
+            .addParameter(EXTRA_SOURCE, "previousExtras")
+            .addParameter(EXTRA_SOURCE, "extras");
+
+    if (trace) {
+      BinderTracing.beginTrySection(rebindBuilder, readSectionName());
+    }
+
+    if (target.parentPackage != null) {
+      // Emit a call to the superclass binder, if any.
+      rebindBuilder.addStatement("super.rebind(target, defaults, previousExtras, extras)");
+    }
+
+    for (ExtraInjection binding : target.getBindings()) {
+      if (isReadAsObject(binding)) {
+        rebindBuilder.addStatement("Object object");
+        break;
+      }
+    }
+
+    for (ExtraInjection binding : target.getBindings()) {
+      rebindBuilder.beginControlFlow(
+          "if ($T.isExtraChanged(previousExtras, extras, $S))", Dart.class, binding.getKey());
+      emitExtraBinding(rebindBuilder, binding, true);
+      rebindBuilder.endControlFlow();
+    }
+
+    if (trace) {
+      BinderTracing.endTrySection(rebindBuilder);
+    }
+
+    builder.addMethod(rebindBuilder.build());
+  }
+
+  /**
+   * Reads the extras of an immutable navigation model into local variables named after its fields,
+   * and passes them to its constructor. Optional extras that are absent are passed as null, or zero
+   * for primitives.
+   */
+  private void emitCreate(TypeSpec.Builder builder) {
+    final ClassName navigationModel = ClassName.bestGuess(target.getFQN() + DART_MODEL_SUFFIX);
+    MethodSpec.Builder createBuilder =
+        MethodSpec.methodBuilder("create")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(navigationModel)
+            .addParameter(EXTRA_SOURCE, "extras");
+
+    if (trace) {
+      BinderTracing.beginTrySection(createBuilder, readSectionName());
+    }
+
+    for (ExtraInjection binding : target.getBindings()) {
+      for (FieldBinding fieldBinding : binding.getFieldBindings()) {
+        TypeName fieldType = TypeName.get(fieldBinding.getType());
+        if (fieldBinding.isLazy()) {
+          fieldType = ParameterizedTypeName.get(LAZY, fieldType);
+        }
+        if (fieldBinding.isRequired()) {
+          createBuilder.addStatement("$T $L", fieldType, localName(fieldBinding.getName()));
+        } else {
+          createBuilder.addStatement(
+              "$T $L = $L",
+              fieldType,
+              localName(fieldBinding.getName()),
+              getDefaultValue(fieldType));
+        }
+      }
+    }
+
+    for (ExtraInjection binding : target.getBindings()) {
+      if (isReadAsObject(binding)) {
+        createBuilder.addStatement("Object object");
+        break;
+      }
+    }
+
+    for (ExtraInjection binding : target.getBindings()) {
+      emitExtraBinding(createBuilder, binding, false);
+    }
+
+    final List<String> arguments = new ArrayList<>();
+    for (String parameter : target.constructorParameters) {
+      arguments.add(localName(parameter));
+    }
+    createBuilder.addStatement("return new $T($L)", navigationModel, String.join(", ", arguments));
+
+    if (trace) {
+      BinderTracing.endTrySection(createBuilder);
+    }
+
+    builder.addMethod(createBuilder.build());
+  }
+
+  private static String getDefaultValue(TypeName type) {
+    if (type == TypeName.BOOLEAN) {
+      return "false";
+    }
+    return type.isPrimitive() ? "0" : "null";
+  }
+
+  /**
+   * @return the expression that assigns a field: a field of the target for mutable navigation
+   *     models, a local variable for immutable ones.
+   */
+  private String getFieldReference(FieldBinding fieldBinding) {
+    return target.isImmutable()
+        ? localName(fieldBinding.getName())
+        : "target." + fieldBinding.getName();
+  }
+
+  /**
+   * @return the local variable holding a field of an immutable navigation model, which can't shadow
+   *     the parameters and locals of {@code create}.
+   */
+  private static String localName(String fieldName) {
+    return "value$" + fieldName;
+  }
+
+  private String readSectionName() {
+    return "Dart read " + target.className + DART_MODEL_SUFFIX;
+  }
+
+  /** @param reset true to reset the fields of an absent optional extra from {@code defaults}. */
+  private void emitExtraBinding(MethodSpec.Builder builder, ExtraInjection binding, boolean reset) {
+    // Trace sections nest, the section of an extra is closed even if a missing required extra
+    // throws so that the enclosing sections close in order.
+    if (trace) {
+      BinderTracing.beginTrySection(builder, "Dart extra " + binding.getKey());
+    }
+    if (isReadAsObject(binding)) {
+      emitExtraInjection(builder, binding, reset);
+    } else {
+      emitContainsKeyExtraInjection(builder, binding, getPrimitiveGetter(binding), reset);
+    }
+    if (trace) {
+      BinderTracing.endTrySection(builder);
+    }
+  }
+
+  private boolean isReadAsObject(ExtraInjection binding) {
+    return getPrimitiveGetter(binding) == null && !isLazy(binding);
+  }
+
+  private void emitExtraInjection(
+      MethodSpec.Builder builder, ExtraInjection binding, boolean reset) {
+    builder.addStatement("object = extras.get($S)", binding.getKey());
 
     List<Binding> requiredBindings = binding.getRequiredBindings();
     if (!requiredBindings.isEmpty()) {
@@ -114,10 +348,138 @@ public class ExtraBinderGenerator extends BaseGenerator {
       // an optional extra, wrap it in a check to keep original value, if any
       builder.beginControlFlow("if (object != null)");
       emitFieldBindings(builder, binding);
+      if (reset) {
+        builder.nextControlFlow("else");
+        emitResetFieldBindings(builder, binding);
+      }
       builder.endControlFlow();
     }
   }
 
+  /**
+   * Primitive extras are read with the typed getters of {@link android.os.Bundle}, which neither
+   * box the value nor cast it, and lazy extras are not read at all. Both are checked for presence
+   * using {@code containsKey}.
+   */
+  private void emitContainsKeyExtraInjection(
+      MethodSpec.Builder builder, ExtraInjection binding, String primitiveGetter, boolean reset) {
+    List<Binding> requiredBindings = binding.getRequiredBindings();
+    if (!requiredBindings.isEmpty()) {
+      builder
+          .beginControlFlow("if (!extras.containsKey($S))", binding.getKey())
+          .addStatement(
+              "throw new IllegalStateException(\"Required extra with key '$L' for $L "
+                  + "was not found. If this extra is optional add '@Nullable' annotation.\")",
+              binding.getKey(),
+              emitHumanDescription(requiredBindings))
+          .endControlFlow();
+      emitContainsKeyFieldBindings(builder, binding, primitiveGetter);
+    } else {
+      // an optional extra, wrap it in a check to keep original value, if any
+      builder.beginControlFlow("if (extras.containsKey($S))", binding.getKey());
+      emitContainsKeyFieldBindings(builder, binding, primitiveGetter);
+      if (reset) {
+        builder.nextControlFlow("else");
+        emitResetFieldBindings(builder, binding);
+      }
+      builder.endControlFlow();
+    }
+  }
+
+  private void emitContainsKeyFieldBindings(
+      MethodSpec.Builder builder, ExtraInjection binding, String primitiveGetter) {
+    for (FieldBinding fieldBinding : binding.getFieldBindings()) {
+      if (fieldBinding.isLazy()) {
+        emitLazyFieldBinding(builder, binding, fieldBinding);
+      } else {
+        builder.addStatement(
+            "$L = extras.$L($S)",
+            getFieldReference(fieldBinding),
+            primitiveGetter,
+            binding.getKey());
+      }
+    }
+    emitExtraBound(builder, binding);
+  }
+
+  /** Installs a holder that reads, casts and unwraps the extra on its first access. */
+  private void emitLazyFieldBinding(
+      MethodSpec.Builder builder, ExtraInjection binding, FieldBinding fieldBinding) {
+    final TypeName extraType = TypeName.get(fieldBinding.getType());
+    MethodSpec.Builder decodeBuilder =
+        MethodSpec.methodBuilder("decode")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PROTECTED)
+            .returns(extraType)
+            .addParameter(EXTRA_SOURCE, "extras")
+            .addParameter(String.class, "key");
+    if (fieldBinding.isParcel() && trace) {
+      BinderTracing.beginTrySection(decodeBuilder, "Dart unwrap " + binding.getKey());
+      decodeBuilder.addStatement(
+          "return org.parceler.Parcels.unwrap((android.os.Parcelable) extras.get(key))");
+      BinderTracing.endTrySection(decodeBuilder);
+    } else if (fieldBinding.isParcel()) {
+      decodeBuilder.addStatement(
+          "return org.parceler.Parcels.unwrap((android.os.Parcelable) extras.get(key))");
+    } else {
+      decodeBuilder.addStatement("return ($T) extras.get(key)", extraType);
+    }
+    TypeSpec lazy =
+        TypeSpec.anonymousClassBuilder("extras, $S", binding.getKey())
+            .superclass(ParameterizedTypeName.get(LAZY, extraType))
+            .addMethod(decodeBuilder.build())
+            .build();
+    builder.addStatement("$L = $L", getFieldReference(fieldBinding), lazy);
+  }
+
+  private boolean isLazy(ExtraInjection binding) {
+    Collection<FieldBinding> fieldBindings = binding.getFieldBindings();
+    for (FieldBinding fieldBinding : fieldBindings) {
+      if (!fieldBinding.isLazy()) {
+        return false;
+      }
+    }
+    return !fieldBindings.isEmpty();
+  }
+
+  /**
+   * @return the name of the typed {@link android.os.Bundle} getter of the extra, if all the fields
+   *     bound to it share the same primitive type, or null if the extra must be read as an object.
+   */
+  private String getPrimitiveGetter(ExtraInjection binding) {
+    TypeKind kind = null;
+    for (FieldBinding fieldBinding : binding.getFieldBindings()) {
+      TypeKind fieldKind = fieldBinding.getType().getKind();
+      if (fieldBinding.isParcel() || (kind != null && kind != fieldKind)) {
+        return null;
+      }
+      kind = fieldKind;
+    }
+    if (kind == null) {
+      return null;
+    }
+    switch (kind) {
+      case BOOLEAN:
+        return "getBoolean";
+      case BYTE:
+        return "getByte";
+      case SHORT:
+        return "getShort";
+      case INT:
+        return "getInt";
+      case LONG:
+        return "getLong";
+      case CHAR:
+        return "getChar";
+      case FLOAT:
+        return "getFloat";
+      case DOUBLE:
+        return "getDouble";
+      default:
+        return null;
+    }
+  }
+
   private void emitFieldBindings(MethodSpec.Builder builder, ExtraInjection binding) {
     Collection<FieldBinding> fieldBindings = binding.getFieldBindings();
     if (fieldBindings.isEmpty()) {
@@ -125,7 +487,19 @@ public class ExtraBinderGenerator extends BaseGenerator {
     }
 
     for (FieldBinding fieldBinding : fieldBindings) {
-      builder.addCode("target.$L = ", fieldBinding.getName());
+      if (fieldBinding.isLazy()) {
+        emitLazyFieldBinding(builder, binding, fieldBinding);
+        continue;
+      }
+      if (fieldBinding.isParcel() && trace) {
+        BinderTracing.beginTrySection(builder, "Dart unwrap " + binding.getKey());
+        builder.addStatement(
+            "$L = org.parceler.Parcels.unwrap((android.os.Parcelable) object)",
+            getFieldReference(fieldBinding));
+        BinderTracing.endTrySection(builder);
+        continue;
+      }
+      builder.addCode("$L = ", getFieldReference(fieldBinding));
 
       if (fieldBinding.isParcel()) {
         builder.addCode("org.parceler.Parcels.unwrap((android.os.Parcelable) object);\n");
@@ -134,6 +508,90 @@ public class ExtraBinderGenerator extends BaseGenerator {
         builder.addCode("object;\n");
       }
     }
+    emitExtraBound(builder, binding);
+  }
+
+  private void emitResetFieldBindings(MethodSpec.Builder builder, ExtraInjection binding) {
+    for (FieldBinding fieldBinding : binding.getFieldBindings()) {
+      builder.addStatement(
+          "target.$L = defaults.$L", fieldBinding.getName(), fieldBinding.getName());
+    }
+  }
+
+  /**
+   * Writes each extra back from the first field bound to it. Primitive extras use the typed setters
+   * of {@link android.os.Bundle}, the others go through {@link Dart#putExtra}.
+   */
+  private void emitSaveState(TypeSpec.Builder builder, TypeName targetType) {
+    MethodSpec.Builder saveBuilder =
+        MethodSpec.methodBuilder("saveState")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(targetType, "target")
+            .addParameter(BUNDLE, "outState");
+
+    if (target.parentPackage != null) {
+      // Emit a call to the superclass binder, if any.
+      saveBuilder.addStatement("super.saveState(target, outState)");
+    }
+
+    for (ExtraInjection binding : target.getBindings()) {
+      Collection<FieldBinding> fieldBindings = binding.getFieldBindings();
+      if (fieldBindings.isEmpty()) {
+        continue;
+      }
+      FieldBinding fieldBinding = fieldBindings.iterator().next();
+      String primitiveGetter = getPrimitiveGetter(binding);
+      if (fieldBinding.isLazy()) {
+        // Saving the state of a lazy extra decodes it.
+        saveBuilder
+            .beginControlFlow("if (target.$L != null)", fieldBinding.getName())
+            .addStatement(
+                "$T.putExtra(outState, $S, $L)",
+                Dart.class,
+                binding.getKey(),
+                wrapIfParcel(fieldBinding, "target." + fieldBinding.getName() + ".get()"))
+            .endControlFlow();
+      } else if (primitiveGetter != null) {
+        saveBuilder.addStatement(
+            "outState.put$L($S, target.$L)",
+            primitiveGetter.substring("get".length()),
+            binding.getKey(),
+            fieldBinding.getName());
+      } else {
+        saveBuilder.addStatement(
+            "$T.putExtra(outState, $S, $L)",
+            Dart.class,
+            binding.getKey(),
+            wrapIfParcel(fieldBinding, "target." + fieldBinding.getName()));
+      }
+    }
+
+    builder.addMethod(saveBuilder.build());
+  }
+
+  private String wrapIfParcel(FieldBinding fieldBinding, String value) {
+    return fieldBinding.isParcel() ? "org.parceler.Parcels.wrap(" + value + ")" : value;
+  }
+
+  /** Reports the extra to the binding listener, if any. */
+  private void emitExtraBound(MethodSpec.Builder builder, ExtraInjection binding) {
+    boolean parceler = false;
+    for (FieldBinding fieldBinding : binding.getFieldBindings()) {
+      parceler |= fieldBinding.isParcel();
+    }
+    if (target.isImmutable()) {
+      // Immutable navigation models are reported by class, as they are created after their extras.
+      builder.addStatement(
+          "$T.onExtraBound($T.class, $S, $L)",
+          Dart.class,
+          ClassName.bestGuess(target.getFQN() + DART_MODEL_SUFFIX),
+          binding.getKey(),
+          parceler);
+    } else {
+      builder.addStatement(
+          "$T.onExtraBound(target, $S, $L)", Dart.class, binding.getKey(), parceler);
+    }
   }
 
   private void emitCast(MethodSpec.Builder builder, TypeMirror fieldType) {
@@ -17,6 +17,10 @@
 
 package dart.processor;
 
+import static dart.common.util.DartModelUtil.DART_MODEL_SUFFIX;
+import static javax.lang.model.util.ElementFilter.fieldsIn;
+
+import dart.BindExtra;
 import dart.common.ExtraBindingTarget;
 import dart.common.util.BindExtraUtil;
 import dart.common.util.CompilerUtil;
@@ -26,16 +30,27 @@ import dart.common.util.FileUtil;
 import dart.common.util.LoggingUtil;
 import dart.common.util.ParcelerUtil;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 
 @SupportedAnnotationTypes({
   ExtraBinderProcessor.NAVIGATION_MODEL_ANNOTATION_CLASS_NAME,
@@ -45,21 +60,32 @@ public final class ExtraBinderProcessor extends AbstractProcessor {
 
   static final String NAVIGATION_MODEL_ANNOTATION_CLASS_NAME = "dart.DartModel";
   static final String EXTRA_ANNOTATION_CLASS_NAME = "dart.BindExtra";
+  static final String OPTION_REGISTRY_PACKAGE = "dart.registry.package";
+  static final String OPTION_FLATTEN_BINDERS = "dart.flattenBinders";
+  static final String OPTION_TRACE_BINDERS = "dart.traceBinders";
+  static final String GRADLE_ISOLATING = "org.gradle.annotation.processing.isolating";
+  static final String GRADLE_AGGREGATING = "org.gradle.annotation.processing.aggregating";
 
+  private CompilerUtil compilerUtil;
   private LoggingUtil loggingUtil;
   private FileUtil fileUtil;
   private ExtraBindingTargetUtil extraBindingTargetUtil;
   private DartModelUtil dartModelUtil;
   private BindExtraUtil bindExtraUtil;
   private Map<String, TypeElement> allRoundsGeneratedToTypeElement = new HashMap<>();
+  private Map<String, String> allRoundsRegistryEntries = new TreeMap<>();
 
+  private String registryPackage;
+  private boolean registryWritten;
+  private boolean flattenBinders;
+  private boolean traceBinders;
   private boolean usesParcelerOption = true;
 
   @Override
   public synchronized void init(ProcessingEnvironment processingEnv) {
     super.init(processingEnv);
 
-    final CompilerUtil compilerUtil = new CompilerUtil(processingEnv);
+    compilerUtil = new CompilerUtil(processingEnv);
     final ParcelerUtil parcelerUtil =
         new ParcelerUtil(compilerUtil, processingEnv, usesParcelerOption);
     loggingUtil = new LoggingUtil(processingEnv);
@@ -69,6 +95,10 @@ public final class ExtraBinderProcessor extends AbstractProcessor {
     bindExtraUtil =
         new BindExtraUtil(
             compilerUtil, parcelerUtil, loggingUtil, extraBindingTargetUtil, dartModelUtil);
+
+    registryPackage = processingEnv.getOptions().get(OPTION_REGISTRY_PACKAGE);
+    flattenBinders = Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_FLATTEN_BINDERS));
+    traceBinders = Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_TRACE_BINDERS));
   }
 
   @Override
@@ -78,6 +108,16 @@ public final class ExtraBinderProcessor extends AbstractProcessor {
 
     Map<TypeElement, ExtraBindingTarget> targetClassMap = findAndParseTargets();
     generateExtraBinders(targetClassMap);
+    if (registryPackage != null && !roundEnv.processingOver()) {
+      // The registry is written in the first round without new targets, usually the round
+      // processing the binders, so that it is still compiled like any other source.
+      if (registryWritten) {
+        warnTargetsAfterRegistry(targetClassMap);
+      } else if (targetClassMap.isEmpty()) {
+        generateRegistry();
+        registryWritten = true;
+      }
+    }
 
     //return false here to let henson process the annotations too
     return false;
@@ -88,6 +128,17 @@ public final class ExtraBinderProcessor extends AbstractProcessor {
     return SourceVersion.latestSupported();
   }
 
+  @Override
+  public Set<String> getSupportedOptions() {
+    // A registry aggregates all the targets of a module, binders alone only depend on their model.
+    return new HashSet<>(
+        Arrays.asList(
+            OPTION_REGISTRY_PACKAGE,
+            OPTION_FLATTEN_BINDERS,
+            OPTION_TRACE_BINDERS,
+            registryPackage == null ? GRADLE_ISOLATING : GRADLE_AGGREGATING));
+  }
+
   /**
    * Flag to force enabling/disabling Parceler. Used for testing.
    *
@@ -103,10 +154,133 @@ public final class ExtraBinderProcessor extends AbstractProcessor {
     dartModelUtil.parseDartModelAnnotatedTypes(targetClassMap);
     bindExtraUtil.parseBindExtraAnnotatedElements(targetClassMap);
     extraBindingTargetUtil.createBindingTargetTrees(targetClassMap);
+    bindExtraUtil.parseImmutableTargets(targetClassMap);
+    if (flattenBinders) {
+      flattenBindingTargets(targetClassMap);
+    }
 
     return targetClassMap;
   }
 
+  /**
+   * Makes the binder of each target bind the extras of its ancestors itself, instead of calling the
+   * binder of its parent. Ancestors are flattened up to the first one whose fields the binder can't
+   * assign, which is then called as the parent binder. Ancestors that are not processed in this
+   * round, e.g. from other modules, are read from the {@code BindExtra} annotations of their
+   * compiled fields, if their nullability is known.
+   */
+  private void flattenBindingTargets(Map<TypeElement, ExtraBindingTarget> targetClassMap) {
+    // Targets are also ancestors of other targets, they are all resolved before being modified.
+    final Map<ExtraBindingTarget, List<ExtraBindingTarget>> targetToAncestors =
+        new LinkedHashMap<>();
+    final Map<ExtraBindingTarget, ExtraBindingTarget> targetToParent = new HashMap<>();
+    for (Map.Entry<TypeElement, ExtraBindingTarget> entry : targetClassMap.entrySet()) {
+      final ExtraBindingTarget target = entry.getValue();
+      final Set<String> hidingFieldNames = getFieldNames(entry.getKey());
+      final List<ExtraBindingTarget> ancestors = new ArrayList<>();
+      TypeElement element = entry.getKey();
+      ExtraBindingTarget current = target;
+      while (current.parentPackage != null) {
+        final TypeElement parentElement = getSuperclass(element);
+        ExtraBindingTarget parent = targetClassMap.get(parentElement);
+        if (parent == null) {
+          if (!isNullabilityRetained(parentElement)) {
+            break;
+          }
+          parent = parseCompiledAncestor(parentElement);
+        }
+        if (!isFlattenable(parentElement, parent, target.classPackage, hidingFieldNames)) {
+          break;
+        }
+        ancestors.add(0, parent);
+        hidingFieldNames.addAll(getFieldNames(parentElement));
+        element = parentElement;
+        current = parent;
+      }
+      targetToAncestors.put(target, ancestors);
+      targetToParent.put(target, current);
+    }
+
+    for (Map.Entry<ExtraBindingTarget, List<ExtraBindingTarget>> entry :
+        targetToAncestors.entrySet()) {
+      final ExtraBindingTarget target = entry.getKey();
+      for (ExtraBindingTarget ancestor : entry.getValue()) {
+        target.inherit(ancestor);
+      }
+      final ExtraBindingTarget parent = targetToParent.get(target);
+      target.parentPackage = parent.parentPackage;
+      target.parentClass = parent.parentClass;
+    }
+  }
+
+  /**
+   * Class files don't keep {@code Nullable} annotations of source retention, so a compiled field
+   * without one may still be an optional extra. Compiled ancestors are only flattened if all their
+   * extras are annotated {@code Nullable}, otherwise their own binder binds them.
+   */
+  private boolean isNullabilityRetained(TypeElement ancestorElement) {
+    for (VariableElement field : fieldsIn(ancestorElement.getEnclosedElements())) {
+      if (field.getAnnotation(BindExtra.class) != null
+          && !compilerUtil.hasAnnotationWithName(field, "Nullable")) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private ExtraBindingTarget parseCompiledAncestor(TypeElement typeElement) {
+    final ExtraBindingTarget target = extraBindingTargetUtil.createTargetClass(typeElement);
+    bindExtraUtil.parseBindExtraFields(typeElement, target);
+    final TypeElement parentElement = getSuperclass(typeElement);
+    if (parentElement != null
+        && parentElement.getSimpleName().toString().endsWith(DART_MODEL_SUFFIX)) {
+      target.parentPackage = compilerUtil.getPackageName(parentElement);
+      final String parentClass = compilerUtil.getClassName(parentElement, target.parentPackage);
+      target.parentClass = parentClass.substring(0, parentClass.lastIndexOf(DART_MODEL_SUFFIX));
+    }
+    return target;
+  }
+
+  /**
+   * An ancestor can be flattened if all its fields can be assigned from the binder of the target:
+   * they are accessible from its package and no subclass hides them.
+   */
+  private boolean isFlattenable(
+      TypeElement ancestorElement,
+      ExtraBindingTarget ancestor,
+      String targetPackage,
+      Set<String> hidingFieldNames) {
+    final boolean samePackage = ancestor.classPackage.equals(targetPackage);
+    for (VariableElement field : fieldsIn(ancestorElement.getEnclosedElements())) {
+      if (field.getAnnotation(BindExtra.class) == null) {
+        continue;
+      }
+      if (hidingFieldNames.contains(field.getSimpleName().toString())) {
+        return false;
+      }
+      if (!samePackage && !field.getModifiers().contains(Modifier.PUBLIC)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Set<String> getFieldNames(TypeElement typeElement) {
+    final Set<String> fieldNames = new HashSet<>();
+    for (VariableElement field : fieldsIn(typeElement.getEnclosedElements())) {
+      fieldNames.add(field.getSimpleName().toString());
+    }
+    return fieldNames;
+  }
+
+  private static TypeElement getSuperclass(TypeElement typeElement) {
+    final TypeMirror superclass = typeElement.getSuperclass();
+    if (superclass.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    return (TypeElement) ((DeclaredType) superclass).asElement();
+  }
+
   private void generateExtraBinders(Map<TypeElement, ExtraBindingTarget> targetClassMap) {
     for (Map.Entry<TypeElement, ExtraBindingTarget> entry : targetClassMap.entrySet()) {
       TypeElement typeElement = entry.getKey();
@@ -114,9 +288,13 @@ public final class ExtraBinderProcessor extends AbstractProcessor {
 
       //we unfortunately can't test that nothing is generated in a TRUTH based test
       try {
-        ExtraBinderGenerator generator = new ExtraBinderGenerator(extraBindingTarget);
+        ExtraBinderGenerator generator = new ExtraBinderGenerator(extraBindingTarget, traceBinders);
         fileUtil.writeFile(generator, typeElement);
         allRoundsGeneratedToTypeElement.put(generator.getFqcn(), typeElement);
+        if (isVisibleFromRegistry(typeElement)) {
+          allRoundsRegistryEntries.put(
+              typeElement.getQualifiedName().toString(), generator.getFqcn());
+        }
       } catch (IOException e) {
         loggingUtil.error(
             typeElement,
@@ -127,6 +305,38 @@ public final class ExtraBinderProcessor extends AbstractProcessor {
     }
   }
 
+  private void generateRegistry() {
+    final Set<TypeElement> originatingElements = new HashSet<>();
+    for (String generatedQualifiedName : allRoundsRegistryEntries.values()) {
+      originatingElements.add(allRoundsGeneratedToTypeElement.get(generatedQualifiedName));
+    }
+    try {
+      BinderRegistryGenerator generator =
+          new BinderRegistryGenerator(registryPackage, true, allRoundsRegistryEntries);
+      fileUtil.writeFile(generator, originatingElements.toArray(new TypeElement[0]));
+    } catch (IOException e) {
+      loggingUtil.error(null, "Unable to write extra binder registry: %s", e.getMessage());
+    }
+  }
+
+  private void warnTargetsAfterRegistry(Map<TypeElement, ExtraBindingTarget> targetClassMap) {
+    for (TypeElement typeElement : targetClassMap.keySet()) {
+      if (isVisibleFromRegistry(typeElement)) {
+        loggingUtil.warning(
+            typeElement,
+            "%s was generated after the extra binder registry of %s, its binder is found by name.",
+            typeElement,
+            registryPackage);
+      }
+    }
+  }
+
+  /** Non public models can't be referenced from the registry, Dart finds them by name. */
+  static boolean isVisibleFromRegistry(TypeElement typeElement) {
+    return typeElement.getNestingKind() == NestingKind.TOP_LEVEL
+        && typeElement.getModifiers().contains(Modifier.PUBLIC);
+  }
+
   /*visible for testing*/
   TypeElement getOriginatingElement(String generatedQualifiedName) {
     return allRoundsGeneratedToTypeElement.get(generatedQualifiedName);
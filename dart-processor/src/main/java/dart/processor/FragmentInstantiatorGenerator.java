@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dart.processor;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+import dart.Dart;
+import dart.common.BaseGenerator;
+import java.util.Set;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Creates Java code for a {@code FragmentInstantiator} that instantiates all the fragments of a
+ * module that have a navigation model, without reflection, and binds their navigation model. It is
+ * a static helper, not a {@code FragmentFactory}: those only exist for the fragments of AndroidX,
+ * not for {@code android.app.Fragment}. Only generated with the registries of a module.
+ */
+public class FragmentInstantiatorGenerator extends BaseGenerator {
+
+  static final String FRAGMENT_INSTANTIATOR_CLASS = "FragmentInstantiator";
+  private static final ClassName FRAGMENT = ClassName.get("android.app", "Fragment");
+  private static final ClassName BUNDLE = ClassName.get("android.os", "Bundle");
+
+  private final String instantiatorPackage;
+  private final Set<String> fragments;
+
+  /**
+   * @param instantiatorPackage the package of the generated instantiator.
+   * @param fragments fully qualified names of the fragments to instantiate.
+   */
+  public FragmentInstantiatorGenerator(String instantiatorPackage, Set<String> fragments) {
+    this.instantiatorPackage = instantiatorPackage;
+    this.fragments = fragments;
+  }
+
+  @Override
+  public String brewJava() {
+    TypeSpec.Builder instantiatorTypeSpec =
+        TypeSpec.classBuilder(FRAGMENT_INSTANTIATOR_CLASS)
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build());
+    emitInstantiate(instantiatorTypeSpec);
+    JavaFile javaFile =
+        JavaFile.builder(instantiatorPackage, instantiatorTypeSpec.build())
+            .addFileComment("Generated code from Dart. Do not modify!")
+            .build();
+    return javaFile.toString();
+  }
+
+  @Override
+  public String getFqcn() {
+    return instantiatorPackage + "." + FRAGMENT_INSTANTIATOR_CLASS;
+  }
+
+  private void emitInstantiate(TypeSpec.Builder builder) {
+    MethodSpec.Builder instantiateBuilder =
+        MethodSpec.methodBuilder("instantiate")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addParameter(String.class, "className")
+            .addParameter(BUNDLE, "arguments")
+            .returns(FRAGMENT)
+            .addStatement("final $T fragment", FRAGMENT);
+
+    // Class literals are immune to obfuscation, unlike names written in the generated code.
+    boolean first = true;
+    for (String fragment : fragments) {
+      final String condition = "className.equals($T.class.getName())";
+      if (first) {
+        instantiateBuilder.beginControlFlow(
+            "if (" + condition + ")", ClassName.bestGuess(fragment));
+        first = false;
+      } else {
+        instantiateBuilder.nextControlFlow(
+            "else if (" + condition + ")", ClassName.bestGuess(fragment));
+      }
+      instantiateBuilder.addStatement("fragment = new $T()", ClassName.bestGuess(fragment));
+    }
+    instantiateBuilder
+        .nextControlFlow("else")
+        .addStatement("return null")
+        .endControlFlow()
+        .addStatement("fragment.setArguments(arguments)")
+        .addStatement("$T.bind(fragment)", Dart.class)
+        .addStatement("return fragment");
+
+    builder.addMethod(instantiateBuilder.build());
+  }
+}
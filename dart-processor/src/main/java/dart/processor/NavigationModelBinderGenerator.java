@@ -21,10 +21,18 @@ import static com.squareup.javapoet.ClassName.bestGuess;
 import static com.squareup.javapoet.ClassName.get;
 import static dart.common.util.NavigationModelBindingTargetUtil.NAVIGATION_MODEL_BINDER_SUFFIX;
 
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+import com.squareup.javapoet.WildcardTypeName;
 import dart.Dart;
+import dart.ExtraSource;
+import dart.NavigationModelBinder;
 import dart.common.BaseGenerator;
 import dart.common.NavigationModelBindingTarget;
 import javax.lang.model.element.Modifier;
@@ -36,19 +44,52 @@ import javax.lang.model.element.Modifier;
  */
 public class NavigationModelBinderGenerator extends BaseGenerator {
 
+  private static final ClassName EXTRA_SOURCE = ClassName.get(ExtraSource.class);
+
   private final NavigationModelBindingTarget target;
+  private final boolean trace;
 
   public NavigationModelBinderGenerator(NavigationModelBindingTarget target) {
+    this(target, false);
+  }
+
+  /**
+   * @param target the activity, service or fragment to generate a binder for.
+   * @param trace true to emit a trace section around the binding of the target, and around the
+   *     lookup of its extras.
+   */
+  public NavigationModelBinderGenerator(NavigationModelBindingTarget target, boolean trace) {
     this.target = target;
+    this.trace = trace;
   }
 
   @Override
   public String brewJava() {
+    // Binders are generic so that the binder of a subclass can extend the binder of its parent.
+    final TypeVariableName targetType = TypeVariableName.get("T", bestGuess(target.getFQN()));
     TypeSpec.Builder binderTypeSpec =
-        TypeSpec.classBuilder(binderClassName()).addModifiers(Modifier.PUBLIC);
+        TypeSpec.classBuilder(binderClassName())
+            .addModifiers(Modifier.PUBLIC)
+            .addTypeVariable(targetType);
+    if (target.parentPackage != null) {
+      binderTypeSpec.superclass(
+          ParameterizedTypeName.get(
+              bestGuess(target.getParentFQN() + NAVIGATION_MODEL_BINDER_SUFFIX), targetType));
+    } else {
+      binderTypeSpec.addSuperinterface(
+          ParameterizedTypeName.get(get(NavigationModelBinder.class), targetType));
+    }
 
-    emitBind(binderTypeSpec);
-    emitAssign(binderTypeSpec);
+    emitInstanceField(binderTypeSpec);
+    emitExtraBinderField(binderTypeSpec);
+    emitBind(binderTypeSpec, targetType);
+    emitRebind(binderTypeSpec, targetType);
+    emitCreateNavigationModel(binderTypeSpec);
+    emitAssignNavigationModel(binderTypeSpec, targetType);
+    emitAssign(binderTypeSpec, targetType);
+    if (trace) {
+      BinderTracing.emitHelpers(binderTypeSpec);
+    }
 
     JavaFile javaFile =
         JavaFile.builder(target.classPackage, binderTypeSpec.build())
@@ -62,55 +103,185 @@ public class NavigationModelBinderGenerator extends BaseGenerator {
     return target.classPackage + "." + binderClassName();
   }
 
+  /** Keeps the binder cached by Dart for as long as the class loader of its class lives. */
+  private void emitInstanceField(TypeSpec.Builder builder) {
+    final ClassName binder = ClassName.get(target.classPackage, binderClassName());
+    builder.addField(
+        FieldSpec.builder(
+                ParameterizedTypeName.get(binder, WildcardTypeName.subtypeOf(Object.class)),
+                Dart.BINDER_INSTANCE_FIELD,
+                Modifier.PUBLIC,
+                Modifier.STATIC,
+                Modifier.FINAL)
+            .initializer("new $T<>()", binder)
+            .build());
+  }
+
   private String binderClassName() {
     return target.className + NAVIGATION_MODEL_BINDER_SUFFIX;
   }
 
-  private void emitBind(TypeSpec.Builder builder) {
+  private void emitExtraBinderField(TypeSpec.Builder builder) {
+    final ClassName navigationModel = navigationModelClassName();
+    final ClassName extraBinder =
+        get(target.navigationModelPackage, target.navigationModelClass + Dart.EXTRA_BINDER_SUFFIX);
+    builder.addField(
+        FieldSpec.builder(
+                ParameterizedTypeName.get(extraBinder, navigationModel),
+                "extraBinder",
+                Modifier.PRIVATE,
+                Modifier.FINAL)
+            .initializer("new $T<>()", extraBinder)
+            .build());
+  }
+
+  private void emitBind(TypeSpec.Builder builder, TypeName targetType) {
     MethodSpec.Builder bindBuilder =
         MethodSpec.methodBuilder("bind")
-            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
             .addParameter(get(Dart.Finder.class), "finder")
-            .addParameter(bestGuess(target.getFQN()), "target");
+            .addParameter(targetType, "target");
 
-    bindBuilder.addStatement(
-        "target.$L = new $T()",
-        target.navigationModelFieldName,
-        get(target.navigationModelPackage, target.navigationModelClass));
+    if (trace) {
+      BinderTracing.beginTrySection(bindBuilder, "Dart bind " + target.className);
+    }
 
-    bindBuilder.addStatement(
-        "$T.bind(finder, target.$L, target)",
-        get(target.navigationModelPackage, target.navigationModelClass + Dart.EXTRA_BINDER_SUFFIX),
-        target.navigationModelFieldName);
+    String extras = "finder.getExtras(target)";
+    if (trace) {
+      bindBuilder.addStatement("final $T extras", EXTRA_SOURCE);
+      BinderTracing.beginTrySection(bindBuilder, "Dart lookup");
+      bindBuilder.addStatement("extras = finder.getExtras(target)");
+      BinderTracing.endTrySection(bindBuilder);
+      extras = "extras";
+    }
+
+    if (target.immutableNavigationModel) {
+      // Immutable navigation models are created from their extras.
+      bindBuilder.addStatement(
+          "target.$L = extraBinder.create($L)", target.navigationModelFieldName, extras);
+    } else {
+      bindBuilder
+          .beginControlFlow("if (target.$L == null)", target.navigationModelFieldName)
+          .addStatement(
+              "target.$L = new $T()", target.navigationModelFieldName, navigationModelClassName())
+          .addStatement("extraBinder.bind(target.$L, $L)", target.navigationModelFieldName, extras)
+          .nextControlFlow("else")
+          .addComment(
+              "Retained targets keep their navigation model, absent optional extras get back "
+                  + "their value in a new one.")
+          .addStatement(
+              "extraBinder.rebind(target.$L, new $T(), null, $L)",
+              target.navigationModelFieldName,
+              navigationModelClassName(),
+              extras)
+          .endControlFlow();
+    }
 
     if (target.parentPackage != null) {
       // Emit a call to the superclass binder, if any.
-      bindBuilder.addStatement(
-          "$T.assign(target, target.$L)",
-          bestGuess(target.getParentFQN() + NAVIGATION_MODEL_BINDER_SUFFIX),
-          target.navigationModelFieldName);
+      bindBuilder.addStatement("super.assign(target, target.$L)", target.navigationModelFieldName);
+    }
+
+    if (trace) {
+      BinderTracing.endTrySection(bindBuilder);
     }
 
     builder.addMethod(bindBuilder.build());
   }
 
-  private void emitAssign(TypeSpec.Builder builder) {
+  private void emitRebind(TypeSpec.Builder builder, TypeName targetType) {
+    if (target.immutableNavigationModel) {
+      // Immutable navigation models can't be bound again, a new one is created.
+      builder.addMethod(
+          MethodSpec.methodBuilder("rebind")
+              .addAnnotation(Override.class)
+              .addModifiers(Modifier.PUBLIC)
+              .addParameter(targetType, "target")
+              .addParameter(EXTRA_SOURCE, "previousExtras")
+              .addParameter(EXTRA_SOURCE, "extras")
+              .addStatement("assign(target, createNavigationModel(extras))")
+              .build());
+      return;
+    }
+    builder.addMethod(
+        MethodSpec.methodBuilder("rebind")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(targetType, "target")
+            .addParameter(EXTRA_SOURCE, "previousExtras")
+            .addParameter(EXTRA_SOURCE, "extras")
+            .beginControlFlow("if (target.$L == null)", target.navigationModelFieldName)
+            .addStatement("assign(target, createNavigationModel(extras))")
+            .nextControlFlow("else")
+            .addComment("Removed optional extras get back their value in a new navigation model.")
+            .addStatement(
+                "$T defaults = $T.isExtraRemoved(previousExtras, extras) ? new $T() : null",
+                navigationModelClassName(),
+                Dart.class,
+                navigationModelClassName())
+            .addStatement(
+                "extraBinder.rebind(target.$L, defaults, previousExtras, extras)",
+                target.navigationModelFieldName)
+            .endControlFlow()
+            .build());
+  }
+
+  private void emitCreateNavigationModel(TypeSpec.Builder builder) {
+    // Overridden covariantly, the navigation model of a subclass extends the one of its parent.
+    final ClassName navigationModel = navigationModelClassName();
+    if (target.immutableNavigationModel) {
+      builder.addMethod(
+          MethodSpec.methodBuilder("createNavigationModel")
+              .addAnnotation(Override.class)
+              .addModifiers(Modifier.PUBLIC)
+              .returns(navigationModel)
+              .addParameter(EXTRA_SOURCE, "extras")
+              .addStatement("return extraBinder.create(extras)")
+              .build());
+      return;
+    }
+    builder.addMethod(
+        MethodSpec.methodBuilder("createNavigationModel")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(navigationModel)
+            .addParameter(EXTRA_SOURCE, "extras")
+            .addStatement("$T navigationModel = new $T()", navigationModel, navigationModel)
+            .addStatement("extraBinder.bind(navigationModel, extras)")
+            .addStatement("return navigationModel")
+            .build());
+  }
+
+  private void emitAssignNavigationModel(TypeSpec.Builder builder, TypeName targetType) {
+    builder.addMethod(
+        MethodSpec.methodBuilder("assignNavigationModel")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(targetType, "target")
+            .addParameter(Object.class, "navigationModel")
+            .addStatement("assign(target, ($T) navigationModel)", navigationModelClassName())
+            .build());
+  }
+
+  private void emitAssign(TypeSpec.Builder builder, TypeName targetType) {
     MethodSpec.Builder bindBuilder =
         MethodSpec.methodBuilder("assign")
-            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
-            .addParameter(bestGuess(target.getFQN()), "target")
-            .addParameter(
-                get(target.navigationModelPackage, target.navigationModelClass), "navigationModel");
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(targetType, "target")
+            .addParameter(navigationModelClassName(), "navigationModel");
 
     bindBuilder.addStatement("target.$L = navigationModel", target.navigationModelFieldName);
 
     if (target.parentPackage != null) {
       // Emit a call to the superclass binder, if any.
-      bindBuilder.addStatement(
-          "$T.assign(target, navigationModel)",
-          bestGuess(target.getParentFQN() + NAVIGATION_MODEL_BINDER_SUFFIX));
+      bindBuilder.addStatement("super.assign(target, navigationModel)");
     }
 
     builder.addMethod(bindBuilder.build());
   }
+
+  private ClassName navigationModelClassName() {
+    return get(target.navigationModelPackage, target.navigationModelClass);
+  }
 }
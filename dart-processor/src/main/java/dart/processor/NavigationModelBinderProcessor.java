@@ -24,16 +24,24 @@ import dart.common.util.LoggingUtil;
 import dart.common.util.NavigationModelBindingTargetUtil;
 import dart.common.util.NavigationModelFieldUtil;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
 
 @SupportedAnnotationTypes({
   NavigationModelBinderProcessor.NAVIGATION_MODEL_ANNOTATION_CLASS_NAME,
@@ -41,24 +49,37 @@ import javax.lang.model.element.TypeElement;
 public final class NavigationModelBinderProcessor extends AbstractProcessor {
 
   static final String NAVIGATION_MODEL_ANNOTATION_CLASS_NAME = "dart.DartModel";
+  private static final String FRAGMENT_CLASS_NAME = "android.app.Fragment";
 
   private LoggingUtil loggingUtil;
   private FileUtil fileUtil;
+  private CompilerUtil compilerUtil;
   private NavigationModelBindingTargetUtil navigationModelBindingTargetUtil;
   private NavigationModelFieldUtil navigationModelFieldUtil;
   private Map<String, TypeElement> allRoundsGeneratedToTypeElement = new HashMap<>();
+  private Map<String, String> allRoundsRegistryEntries = new TreeMap<>();
+  private Set<String> allRoundsFragments = new TreeSet<>();
+
+  private String registryPackage;
+  private boolean registryWritten;
+  private boolean traceBinders;
 
   @Override
   public synchronized void init(ProcessingEnvironment processingEnv) {
     super.init(processingEnv);
 
-    final CompilerUtil compilerUtil = new CompilerUtil(processingEnv);
+    compilerUtil = new CompilerUtil(processingEnv);
     loggingUtil = new LoggingUtil(processingEnv);
     fileUtil = new FileUtil(processingEnv);
     navigationModelBindingTargetUtil =
         new NavigationModelBindingTargetUtil(compilerUtil, processingEnv);
     navigationModelFieldUtil =
         new NavigationModelFieldUtil(loggingUtil, navigationModelBindingTargetUtil);
+
+    registryPackage = processingEnv.getOptions().get(ExtraBinderProcessor.OPTION_REGISTRY_PACKAGE);
+    traceBinders =
+        Boolean.parseBoolean(
+            processingEnv.getOptions().get(ExtraBinderProcessor.OPTION_TRACE_BINDERS));
   }
 
   @Override
@@ -67,6 +88,18 @@ public final class NavigationModelBinderProcessor extends AbstractProcessor {
 
     Map<TypeElement, NavigationModelBindingTarget> targetClassMap = findAndParseTargets();
     generateNavigationModelBinder(targetClassMap);
+    if (registryPackage != null && !roundEnv.processingOver()) {
+      // Written in the first round without new targets, as the extra binder registry.
+      if (registryWritten) {
+        warnTargetsAfterRegistry(targetClassMap);
+      } else if (targetClassMap.isEmpty()) {
+        generateRegistry();
+        if (!allRoundsFragments.isEmpty()) {
+          generateFragmentInstantiator();
+        }
+        registryWritten = true;
+      }
+    }
 
     //return false here to let henson process the annotations too
     return false;
@@ -77,6 +110,17 @@ public final class NavigationModelBinderProcessor extends AbstractProcessor {
     return SourceVersion.latestSupported();
   }
 
+  @Override
+  public Set<String> getSupportedOptions() {
+    return new HashSet<>(
+        Arrays.asList(
+            ExtraBinderProcessor.OPTION_REGISTRY_PACKAGE,
+            ExtraBinderProcessor.OPTION_TRACE_BINDERS,
+            registryPackage == null
+                ? ExtraBinderProcessor.GRADLE_ISOLATING
+                : ExtraBinderProcessor.GRADLE_AGGREGATING));
+  }
+
   private Map<TypeElement, NavigationModelBindingTarget> findAndParseTargets() {
     Map<TypeElement, NavigationModelBindingTarget> targetClassMap = new LinkedHashMap<>();
 
@@ -95,9 +139,16 @@ public final class NavigationModelBinderProcessor extends AbstractProcessor {
       //we unfortunately can't test that nothing is generated in a TRUTH based test
       try {
         NavigationModelBinderGenerator generator =
-            new NavigationModelBinderGenerator(navigationModelBindingTarget);
+            new NavigationModelBinderGenerator(navigationModelBindingTarget, traceBinders);
         fileUtil.writeFile(generator, typeElement);
         allRoundsGeneratedToTypeElement.put(generator.getFqcn(), typeElement);
+        if (ExtraBinderProcessor.isVisibleFromRegistry(typeElement)) {
+          allRoundsRegistryEntries.put(
+              typeElement.getQualifiedName().toString(), generator.getFqcn());
+          if (isInstantiableFragment(typeElement)) {
+            allRoundsFragments.add(typeElement.getQualifiedName().toString());
+          }
+        }
       } catch (IOException e) {
         loggingUtil.error(
             typeElement,
@@ -108,6 +159,68 @@ public final class NavigationModelBinderProcessor extends AbstractProcessor {
     }
   }
 
+  private void generateRegistry() {
+    final Set<TypeElement> originatingElements = new HashSet<>();
+    for (String generatedQualifiedName : allRoundsRegistryEntries.values()) {
+      originatingElements.add(allRoundsGeneratedToTypeElement.get(generatedQualifiedName));
+    }
+    try {
+      BinderRegistryGenerator generator =
+          new BinderRegistryGenerator(registryPackage, false, allRoundsRegistryEntries);
+      fileUtil.writeFile(generator, originatingElements.toArray(new TypeElement[0]));
+    } catch (IOException e) {
+      loggingUtil.error(
+          null, "Unable to write navigation model binder registry: %s", e.getMessage());
+    }
+  }
+
+  private void warnTargetsAfterRegistry(
+      Map<TypeElement, NavigationModelBindingTarget> targetClassMap) {
+    for (TypeElement typeElement : targetClassMap.keySet()) {
+      if (ExtraBinderProcessor.isVisibleFromRegistry(typeElement)) {
+        loggingUtil.warning(
+            typeElement,
+            "%s was generated after the navigation model binder registry and fragment instantiator "
+                + "of %s, its binder is found by name.",
+            typeElement,
+            registryPackage);
+      }
+    }
+  }
+
+  private void generateFragmentInstantiator() {
+    final Set<TypeElement> originatingElements = new HashSet<>();
+    for (String fragment : allRoundsFragments) {
+      originatingElements.add(
+          allRoundsGeneratedToTypeElement.get(allRoundsRegistryEntries.get(fragment)));
+    }
+    try {
+      FragmentInstantiatorGenerator generator =
+          new FragmentInstantiatorGenerator(registryPackage, allRoundsFragments);
+      fileUtil.writeFile(generator, originatingElements.toArray(new TypeElement[0]));
+    } catch (IOException e) {
+      loggingUtil.error(null, "Unable to write fragment instantiator: %s", e.getMessage());
+    }
+  }
+
+  /**
+   * @return true if {@code typeElement} is a concrete fragment with a public default constructor.
+   */
+  private boolean isInstantiableFragment(TypeElement typeElement) {
+    if (typeElement.getModifiers().contains(Modifier.ABSTRACT)
+        || !compilerUtil.isAssignable(typeElement.asType(), FRAGMENT_CLASS_NAME)) {
+      return false;
+    }
+    final List<ExecutableElement> constructors =
+        ElementFilter.constructorsIn(typeElement.getEnclosedElements());
+    for (ExecutableElement constructor : constructors) {
+      if (constructor.getParameters().isEmpty()) {
+        return constructor.getModifiers().contains(Modifier.PUBLIC);
+      }
+    }
+    return constructors.isEmpty();
+  }
+
   /*visible for testing*/
   TypeElement getOriginatingElement(String generatedQualifiedName) {
     return allRoundsGeneratedToTypeElement.get(generatedQualifiedName);
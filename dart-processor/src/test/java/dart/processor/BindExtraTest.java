@@ -54,17 +54,39 @@ public class BindExtraTest {
             Joiner.on('\n')
                 .join(
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
                     "import java.lang.String;",
-                    "public class TestNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestNavigationModel target, Object source) {",
+                    "public class TestNavigationModel__ExtraBinder<T extends TestNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestNavigationModel__ExtraBinder<?> INSTANCE = new TestNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra = (String) object;",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = (String) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.extra);",
                     "  }",
                     "}"));
 
@@ -106,51 +128,125 @@ public class BindExtraTest {
             Joiner.on('\n')
                 .join(
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
-                    "public class TestNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestNavigationModel target, Object source) {",
-                    "    Object object;",
-                    "    object = finder.getExtra(source, \"key_bool\");",
-                    "    if (object == null) {",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "public class TestNavigationModel__ExtraBinder<T extends TestNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestNavigationModel__ExtraBinder<?> INSTANCE = new TestNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
+                    "    if (!extras.containsKey(\"key_bool\")) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key_bool' for field 'aBool' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
-                    "    target.aBool = (boolean) object;",
-                    "    object = finder.getExtra(source, \"key_byte\");",
-                    "    if (object == null) {",
+                    "    target.aBool = extras.getBoolean(\"key_bool\");",
+                    "    Dart.onExtraBound(target, \"key_bool\", false);",
+                    "    if (!extras.containsKey(\"key_byte\")) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key_byte' for field 'aByte' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
-                    "    target.aByte = (byte) object;",
-                    "    object = finder.getExtra(source, \"key_short\");",
-                    "    if (object == null) {",
+                    "    target.aByte = extras.getByte(\"key_byte\");",
+                    "    Dart.onExtraBound(target, \"key_byte\", false);",
+                    "    if (!extras.containsKey(\"key_short\")) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key_short' for field 'aShort' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
-                    "    target.aShort = (short) object;",
-                    "    object = finder.getExtra(source, \"key_int\");",
-                    "    if (object == null) {",
+                    "    target.aShort = extras.getShort(\"key_short\");",
+                    "    Dart.onExtraBound(target, \"key_short\", false);",
+                    "    if (!extras.containsKey(\"key_int\")) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key_int' for field 'anInt' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
-                    "    target.anInt = (int) object;",
-                    "    object = finder.getExtra(source, \"key_long\");",
-                    "    if (object == null) {",
+                    "    target.anInt = extras.getInt(\"key_int\");",
+                    "    Dart.onExtraBound(target, \"key_int\", false);",
+                    "    if (!extras.containsKey(\"key_long\")) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key_long' for field 'aLong' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
-                    "    target.aLong = (long) object;",
-                    "    object = finder.getExtra(source, \"key_char\");",
-                    "    if (object == null) {",
+                    "    target.aLong = extras.getLong(\"key_long\");",
+                    "    Dart.onExtraBound(target, \"key_long\", false);",
+                    "    if (!extras.containsKey(\"key_char\")) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key_char' for field 'aChar' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
-                    "    target.aChar = (char) object;",
-                    "    object = finder.getExtra(source, \"key_float\");",
-                    "    if (object == null) {",
+                    "    target.aChar = extras.getChar(\"key_char\");",
+                    "    Dart.onExtraBound(target, \"key_char\", false);",
+                    "    if (!extras.containsKey(\"key_float\")) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key_float' for field 'aFloat' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
-                    "    target.aFloat = (float) object;",
-                    "    object = finder.getExtra(source, \"key_double\");",
-                    "    if (object == null) {",
+                    "    target.aFloat = extras.getFloat(\"key_float\");",
+                    "    Dart.onExtraBound(target, \"key_float\", false);",
+                    "    if (!extras.containsKey(\"key_double\")) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key_double' for field 'aDouble' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
-                    "    target.aDouble = (double) object;",
+                    "    target.aDouble = extras.getDouble(\"key_double\");",
+                    "    Dart.onExtraBound(target, \"key_double\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key_bool\")) {",
+                    "      if (!extras.containsKey(\"key_bool\")) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key_bool' for field 'aBool' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.aBool = extras.getBoolean(\"key_bool\");",
+                    "      Dart.onExtraBound(target, \"key_bool\", false);",
+                    "    }",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key_byte\")) {",
+                    "      if (!extras.containsKey(\"key_byte\")) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key_byte' for field 'aByte' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.aByte = extras.getByte(\"key_byte\");",
+                    "      Dart.onExtraBound(target, \"key_byte\", false);",
+                    "    }",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key_short\")) {",
+                    "      if (!extras.containsKey(\"key_short\")) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key_short' for field 'aShort' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.aShort = extras.getShort(\"key_short\");",
+                    "      Dart.onExtraBound(target, \"key_short\", false);",
+                    "    }",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key_int\")) {",
+                    "      if (!extras.containsKey(\"key_int\")) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key_int' for field 'anInt' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.anInt = extras.getInt(\"key_int\");",
+                    "      Dart.onExtraBound(target, \"key_int\", false);",
+                    "    }",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key_long\")) {",
+                    "      if (!extras.containsKey(\"key_long\")) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key_long' for field 'aLong' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.aLong = extras.getLong(\"key_long\");",
+                    "      Dart.onExtraBound(target, \"key_long\", false);",
+                    "    }",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key_char\")) {",
+                    "      if (!extras.containsKey(\"key_char\")) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key_char' for field 'aChar' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.aChar = extras.getChar(\"key_char\");",
+                    "      Dart.onExtraBound(target, \"key_char\", false);",
+                    "    }",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key_float\")) {",
+                    "      if (!extras.containsKey(\"key_float\")) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key_float' for field 'aFloat' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.aFloat = extras.getFloat(\"key_float\");",
+                    "      Dart.onExtraBound(target, \"key_float\", false);",
+                    "    }",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key_double\")) {",
+                    "      if (!extras.containsKey(\"key_double\")) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key_double' for field 'aDouble' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.aDouble = extras.getDouble(\"key_double\");",
+                    "      Dart.onExtraBound(target, \"key_double\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    outState.putBoolean(\"key_bool\", target.aBool);",
+                    "    outState.putByte(\"key_byte\", target.aByte);",
+                    "    outState.putShort(\"key_short\", target.aShort);",
+                    "    outState.putInt(\"key_int\", target.anInt);",
+                    "    outState.putLong(\"key_long\", target.aLong);",
+                    "    outState.putChar(\"key_char\", target.aChar);",
+                    "    outState.putFloat(\"key_float\", target.aFloat);",
+                    "    outState.putDouble(\"key_double\", target.aDouble);",
                     "  }",
                     "}"));
 
@@ -187,19 +283,43 @@ public class BindExtraTest {
             Joiner.on('\n')
                 .join(
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
                     "import java.lang.String;",
-                    "public class TestNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestNavigationModel target, Object source) {",
+                    "public class TestNavigationModel__ExtraBinder<T extends TestNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestNavigationModel__ExtraBinder<?> INSTANCE = new TestNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra1', field 'extra2', and field 'extra3' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra1 = (String) object;",
                     "    target.extra2 = (String) object;",
                     "    target.extra3 = (String) object;",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra1', field 'extra2', and field 'extra3' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra1 = (String) object;",
+                    "      target.extra2 = (String) object;",
+                    "      target.extra3 = (String) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.extra1);",
                     "  }",
                     "}"));
 
@@ -236,17 +356,39 @@ public class BindExtraTest {
             Joiner.on('\n')
                 .join(
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
                     "import java.lang.String;",
-                    "public class TestNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestNavigationModel target, Object source) {",
+                    "public class TestNavigationModel__ExtraBinder<T extends TestNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestNavigationModel__ExtraBinder<?> INSTANCE = new TestNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'key' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.key = (String) object;",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'key' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.key = (String) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.key);",
                     "  }",
                     "}"));
 
@@ -310,17 +452,40 @@ public class BindExtraTest {
             Joiner.on('\n')
                 .join(
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
                     "import java.lang.String;",
-                    "public class TestNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestNavigationModel target, Object source) {",
+                    "public class TestNavigationModel__ExtraBinder<T extends TestNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestNavigationModel__ExtraBinder<?> INSTANCE = new TestNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object != null) {",
                     "      target.extra = (String) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
                     "    }",
                     "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object != null) {",
+                    "        target.extra = (String) object;",
+                    "        Dart.onExtraBound(target, \"key\", false);",
+                    "      } else {",
+                    "        target.extra = defaults.extra;",
+                    "      }",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.extra);",
+                    "  }",
                     "}"));
 
     ExtraBinderProcessor processor = extraBinderProcessorsWithoutParceler();
@@ -334,6 +499,344 @@ public class BindExtraTest {
     assertTrue(mostEnclosingElement.getQualifiedName().contentEquals("test.TestNavigationModel"));
   }
 
+  @Test
+  public void nullablePrimitive() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestNavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BindExtra;",
+                    "import java.lang.String;",
+                    "import java.lang.annotation.Retention;",
+                    "import java.lang.annotation.Target;",
+                    "import static java.lang.annotation.ElementType.FIELD;",
+                    "import static java.lang.annotation.RetentionPolicy.CLASS;",
+                    "public class TestNavigationModel {",
+                    "  @Nullable @BindExtra(\"key_int\") int anInt = 3;",
+                    "  @BindExtra(\"key\") String extra;",
+                    "}",
+                    "@Retention(CLASS) @Target(FIELD) @interface Nullable {}"));
+
+    String extraBinderQualifiedName = "test.TestNavigationModel__ExtraBinder";
+    JavaFileObject expectedSource =
+        JavaFileObjects.forSourceString(
+            extraBinderQualifiedName,
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import android.os.Bundle;",
+                    "import dart.Dart;",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "import java.lang.String;",
+                    "public class TestNavigationModel__ExtraBinder<T extends TestNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestNavigationModel__ExtraBinder<?> INSTANCE = new TestNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
+                    "    if (extras.containsKey(\"key_int\")) {",
+                    "      target.anInt = extras.getInt(\"key_int\");",
+                    "      Dart.onExtraBound(target, \"key_int\", false);",
+                    "    }",
+                    "    Object object;",
+                    "    object = extras.get(\"key\");",
+                    "    if (object == null) {",
+                    "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "    }",
+                    "    target.extra = (String) object;",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key_int\")) {",
+                    "      if (extras.containsKey(\"key_int\")) {",
+                    "        target.anInt = extras.getInt(\"key_int\");",
+                    "        Dart.onExtraBound(target, \"key_int\", false);",
+                    "      } else {",
+                    "        target.anInt = defaults.anInt;",
+                    "      }",
+                    "    }",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = (String) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    outState.putInt(\"key_int\", target.anInt);",
+                    "    Dart.putExtra(outState, \"key\", target.extra);",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac().withProcessors(extraBinderProcessorsWithoutParceler()).compile(source);
+    assertThat(compilation)
+        .generatedSourceFile(extraBinderQualifiedName)
+        .hasSourceEquivalentTo(expectedSource);
+  }
+
+  @Test
+  public void lazy() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestNavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BindExtra;",
+                    "import dart.Lazy;",
+                    "import java.lang.String;",
+                    "import java.lang.annotation.Retention;",
+                    "import java.lang.annotation.Target;",
+                    "import static java.lang.annotation.ElementType.FIELD;",
+                    "import static java.lang.annotation.RetentionPolicy.CLASS;",
+                    "public class TestNavigationModel {",
+                    "  @BindExtra(\"key\") Lazy<String> extra;",
+                    "  @Nullable @BindExtra(\"key1\") Lazy<String[]> extra1;",
+                    "}",
+                    "@Retention(CLASS) @Target(FIELD) @interface Nullable {}"));
+
+    String extraBinderQualifiedName = "test.TestNavigationModel__ExtraBinder";
+    JavaFileObject expectedSource =
+        JavaFileObjects.forSourceString(
+            extraBinderQualifiedName,
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import android.os.Bundle;",
+                    "import dart.Dart;",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import dart.Lazy;",
+                    "import java.lang.Override;",
+                    "import java.lang.String;",
+                    "public class TestNavigationModel__ExtraBinder<T extends TestNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestNavigationModel__ExtraBinder<?> INSTANCE = new TestNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
+                    "    if (!extras.containsKey(\"key\")) {",
+                    "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "    }",
+                    "    target.extra = new Lazy<String>(extras, \"key\") {",
+                    "      @Override",
+                    "      protected String decode(ExtraSource extras, String key) {",
+                    "        return (String) extras.get(key);",
+                    "      }",
+                    "    };",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "    if (extras.containsKey(\"key1\")) {",
+                    "      target.extra1 = new Lazy<String[]>(extras, \"key1\") {",
+                    "        @Override",
+                    "        protected String[] decode(ExtraSource extras, String key) {",
+                    "          return (String[]) extras.get(key);",
+                    "        }",
+                    "      };",
+                    "      Dart.onExtraBound(target, \"key1\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      if (!extras.containsKey(\"key\")) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = new Lazy<String>(extras, \"key\") {",
+                    "        @Override",
+                    "        protected String decode(ExtraSource extras, String key) {",
+                    "          return (String) extras.get(key);",
+                    "        }",
+                    "      };",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key1\")) {",
+                    "      if (extras.containsKey(\"key1\")) {",
+                    "        target.extra1 = new Lazy<String[]>(extras, \"key1\") {",
+                    "          @Override",
+                    "          protected String[] decode(ExtraSource extras, String key) {",
+                    "            return (String[]) extras.get(key);",
+                    "          }",
+                    "        };",
+                    "        Dart.onExtraBound(target, \"key1\", false);",
+                    "      } else {",
+                    "        target.extra1 = defaults.extra1;",
+                    "      }",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    if (target.extra != null) {",
+                    "      Dart.putExtra(outState, \"key\", target.extra.get());",
+                    "    }",
+                    "    if (target.extra1 != null) {",
+                    "      Dart.putExtra(outState, \"key1\", target.extra1.get());",
+                    "    }",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac().withProcessors(extraBinderProcessorsWithoutParceler()).compile(source);
+    assertThat(compilation)
+        .generatedSourceFile(extraBinderQualifiedName)
+        .hasSourceEquivalentTo(expectedSource);
+  }
+
+  @Test
+  public void failsIfRawLazy() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestNavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BindExtra;",
+                    "import dart.Lazy;",
+                    "public class TestNavigationModel {",
+                    "  @BindExtra(\"key\") Lazy extra;",
+                    "}"));
+
+    Compilation compilation =
+        javac().withProcessors(extraBinderProcessorsWithoutParceler()).compile(source);
+    assertThat(compilation)
+        .hadErrorContaining(
+            "@BindExtra field of type Lazy must declare the type of its extra. "
+                + "(test.TestNavigationModel.extra)")
+        .inFile(source)
+        .onLine(5);
+  }
+
+  @Test
+  public void immutableNavigationModel() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestNavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BindExtra;",
+                    "import java.lang.String;",
+                    "import java.lang.annotation.Retention;",
+                    "import java.lang.annotation.Target;",
+                    "import static java.lang.annotation.ElementType.FIELD;",
+                    "import static java.lang.annotation.RetentionPolicy.CLASS;",
+                    "public class TestNavigationModel {",
+                    "  @BindExtra(\"key\") final String extra;",
+                    "  @Nullable @BindExtra(\"key_int\") final int anInt;",
+                    "  TestNavigationModel(int anInt, String extra) {",
+                    "    this.extra = extra;",
+                    "    this.anInt = anInt;",
+                    "  }",
+                    "}",
+                    "@Retention(CLASS) @Target(FIELD) @interface Nullable {}"));
+
+    String extraBinderQualifiedName = "test.TestNavigationModel__ExtraBinder";
+    JavaFileObject expectedSource =
+        JavaFileObjects.forSourceString(
+            extraBinderQualifiedName,
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import android.os.Bundle;",
+                    "import dart.Dart;",
+                    "import dart.ExtraSource;",
+                    "import dart.ImmutableExtraBinder;",
+                    "import java.lang.Override;",
+                    "import java.lang.String;",
+                    "public class TestNavigationModel__ExtraBinder<T extends TestNavigationModel> implements ImmutableExtraBinder<TestNavigationModel> {",
+                    "  public static final TestNavigationModel__ExtraBinder<?> INSTANCE = new TestNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public TestNavigationModel create(ExtraSource extras) {",
+                    "    String value$extra;",
+                    "    int value$anInt = 0;",
+                    "    Object object;",
+                    "    object = extras.get(\"key\");",
+                    "    if (object == null) {",
+                    "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "    }",
+                    "    value$extra = (String) object;",
+                    "    Dart.onExtraBound(TestNavigationModel.class, \"key\", false);",
+                    "    if (extras.containsKey(\"key_int\")) {",
+                    "      value$anInt = extras.getInt(\"key_int\");",
+                    "      Dart.onExtraBound(TestNavigationModel.class, \"key_int\", false);",
+                    "    }",
+                    "    return new TestNavigationModel(value$anInt, value$extra);",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(TestNavigationModel target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.extra);",
+                    "    outState.putInt(\"key_int\", target.anInt);",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac().withProcessors(extraBinderProcessorsWithoutParceler()).compile(source);
+    assertThat(compilation)
+        .generatedSourceFile(extraBinderQualifiedName)
+        .hasSourceEquivalentTo(expectedSource);
+  }
+
+  @Test
+  public void immutableNavigationModelWithFieldsNamedAfterBinderVariables() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestNavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BindExtra;",
+                    "import java.lang.String;",
+                    "public class TestNavigationModel {",
+                    "  @BindExtra final String extras;",
+                    "  @BindExtra final String object;",
+                    "  @BindExtra final String target;",
+                    "  TestNavigationModel(String extras, String object, String target) {",
+                    "    this.extras = extras;",
+                    "    this.object = object;",
+                    "    this.target = target;",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac().withProcessors(extraBinderProcessorsWithoutParceler()).compile(source);
+    assertThat(compilation).succeeded();
+    assertThat(compilation)
+        .generatedSourceFile("test.TestNavigationModel__ExtraBinder")
+        .contentsAsUtf8String()
+        .contains("return new TestNavigationModel(value$extras, value$object, value$target);");
+  }
+
+  @Test
+  public void failsIfImmutableNavigationModelHasNoMatchingConstructor() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestNavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BindExtra;",
+                    "public class TestNavigationModel {",
+                    "  @BindExtra(\"key\") final String extra;",
+                    "  TestNavigationModel(String other) {",
+                    "    this.extra = other;",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac().withProcessors(extraBinderProcessorsWithoutParceler()).compile(source);
+    assertThat(compilation)
+        .hadErrorContaining(
+            "Immutable DartModel test.TestNavigationModel must declare a non private constructor "
+                + "whose parameters are named and typed after its @BindExtra fields.")
+        .inFile(source)
+        .onLine(3);
+  }
+
   @Test
   public void failsIfInPrivateClass() {
     JavaFileObject source =
@@ -450,17 +953,39 @@ public class BindExtraTest {
             Joiner.on('\n')
                 .join(
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
                     "import java.lang.String;",
-                    "public class TestNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestNavigationModel target, Object source) {",
+                    "public class TestNavigationModel__ExtraBinder<T extends TestNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestNavigationModel__ExtraBinder<?> INSTANCE = new TestNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra = (String) object;",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = (String) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.extra);",
                     "  }",
                     "}"));
 
@@ -471,18 +996,41 @@ public class BindExtraTest {
             Joiner.on('\n')
                 .join(
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
                     "import java.lang.String;",
-                    "public class TestOneNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestOneNavigationModel target, Object source) {",
-                    "    TestNavigationModel__ExtraBinder.bind(finder, target, source);",
+                    "public class TestOneNavigationModel__ExtraBinder<T extends TestOneNavigationModel> extends TestNavigationModel__ExtraBinder<T> {",
+                    "  public static final TestOneNavigationModel__ExtraBinder<?> INSTANCE = new TestOneNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
+                    "    super.bind(target, extras);",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra1' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra1 = (String) object;",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    super.rebind(target, defaults, previousExtras, extras);",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra1' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra1 = (String) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    super.saveState(target, outState);",
+                    "    Dart.putExtra(outState, \"key\", target.extra1);",
                     "  }",
                     "}"));
 
@@ -507,6 +1055,375 @@ public class BindExtraTest {
         mostEnclosingElement2.getQualifiedName().contentEquals("test.TestOneNavigationModel"));
   }
 
+  @Test
+  public void flattenedSuperclass() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestNavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BindExtra;",
+                    "public class TestNavigationModel {",
+                    "    @BindExtra(\"key\") String extra;",
+                    "}",
+                    "class TestOneNavigationModel extends TestNavigationModel {",
+                    "    @BindExtra(\"key\") String extra1;",
+                    "}",
+                    "class TestTwoNavigationModel extends TestOneNavigationModel {",
+                    "    @BindExtra(\"other\") int other;",
+                    "}"));
+
+    String extraBinderQualifiedName = "test.TestTwoNavigationModel__ExtraBinder";
+    JavaFileObject expectedSource =
+        JavaFileObjects.forSourceString(
+            extraBinderQualifiedName,
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import android.os.Bundle;",
+                    "import dart.Dart;",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "import java.lang.String;",
+                    "public class TestTwoNavigationModel__ExtraBinder<T extends TestTwoNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestTwoNavigationModel__ExtraBinder<?> INSTANCE = new TestTwoNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
+                    "    Object object;",
+                    "    object = extras.get(\"key\");",
+                    "    if (object == null) {",
+                    "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' and field 'extra1' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "    }",
+                    "    target.extra = (String) object;",
+                    "    target.extra1 = (String) object;",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "    if (!extras.containsKey(\"other\")) {",
+                    "      throw new IllegalStateException(\"Required extra with key 'other' for field 'other' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "    }",
+                    "    target.other = extras.getInt(\"other\");",
+                    "    Dart.onExtraBound(target, \"other\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' and field 'extra1' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = (String) object;",
+                    "      target.extra1 = (String) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"other\")) {",
+                    "      if (!extras.containsKey(\"other\")) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'other' for field 'other' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.other = extras.getInt(\"other\");",
+                    "      Dart.onExtraBound(target, \"other\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.extra);",
+                    "    outState.putInt(\"other\", target.other);",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac()
+            .withProcessors(extraBinderProcessorsWithoutParceler())
+            .withOptions("-Adart.flattenBinders=true")
+            .compile(source);
+    assertThat(compilation)
+        .generatedSourceFile(extraBinderQualifiedName)
+        .hasSourceEquivalentTo(expectedSource);
+  }
+
+  @Test
+  public void flattenedCompiledSuperclass() throws Exception {
+    String extraBinderQualifiedName = "test.TestOneNavigationModel__ExtraBinder";
+    JavaFileObject expectedSource =
+        JavaFileObjects.forSourceString(
+            extraBinderQualifiedName,
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import android.os.Bundle;",
+                    "import dart.Dart;",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "import java.lang.String;",
+                    "public class TestOneNavigationModel__ExtraBinder<T extends TestOneNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestOneNavigationModel__ExtraBinder<?> INSTANCE = new TestOneNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
+                    "    Object object;",
+                    "    object = extras.get(\"key\");",
+                    "    if (object != null) {",
+                    "      target.extra = (String) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "    object = extras.get(\"other\");",
+                    "    if (object == null) {",
+                    "      throw new IllegalStateException(\"Required extra with key 'other' for field 'other' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "    }",
+                    "    target.other = (String) object;",
+                    "    Dart.onExtraBound(target, \"other\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object != null) {",
+                    "        target.extra = (String) object;",
+                    "        Dart.onExtraBound(target, \"key\", false);",
+                    "      } else {",
+                    "        target.extra = defaults.extra;",
+                    "      }",
+                    "    }",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"other\")) {",
+                    "      object = extras.get(\"other\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'other' for field 'other' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.other = (String) object;",
+                    "      Dart.onExtraBound(target, \"other\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.extra);",
+                    "    Dart.putExtra(outState, \"other\", target.other);",
+                    "  }",
+                    "}"));
+
+    assertThat(compileSubclassOfCompiledNavigationModel("CLASS"))
+        .generatedSourceFile(extraBinderQualifiedName)
+        .hasSourceEquivalentTo(expectedSource);
+  }
+
+  @Test
+  public void compiledSuperclassWithoutNullabilityIsNotFlattened() throws Exception {
+    String extraBinderQualifiedName = "test.TestOneNavigationModel__ExtraBinder";
+    JavaFileObject expectedSource =
+        JavaFileObjects.forSourceString(
+            extraBinderQualifiedName,
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import android.os.Bundle;",
+                    "import dart.Dart;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "import java.lang.String;",
+                    "public class TestOneNavigationModel__ExtraBinder<T extends TestOneNavigationModel> extends TestNavigationModel__ExtraBinder<T> {",
+                    "  public static final TestOneNavigationModel__ExtraBinder<?> INSTANCE = new TestOneNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
+                    "    super.bind(target, extras);",
+                    "    Object object;",
+                    "    object = extras.get(\"other\");",
+                    "    if (object == null) {",
+                    "      throw new IllegalStateException(\"Required extra with key 'other' for field 'other' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "    }",
+                    "    target.other = (String) object;",
+                    "    Dart.onExtraBound(target, \"other\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    super.rebind(target, defaults, previousExtras, extras);",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"other\")) {",
+                    "      object = extras.get(\"other\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'other' for field 'other' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.other = (String) object;",
+                    "      Dart.onExtraBound(target, \"other\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    super.saveState(target, outState);",
+                    "    Dart.putExtra(outState, \"other\", target.other);",
+                    "  }",
+                    "}"));
+
+    assertThat(compileSubclassOfCompiledNavigationModel("SOURCE"))
+        .generatedSourceFile(extraBinderQualifiedName)
+        .hasSourceEquivalentTo(expectedSource);
+  }
+
+  /**
+   * Compiles a navigation model with an optional extra, annotated with a {@code Nullable}
+   * annotation of {@code retention}, then a flattened subclass against its class files. The intent
+   * builder Henson would generate for the navigation model is only declared.
+   */
+  private static Compilation compileSubclassOfCompiledNavigationModel(String retention)
+      throws Exception {
+    JavaFileObject parentSource =
+        JavaFileObjects.forSourceString(
+            "test.TestNavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BindExtra;",
+                    "import java.lang.annotation.Retention;",
+                    "import java.lang.annotation.RetentionPolicy;",
+                    "public class TestNavigationModel {",
+                    "    @BindExtra(\"key\") @Nullable public String extra;",
+                    "    @Retention(RetentionPolicy." + retention + ")",
+                    "    public @interface Nullable {}",
+                    "}",
+                    "class Test__IntentBuilder {",
+                    "}"));
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestOneNavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BindExtra;",
+                    "public class TestOneNavigationModel extends TestNavigationModel {",
+                    "    @BindExtra(\"other\") String other;",
+                    "}"));
+
+    Compilation parentCompilation =
+        javac().withProcessors(extraBinderProcessorsWithoutParceler()).compile(parentSource);
+    assertThat(parentCompilation).succeeded();
+    return javac()
+        .withProcessors(extraBinderProcessorsWithoutParceler())
+        .withOptions("-Adart.flattenBinders=true", "-classpath", classpathOf(parentCompilation))
+        .compile(source);
+  }
+
+  @Test
+  public void tracedBinder() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestNavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BindExtra;",
+                    "public class TestNavigationModel {",
+                    "    @BindExtra(\"key\") String extra;",
+                    "    @BindExtra(\"other\") int other;",
+                    "}"));
+
+    String extraBinderQualifiedName = "test.TestNavigationModel__ExtraBinder";
+    JavaFileObject expectedSource =
+        JavaFileObjects.forSourceString(
+            extraBinderQualifiedName,
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import android.os.Build;",
+                    "import android.os.Bundle;",
+                    "import android.os.Trace;",
+                    "import dart.Dart;",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "import java.lang.String;",
+                    "public class TestNavigationModel__ExtraBinder<T extends TestNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestNavigationModel__ExtraBinder<?> INSTANCE = new TestNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
+                    "    beginSection(\"Dart read TestNavigationModel\");",
+                    "    try {",
+                    "      Object object;",
+                    "      beginSection(\"Dart extra key\");",
+                    "      try {",
+                    "        object = extras.get(\"key\");",
+                    "        if (object == null) {",
+                    "          throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "        }",
+                    "        target.extra = (String) object;",
+                    "        Dart.onExtraBound(target, \"key\", false);",
+                    "      } finally {",
+                    "        endSection();",
+                    "      }",
+                    "      beginSection(\"Dart extra other\");",
+                    "      try {",
+                    "        if (!extras.containsKey(\"other\")) {",
+                    "          throw new IllegalStateException(\"Required extra with key 'other' for field 'other' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "        }",
+                    "        target.other = extras.getInt(\"other\");",
+                    "        Dart.onExtraBound(target, \"other\", false);",
+                    "      } finally {",
+                    "        endSection();",
+                    "      }",
+                    "    } finally {",
+                    "      endSection();",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    beginSection(\"Dart read TestNavigationModel\");",
+                    "    try {",
+                    "      Object object;",
+                    "      if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "        beginSection(\"Dart extra key\");",
+                    "        try {",
+                    "          object = extras.get(\"key\");",
+                    "          if (object == null) {",
+                    "            throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "          }",
+                    "          target.extra = (String) object;",
+                    "          Dart.onExtraBound(target, \"key\", false);",
+                    "        } finally {",
+                    "          endSection();",
+                    "        }",
+                    "      }",
+                    "      if (Dart.isExtraChanged(previousExtras, extras, \"other\")) {",
+                    "        beginSection(\"Dart extra other\");",
+                    "        try {",
+                    "          if (!extras.containsKey(\"other\")) {",
+                    "            throw new IllegalStateException(\"Required extra with key 'other' for field 'other' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "          }",
+                    "          target.other = extras.getInt(\"other\");",
+                    "          Dart.onExtraBound(target, \"other\", false);",
+                    "        } finally {",
+                    "          endSection();",
+                    "        }",
+                    "      }",
+                    "    } finally {",
+                    "      endSection();",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.extra);",
+                    "    outState.putInt(\"other\", target.other);",
+                    "  }",
+                    "  private static void beginSection(String sectionName) {",
+                    "    if (Build.VERSION.SDK_INT >= 18) {",
+                    "      Trace.beginSection(sectionName);",
+                    "    }",
+                    "  }",
+                    "  private static void endSection() {",
+                    "    if (Build.VERSION.SDK_INT >= 18) {",
+                    "      Trace.endSection();",
+                    "    }",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac()
+            .withProcessors(extraBinderProcessorsWithoutParceler())
+            .withOptions("-Adart.traceBinders=true")
+            .compile(source, traceSource());
+    assertThat(compilation)
+        .generatedSourceFile(extraBinderQualifiedName)
+        .hasSourceEquivalentTo(expectedSource);
+  }
+
   @Test
   public void genericSuperclass() {
     JavaFileObject source =
@@ -534,17 +1451,39 @@ public class BindExtraTest {
             Joiner.on('\n')
                 .join(
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
                     "import java.lang.String;",
-                    "public class TestNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestNavigationModel target, Object source) {",
+                    "public class TestNavigationModel__ExtraBinder<T extends TestNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestNavigationModel__ExtraBinder<?> INSTANCE = new TestNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra = (String) object;",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = (String) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.extra);",
                     "  }",
                     "}"));
 
@@ -555,18 +1494,41 @@ public class BindExtraTest {
             Joiner.on('\n')
                 .join(
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
                     "import java.lang.String;",
-                    "public class TestOneNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestOneNavigationModel target, Object source) {",
-                    "    TestNavigationModel__ExtraBinder.bind(finder, target, source);",
+                    "public class TestOneNavigationModel__ExtraBinder<T extends TestOneNavigationModel> extends TestNavigationModel__ExtraBinder<T> {",
+                    "  public static final TestOneNavigationModel__ExtraBinder<?> INSTANCE = new TestOneNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
+                    "    super.bind(target, extras);",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra1' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra1 = (String) object;",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    super.rebind(target, defaults, previousExtras, extras);",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra1' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra1 = (String) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    super.saveState(target, outState);",
+                    "    Dart.putExtra(outState, \"key\", target.extra1);",
                     "  }",
                     "}"));
 
@@ -590,4 +1552,63 @@ public class BindExtraTest {
     assertTrue(
         mostEnclosingElement2.getQualifiedName().contentEquals("test.TestOneNavigationModel"));
   }
+
+  @Test
+  public void registry() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestNavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BindExtra;",
+                    "import dart.DartModel;",
+                    "@DartModel",
+                    "public class TestNavigationModel {",
+                    "    @BindExtra(\"key\") String extra;",
+                    "}",
+                    "@DartModel",
+                    "class TestOneNavigationModel extends TestNavigationModel {",
+                    "}"));
+
+    String registryQualifiedName = "test.registry.ExtraBinderRegistry";
+    JavaFileObject expectedSource =
+        JavaFileObjects.forSourceString(
+            registryQualifiedName,
+            Joiner.on('\n')
+                .join(
+                    "package test.registry;",
+                    "import dart.BinderRegistry;",
+                    "import dart.ExtraStateSaver;",
+                    "import dart.NavigationModelBinder;",
+                    "import java.lang.Class;",
+                    "import java.lang.Override;",
+                    "import test.TestNavigationModel;",
+                    "import test.TestNavigationModel__ExtraBinder;",
+                    "public final class ExtraBinderRegistry implements BinderRegistry {",
+                    "  @Override",
+                    "  public ExtraStateSaver<?> getExtraBinder(Class<?> navigationModelClass) {",
+                    "    switch (navigationModelClass.getName()) {",
+                    "      case \"test.TestNavigationModel\":",
+                    "        return navigationModelClass == TestNavigationModel.class ? TestNavigationModel__ExtraBinder.INSTANCE : null;",
+                    "      default:",
+                    "        return null;",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public NavigationModelBinder<?> getNavigationModelBinder(Class<?> targetClass) {",
+                    "    return null;",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac()
+            .withProcessors(extraBinderProcessorsWithoutParceler())
+            .withOptions("-Adart.registry.package=test.registry")
+            .compile(source);
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation)
+        .generatedSourceFile(registryQualifiedName)
+        .hasSourceEquivalentTo(expectedSource);
+  }
 }
@@ -55,16 +55,38 @@ public class BindExtraWithParcelerTest {
             Joiner.on('\n')
                 .join( //
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
-                    "public class TestSerializableCollectionNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestSerializableCollectionNavigationModel target, Object source) {",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "public class TestSerializableCollectionNavigationModel__ExtraBinder<T extends TestSerializableCollectionNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestSerializableCollectionNavigationModel__ExtraBinder<?> INSTANCE = new TestSerializableCollectionNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra = org.parceler.Parcels.unwrap((android.os.Parcelable) object);",
+                    "    Dart.onExtraBound(target, \"key\", true);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = org.parceler.Parcels.unwrap((android.os.Parcelable) object);",
+                    "      Dart.onExtraBound(target, \"key\", true);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", org.parceler.Parcels.wrap(target.extra));",
                     "  }",
                     "}"));
 
@@ -106,16 +128,38 @@ public class BindExtraWithParcelerTest {
             Joiner.on('\n')
                 .join( //
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
-                    "public class TestNonSerializableNonParcelableCollection_withoutParcelerNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestNonSerializableNonParcelableCollection_withoutParcelerNavigationModel target, Object source) {",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "public class TestNonSerializableNonParcelableCollection_withoutParcelerNavigationModel__ExtraBinder<T extends TestNonSerializableNonParcelableCollection_withoutParcelerNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestNonSerializableNonParcelableCollection_withoutParcelerNavigationModel__ExtraBinder<?> INSTANCE = new TestNonSerializableNonParcelableCollection_withoutParcelerNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra = org.parceler.Parcels.unwrap((android.os.Parcelable) object);",
+                    "    Dart.onExtraBound(target, \"key\", true);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = org.parceler.Parcels.unwrap((android.os.Parcelable) object);",
+                    "      Dart.onExtraBound(target, \"key\", true);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", org.parceler.Parcels.wrap(target.extra));",
                     "  }",
                     "}"));
 
@@ -158,16 +202,38 @@ public class BindExtraWithParcelerTest {
             Joiner.on('\n')
                 .join( //
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
-                    "public class TestParcelAnnotatedNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestParcelAnnotatedNavigationModel target, Object source) {",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "public class TestParcelAnnotatedNavigationModel__ExtraBinder<T extends TestParcelAnnotatedNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestParcelAnnotatedNavigationModel__ExtraBinder<?> INSTANCE = new TestParcelAnnotatedNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra = org.parceler.Parcels.unwrap((android.os.Parcelable) object);",
+                    "    Dart.onExtraBound(target, \"key\", true);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = org.parceler.Parcels.unwrap((android.os.Parcelable) object);",
+                    "      Dart.onExtraBound(target, \"key\", true);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", org.parceler.Parcels.wrap(target.extra));",
                     "  }",
                     "}"));
 
@@ -210,16 +276,38 @@ public class BindExtraWithParcelerTest {
             Joiner.on('\n')
                 .join( //
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
-                    "public class TestCollectionParcelNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestCollectionParcelNavigationModel target, Object source) {",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "public class TestCollectionParcelNavigationModel__ExtraBinder<T extends TestCollectionParcelNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestCollectionParcelNavigationModel__ExtraBinder<?> INSTANCE = new TestCollectionParcelNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra = org.parceler.Parcels.unwrap((android.os.Parcelable) object);",
+                    "    Dart.onExtraBound(target, \"key\", true);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = org.parceler.Parcels.unwrap((android.os.Parcelable) object);",
+                    "      Dart.onExtraBound(target, \"key\", true);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", org.parceler.Parcels.wrap(target.extra));",
                     "  }",
                     "}"));
 
@@ -268,16 +356,38 @@ public class BindExtraWithParcelerTest {
             Joiner.on('\n')
                 .join( //
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
-                    "public class TestParcelExtendsParcelableNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestParcelExtendsParcelableNavigationModel target, Object source) {",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "public class TestParcelExtendsParcelableNavigationModel__ExtraBinder<T extends TestParcelExtendsParcelableNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestParcelExtendsParcelableNavigationModel__ExtraBinder<?> INSTANCE = new TestParcelExtendsParcelableNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra = org.parceler.Parcels.unwrap((android.os.Parcelable) object);",
+                    "    Dart.onExtraBound(target, \"key\", true);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = org.parceler.Parcels.unwrap((android.os.Parcelable) object);",
+                    "      Dart.onExtraBound(target, \"key\", true);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", org.parceler.Parcels.wrap(target.extra));",
                     "  }",
                     "}"));
 
@@ -331,16 +441,38 @@ public class BindExtraWithParcelerTest {
             Joiner.on('\n')
                 .join( //
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
-                    "public class TestParcelableExtendsParcelableNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestParcelableExtendsParcelableNavigationModel target, Object source) {",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "public class TestParcelableExtendsParcelableNavigationModel__ExtraBinder<T extends TestParcelableExtendsParcelableNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestParcelableExtendsParcelableNavigationModel__ExtraBinder<?> INSTANCE = new TestParcelableExtendsParcelableNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra = (Extra) object;",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = (Extra) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.extra);",
                     "  }",
                     "}"));
 
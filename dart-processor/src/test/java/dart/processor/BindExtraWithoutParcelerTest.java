@@ -57,18 +57,40 @@ public class BindExtraWithoutParcelerTest {
             Joiner.on('\n')
                 .join( //
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
                     "import java.lang.String;",
                     "import java.util.ArrayList;",
-                    "public class TestSerializableCollectionNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestSerializableCollectionNavigationModel target, Object source) {",
+                    "public class TestSerializableCollectionNavigationModel__ExtraBinder<T extends TestSerializableCollectionNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestSerializableCollectionNavigationModel__ExtraBinder<?> INSTANCE = new TestSerializableCollectionNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra = (ArrayList<String>) object;",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = (ArrayList<String>) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.extra);",
                     "  }",
                     "}"));
 
@@ -195,16 +217,38 @@ public class BindExtraWithoutParcelerTest {
             Joiner.on('\n')
                 .join( //
                     "package test;",
+                    "import android.os.Bundle;",
                     "import dart.Dart;",
-                    "import java.lang.Object;",
-                    "public class TestParcelableExtendsParcelableNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestParcelableExtendsParcelableNavigationModel target, Object source) {",
+                    "import dart.ExtraBinder;",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Override;",
+                    "public class TestParcelableExtendsParcelableNavigationModel__ExtraBinder<T extends TestParcelableExtendsParcelableNavigationModel> implements ExtraBinder<T> {",
+                    "  public static final TestParcelableExtendsParcelableNavigationModel__ExtraBinder<?> INSTANCE = new TestParcelableExtendsParcelableNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(T target, ExtraSource extras) {",
                     "    Object object;",
-                    "    object = finder.getExtra(source, \"key\");",
+                    "    object = extras.get(\"key\");",
                     "    if (object == null) {",
                     "      throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
                     "    }",
                     "    target.extra = (Extra) object;",
+                    "    Dart.onExtraBound(target, \"key\", false);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    Object object;",
+                    "    if (Dart.isExtraChanged(previousExtras, extras, \"key\")) {",
+                    "      object = extras.get(\"key\");",
+                    "      if (object == null) {",
+                    "        throw new IllegalStateException(\"Required extra with key 'key' for field 'extra' was not found. If this extra is optional add '@Nullable' annotation.\");",
+                    "      }",
+                    "      target.extra = (Extra) object;",
+                    "      Dart.onExtraBound(target, \"key\", false);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void saveState(T target, Bundle outState) {",
+                    "    Dart.putExtra(outState, \"key\", target.extra);",
                     "  }",
                     "}"));
 
@@ -21,6 +21,8 @@ import static com.google.testing.compile.CompilationSubject.assertThat;
 import static com.google.testing.compile.Compiler.javac;
 import static dart.processor.ProcessorTestUtilities.getMostEnclosingElement;
 import static dart.processor.ProcessorTestUtilities.navigationModelBinderProcessors;
+import static dart.processor.ProcessorTestUtilities.traceSource;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import com.google.common.base.Joiner;
@@ -49,8 +51,12 @@ public class BindNavigationModelTest {
                     "}",
                     "class TestActivityNavigationModel {",
                     "}",
-                    "class TestActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivityNavigationModel navigationModel, Object source) {",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}"));
 
@@ -62,12 +68,44 @@ public class BindNavigationModelTest {
                 .join(
                     "package test;",
                     "import dart.Dart;",
-                    "public class TestActivity__NavigationModelBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivity target) {",
-                    "    target.navigationModel = new TestActivityNavigationModel();",
-                    "    TestActivityNavigationModel__ExtraBinder.bind(finder, target.navigationModel, target);",
+                    "import dart.ExtraSource;",
+                    "import dart.NavigationModelBinder;",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "public class TestActivity__NavigationModelBinder<T extends TestActivity> implements NavigationModelBinder<T> {",
+                    "  public static final TestActivity__NavigationModelBinder<?> INSTANCE = new TestActivity__NavigationModelBinder<>();",
+                    "  private final TestActivityNavigationModel__ExtraBinder<TestActivityNavigationModel> extraBinder = new TestActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    if (target.navigationModel == null) {",
+                    "      target.navigationModel = new TestActivityNavigationModel();",
+                    "      extraBinder.bind(target.navigationModel, finder.getExtras(target));",
+                    "    } else {",
+                    "      // Retained targets keep their navigation model, absent optional extras get back their value in a new one.",
+                    "      extraBinder.rebind(target.navigationModel, new TestActivityNavigationModel(), null, finder.getExtras(target));",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (target.navigationModel == null) {",
+                    "      assign(target, createNavigationModel(extras));",
+                    "    } else {",
+                    "      // Removed optional extras get back their value in a new navigation model.",
+                    "      TestActivityNavigationModel defaults = Dart.isExtraRemoved(previousExtras, extras) ? new TestActivityNavigationModel() : null;",
+                    "      extraBinder.rebind(target.navigationModel, defaults, previousExtras, extras);",
+                    "    }",
                     "  }",
-                    "  public static void assign(TestActivity target, TestActivityNavigationModel navigationModel) {",
+                    "  @Override",
+                    "  public TestActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    TestActivityNavigationModel navigationModel = new TestActivityNavigationModel();",
+                    "    extraBinder.bind(navigationModel, extras);",
+                    "    return navigationModel;",
+                    "  }",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestActivityNavigationModel) navigationModel);",
+                    "  }",
+                    "  public void assign(T target, TestActivityNavigationModel navigationModel) {",
                     "    target.navigationModel = navigationModel;",
                     "  }",
                     "}"));
@@ -84,6 +122,188 @@ public class BindNavigationModelTest {
     assertTrue(mostEnclosingElement.getQualifiedName().contentEquals("test.TestActivity"));
   }
 
+  @Test
+  public void bindingImmutableNavigationModel() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestActivity",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BindExtra;",
+                    "import dart.DartModel;",
+                    "public class TestActivity {",
+                    "  @DartModel TestActivityNavigationModel navigationModel;",
+                    "}",
+                    "class TestActivityNavigationModel {",
+                    "  @BindExtra(\"key\") final String extra;",
+                    "  TestActivityNavigationModel(String extra) {",
+                    "    this.extra = extra;",
+                    "  }",
+                    "}",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public TestActivityNavigationModel create(dart.ExtraSource extras) {",
+                    "    return new TestActivityNavigationModel((String) extras.get(\"key\"));",
+                    "  }",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
+                    "  }",
+                    "}"));
+
+    String navigationModelBinderQualifiedName = "test.TestActivity__NavigationModelBinder";
+    JavaFileObject binderSource =
+        JavaFileObjects.forSourceString(
+            navigationModelBinderQualifiedName,
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.Dart;",
+                    "import dart.ExtraSource;",
+                    "import dart.NavigationModelBinder;",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "public class TestActivity__NavigationModelBinder<T extends TestActivity> implements NavigationModelBinder<T> {",
+                    "  public static final TestActivity__NavigationModelBinder<?> INSTANCE = new TestActivity__NavigationModelBinder<>();",
+                    "  private final TestActivityNavigationModel__ExtraBinder<TestActivityNavigationModel> extraBinder = new TestActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    target.navigationModel = extraBinder.create(finder.getExtras(target));",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    assign(target, createNavigationModel(extras));",
+                    "  }",
+                    "  @Override",
+                    "  public TestActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    return extraBinder.create(extras);",
+                    "  }",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestActivityNavigationModel) navigationModel);",
+                    "  }",
+                    "  public void assign(T target, TestActivityNavigationModel navigationModel) {",
+                    "    target.navigationModel = navigationModel;",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac().withProcessors(navigationModelBinderProcessors()).compile(source);
+    assertThat(compilation)
+        .generatedSourceFile(navigationModelBinderQualifiedName)
+        .hasSourceEquivalentTo(binderSource);
+  }
+
+  @Test
+  public void tracedBinder() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestActivity",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.DartModel;",
+                    "public class TestActivity {",
+                    "  @DartModel TestActivityNavigationModel navigationModel;",
+                    "}",
+                    "class TestActivityNavigationModel {",
+                    "}",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
+                    "  }",
+                    "}"));
+
+    String navigationModelBinderQualifiedName = "test.TestActivity__NavigationModelBinder";
+    JavaFileObject binderSource =
+        JavaFileObjects.forSourceString(
+            navigationModelBinderQualifiedName,
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import android.os.Build;",
+                    "import android.os.Trace;",
+                    "import dart.Dart;",
+                    "import dart.ExtraSource;",
+                    "import dart.NavigationModelBinder;",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "import java.lang.String;",
+                    "public class TestActivity__NavigationModelBinder<T extends TestActivity> implements NavigationModelBinder<T> {",
+                    "  public static final TestActivity__NavigationModelBinder<?> INSTANCE = new TestActivity__NavigationModelBinder<>();",
+                    "  private final TestActivityNavigationModel__ExtraBinder<TestActivityNavigationModel> extraBinder = new TestActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    beginSection(\"Dart bind TestActivity\");",
+                    "    try {",
+                    "      final ExtraSource extras;",
+                    "      beginSection(\"Dart lookup\");",
+                    "      try {",
+                    "        extras = finder.getExtras(target);",
+                    "      } finally {",
+                    "        endSection();",
+                    "      }",
+                    "      if (target.navigationModel == null) {",
+                    "        target.navigationModel = new TestActivityNavigationModel();",
+                    "        extraBinder.bind(target.navigationModel, extras);",
+                    "      } else {",
+                    "        // Retained targets keep their navigation model, absent optional extras get back their value in a new one.",
+                    "        extraBinder.rebind(target.navigationModel, new TestActivityNavigationModel(), null, extras);",
+                    "      }",
+                    "    } finally {",
+                    "      endSection();",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (target.navigationModel == null) {",
+                    "      assign(target, createNavigationModel(extras));",
+                    "    } else {",
+                    "      // Removed optional extras get back their value in a new navigation model.",
+                    "      TestActivityNavigationModel defaults = Dart.isExtraRemoved(previousExtras, extras) ? new TestActivityNavigationModel() : null;",
+                    "      extraBinder.rebind(target.navigationModel, defaults, previousExtras, extras);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public TestActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    TestActivityNavigationModel navigationModel = new TestActivityNavigationModel();",
+                    "    extraBinder.bind(navigationModel, extras);",
+                    "    return navigationModel;",
+                    "  }",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestActivityNavigationModel) navigationModel);",
+                    "  }",
+                    "  public void assign(T target, TestActivityNavigationModel navigationModel) {",
+                    "    target.navigationModel = navigationModel;",
+                    "  }",
+                    "  private static void beginSection(String sectionName) {",
+                    "    if (Build.VERSION.SDK_INT >= 18) {",
+                    "      Trace.beginSection(sectionName);",
+                    "    }",
+                    "  }",
+                    "  private static void endSection() {",
+                    "    if (Build.VERSION.SDK_INT >= 18) {",
+                    "      Trace.endSection();",
+                    "    }",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac()
+            .withProcessors(navigationModelBinderProcessors())
+            .withOptions("-Adart.traceBinders=true")
+            .compile(source, traceSource());
+    assertThat(compilation)
+        .generatedSourceFile(navigationModelBinderQualifiedName)
+        .hasSourceEquivalentTo(binderSource);
+  }
+
   @Test
   public void bindingMoreThanOneNavigationModel() {
     JavaFileObject source =
@@ -101,8 +321,12 @@ public class BindNavigationModelTest {
                     "}",
                     "class TestActivityNavigationModel {",
                     "}",
-                    "class TestActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivityNavigationModel navigationModel, Object source) {",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}"));
 
@@ -129,8 +353,12 @@ public class BindNavigationModelTest {
                     "}",
                     "class TestActivityNavigationModel {",
                     "}",
-                    "class TestActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivityNavigationModel navigationModel, Object source) {",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}"));
 
@@ -158,8 +386,12 @@ public class BindNavigationModelTest {
                     "}",
                     "class TestActivityNavigationModel {",
                     "}",
-                    "class TestActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivityNavigationModel navigationModel, Object source) {",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}"));
 
@@ -192,12 +424,20 @@ public class BindNavigationModelTest {
                     "}",
                     "class TestSuperActivityNavigationModel {",
                     "}",
-                    "class TestActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivityNavigationModel navigationModel, Object source) {",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}",
-                    "class TestSuperActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestSuperActivityNavigationModel navigationModel, Object source) {",
+                    "class TestSuperActivityNavigationModel__ExtraBinder<T extends TestSuperActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}"));
 
@@ -209,15 +449,46 @@ public class BindNavigationModelTest {
                 .join(
                     "package test;",
                     "import dart.Dart;",
-                    "public class TestActivity__NavigationModelBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivity target) {",
-                    "    target.navigationModel = new TestActivityNavigationModel();",
-                    "    TestActivityNavigationModel__ExtraBinder.bind(finder, target.navigationModel, target);",
-                    "    TestSuperActivity__NavigationModelBinder.assign(target, target.navigationModel);",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "public class TestActivity__NavigationModelBinder<T extends TestActivity> extends TestSuperActivity__NavigationModelBinder<T> {",
+                    "  public static final TestActivity__NavigationModelBinder<?> INSTANCE = new TestActivity__NavigationModelBinder<>();",
+                    "  private final TestActivityNavigationModel__ExtraBinder<TestActivityNavigationModel> extraBinder = new TestActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    if (target.navigationModel == null) {",
+                    "      target.navigationModel = new TestActivityNavigationModel();",
+                    "      extraBinder.bind(target.navigationModel, finder.getExtras(target));",
+                    "    } else {",
+                    "      // Retained targets keep their navigation model, absent optional extras get back their value in a new one.",
+                    "      extraBinder.rebind(target.navigationModel, new TestActivityNavigationModel(), null, finder.getExtras(target));",
+                    "    }",
+                    "    super.assign(target, target.navigationModel);",
                     "  }",
-                    "  public static void assign(TestActivity target, TestActivityNavigationModel navigationModel) {",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (target.navigationModel == null) {",
+                    "      assign(target, createNavigationModel(extras));",
+                    "    } else {",
+                    "      // Removed optional extras get back their value in a new navigation model.",
+                    "      TestActivityNavigationModel defaults = Dart.isExtraRemoved(previousExtras, extras) ? new TestActivityNavigationModel() : null;",
+                    "      extraBinder.rebind(target.navigationModel, defaults, previousExtras, extras);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public TestActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    TestActivityNavigationModel navigationModel = new TestActivityNavigationModel();",
+                    "    extraBinder.bind(navigationModel, extras);",
+                    "    return navigationModel;",
+                    "  }",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestActivityNavigationModel) navigationModel);",
+                    "  }",
+                    "  public void assign(T target, TestActivityNavigationModel navigationModel) {",
                     "    target.navigationModel = navigationModel;",
-                    "    TestSuperActivity__NavigationModelBinder.assign(target, navigationModel);",
+                    "    super.assign(target, navigationModel);",
                     "  }",
                     "}"));
 
@@ -229,12 +500,44 @@ public class BindNavigationModelTest {
                 .join(
                     "package test;",
                     "import dart.Dart;",
-                    "public class TestSuperActivity__NavigationModelBinder {",
-                    "  public static void bind(Dart.Finder finder, TestSuperActivity target) {",
-                    "    target.superNavigationModel = new TestSuperActivityNavigationModel();",
-                    "    TestSuperActivityNavigationModel__ExtraBinder.bind(finder, target.superNavigationModel, target);",
+                    "import dart.ExtraSource;",
+                    "import dart.NavigationModelBinder;",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "public class TestSuperActivity__NavigationModelBinder<T extends TestSuperActivity> implements NavigationModelBinder<T> {",
+                    "  public static final TestSuperActivity__NavigationModelBinder<?> INSTANCE = new TestSuperActivity__NavigationModelBinder<>();",
+                    "  private final TestSuperActivityNavigationModel__ExtraBinder<TestSuperActivityNavigationModel> extraBinder = new TestSuperActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    if (target.superNavigationModel == null) {",
+                    "      target.superNavigationModel = new TestSuperActivityNavigationModel();",
+                    "      extraBinder.bind(target.superNavigationModel, finder.getExtras(target));",
+                    "    } else {",
+                    "      // Retained targets keep their navigation model, absent optional extras get back their value in a new one.",
+                    "      extraBinder.rebind(target.superNavigationModel, new TestSuperActivityNavigationModel(), null, finder.getExtras(target));",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (target.superNavigationModel == null) {",
+                    "      assign(target, createNavigationModel(extras));",
+                    "    } else {",
+                    "      // Removed optional extras get back their value in a new navigation model.",
+                    "      TestSuperActivityNavigationModel defaults = Dart.isExtraRemoved(previousExtras, extras) ? new TestSuperActivityNavigationModel() : null;",
+                    "      extraBinder.rebind(target.superNavigationModel, defaults, previousExtras, extras);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public TestSuperActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    TestSuperActivityNavigationModel navigationModel = new TestSuperActivityNavigationModel();",
+                    "    extraBinder.bind(navigationModel, extras);",
+                    "    return navigationModel;",
+                    "  }",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestSuperActivityNavigationModel) navigationModel);",
                     "  }",
-                    "  public static void assign(TestSuperActivity target, TestSuperActivityNavigationModel navigationModel) {",
+                    "  public void assign(T target, TestSuperActivityNavigationModel navigationModel) {",
                     "    target.superNavigationModel = navigationModel;",
                     "  }",
                     "}"));
@@ -287,16 +590,28 @@ public class BindNavigationModelTest {
                     "}",
                     "class TestGrandParentActivityNavigationModel {",
                     "}",
-                    "class TestActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivityNavigationModel navigationModel, Object source) {",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}",
-                    "class TestParentActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestParentActivityNavigationModel navigationModel, Object source) {",
+                    "class TestParentActivityNavigationModel__ExtraBinder<T extends TestParentActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}",
-                    "class TestGrandParentActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestGrandParentActivityNavigationModel navigationModel, Object source) {",
+                    "class TestGrandParentActivityNavigationModel__ExtraBinder<T extends TestGrandParentActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}"));
 
@@ -308,15 +623,46 @@ public class BindNavigationModelTest {
                 .join(
                     "package test;",
                     "import dart.Dart;",
-                    "public class TestActivity__NavigationModelBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivity target) {",
-                    "    target.navigationModel = new TestActivityNavigationModel();",
-                    "    TestActivityNavigationModel__ExtraBinder.bind(finder, target.navigationModel, target);",
-                    "    TestParentActivity__NavigationModelBinder.assign(target, target.navigationModel);",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "public class TestActivity__NavigationModelBinder<T extends TestActivity> extends TestParentActivity__NavigationModelBinder<T> {",
+                    "  public static final TestActivity__NavigationModelBinder<?> INSTANCE = new TestActivity__NavigationModelBinder<>();",
+                    "  private final TestActivityNavigationModel__ExtraBinder<TestActivityNavigationModel> extraBinder = new TestActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    if (target.navigationModel == null) {",
+                    "      target.navigationModel = new TestActivityNavigationModel();",
+                    "      extraBinder.bind(target.navigationModel, finder.getExtras(target));",
+                    "    } else {",
+                    "      // Retained targets keep their navigation model, absent optional extras get back their value in a new one.",
+                    "      extraBinder.rebind(target.navigationModel, new TestActivityNavigationModel(), null, finder.getExtras(target));",
+                    "    }",
+                    "    super.assign(target, target.navigationModel);",
                     "  }",
-                    "  public static void assign(TestActivity target, TestActivityNavigationModel navigationModel) {",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (target.navigationModel == null) {",
+                    "      assign(target, createNavigationModel(extras));",
+                    "    } else {",
+                    "      // Removed optional extras get back their value in a new navigation model.",
+                    "      TestActivityNavigationModel defaults = Dart.isExtraRemoved(previousExtras, extras) ? new TestActivityNavigationModel() : null;",
+                    "      extraBinder.rebind(target.navigationModel, defaults, previousExtras, extras);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public TestActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    TestActivityNavigationModel navigationModel = new TestActivityNavigationModel();",
+                    "    extraBinder.bind(navigationModel, extras);",
+                    "    return navigationModel;",
+                    "  }",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestActivityNavigationModel) navigationModel);",
+                    "  }",
+                    "  public void assign(T target, TestActivityNavigationModel navigationModel) {",
                     "    target.navigationModel = navigationModel;",
-                    "    TestParentActivity__NavigationModelBinder.assign(target, navigationModel);",
+                    "    super.assign(target, navigationModel);",
                     "  }",
                     "}"));
 
@@ -328,15 +674,46 @@ public class BindNavigationModelTest {
                 .join(
                     "package test;",
                     "import dart.Dart;",
-                    "public class TestParentActivity__NavigationModelBinder {",
-                    "  public static void bind(Dart.Finder finder, TestParentActivity target) {",
-                    "    target.parentNavigationModel = new TestParentActivityNavigationModel();",
-                    "    TestParentActivityNavigationModel__ExtraBinder.bind(finder, target.parentNavigationModel, target);",
-                    "    TestGrandParentActivity__NavigationModelBinder.assign(target, target.parentNavigationModel);",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "public class TestParentActivity__NavigationModelBinder<T extends TestParentActivity> extends TestGrandParentActivity__NavigationModelBinder<T> {",
+                    "  public static final TestParentActivity__NavigationModelBinder<?> INSTANCE = new TestParentActivity__NavigationModelBinder<>();",
+                    "  private final TestParentActivityNavigationModel__ExtraBinder<TestParentActivityNavigationModel> extraBinder = new TestParentActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    if (target.parentNavigationModel == null) {",
+                    "      target.parentNavigationModel = new TestParentActivityNavigationModel();",
+                    "      extraBinder.bind(target.parentNavigationModel, finder.getExtras(target));",
+                    "    } else {",
+                    "      // Retained targets keep their navigation model, absent optional extras get back their value in a new one.",
+                    "      extraBinder.rebind(target.parentNavigationModel, new TestParentActivityNavigationModel(), null, finder.getExtras(target));",
+                    "    }",
+                    "    super.assign(target, target.parentNavigationModel);",
                     "  }",
-                    "  public static void assign(TestParentActivity target, TestParentActivityNavigationModel navigationModel) {",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (target.parentNavigationModel == null) {",
+                    "      assign(target, createNavigationModel(extras));",
+                    "    } else {",
+                    "      // Removed optional extras get back their value in a new navigation model.",
+                    "      TestParentActivityNavigationModel defaults = Dart.isExtraRemoved(previousExtras, extras) ? new TestParentActivityNavigationModel() : null;",
+                    "      extraBinder.rebind(target.parentNavigationModel, defaults, previousExtras, extras);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public TestParentActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    TestParentActivityNavigationModel navigationModel = new TestParentActivityNavigationModel();",
+                    "    extraBinder.bind(navigationModel, extras);",
+                    "    return navigationModel;",
+                    "  }",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestParentActivityNavigationModel) navigationModel);",
+                    "  }",
+                    "  public void assign(T target, TestParentActivityNavigationModel navigationModel) {",
                     "    target.parentNavigationModel = navigationModel;",
-                    "    TestGrandParentActivity__NavigationModelBinder.assign(target, navigationModel);",
+                    "    super.assign(target, navigationModel);",
                     "  }",
                     "}"));
 
@@ -349,12 +726,44 @@ public class BindNavigationModelTest {
                 .join(
                     "package test;",
                     "import dart.Dart;",
-                    "public class TestGrandParentActivity__NavigationModelBinder {",
-                    "  public static void bind(Dart.Finder finder, TestGrandParentActivity target) {",
-                    "    target.grandParentNavigationModel = new TestGrandParentActivityNavigationModel();",
-                    "    TestGrandParentActivityNavigationModel__ExtraBinder.bind(finder, target.grandParentNavigationModel, target);",
+                    "import dart.ExtraSource;",
+                    "import dart.NavigationModelBinder;",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "public class TestGrandParentActivity__NavigationModelBinder<T extends TestGrandParentActivity> implements NavigationModelBinder<T> {",
+                    "  public static final TestGrandParentActivity__NavigationModelBinder<?> INSTANCE = new TestGrandParentActivity__NavigationModelBinder<>();",
+                    "  private final TestGrandParentActivityNavigationModel__ExtraBinder<TestGrandParentActivityNavigationModel> extraBinder = new TestGrandParentActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    if (target.grandParentNavigationModel == null) {",
+                    "      target.grandParentNavigationModel = new TestGrandParentActivityNavigationModel();",
+                    "      extraBinder.bind(target.grandParentNavigationModel, finder.getExtras(target));",
+                    "    } else {",
+                    "      // Retained targets keep their navigation model, absent optional extras get back their value in a new one.",
+                    "      extraBinder.rebind(target.grandParentNavigationModel, new TestGrandParentActivityNavigationModel(), null, finder.getExtras(target));",
+                    "    }",
                     "  }",
-                    "  public static void assign(TestGrandParentActivity target, TestGrandParentActivityNavigationModel navigationModel) {",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (target.grandParentNavigationModel == null) {",
+                    "      assign(target, createNavigationModel(extras));",
+                    "    } else {",
+                    "      // Removed optional extras get back their value in a new navigation model.",
+                    "      TestGrandParentActivityNavigationModel defaults = Dart.isExtraRemoved(previousExtras, extras) ? new TestGrandParentActivityNavigationModel() : null;",
+                    "      extraBinder.rebind(target.grandParentNavigationModel, defaults, previousExtras, extras);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public TestGrandParentActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    TestGrandParentActivityNavigationModel navigationModel = new TestGrandParentActivityNavigationModel();",
+                    "    extraBinder.bind(navigationModel, extras);",
+                    "    return navigationModel;",
+                    "  }",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestGrandParentActivityNavigationModel) navigationModel);",
+                    "  }",
+                    "  public void assign(T target, TestGrandParentActivityNavigationModel navigationModel) {",
                     "    target.grandParentNavigationModel = navigationModel;",
                     "  }",
                     "}"));
@@ -414,12 +823,20 @@ public class BindNavigationModelTest {
                     "}",
                     "class TestSuperActivityNavigationModel {",
                     "}",
-                    "class TestActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivityNavigationModel navigationModel, Object source) {",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}",
-                    "class TestSuperActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestSuperActivityNavigationModel navigationModel, Object source) {",
+                    "class TestSuperActivityNavigationModel__ExtraBinder<T extends TestSuperActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}"));
 
@@ -430,15 +847,46 @@ public class BindNavigationModelTest {
                 .join(
                     "package test;",
                     "import dart.Dart;",
-                    "public class TestActivity__NavigationModelBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivity target) {",
-                    "    target.navigationModel = new TestActivityNavigationModel();",
-                    "    TestActivityNavigationModel__ExtraBinder.bind(finder, target.navigationModel, target);",
-                    "    TestSuperActivity__NavigationModelBinder.assign(target, target.navigationModel);",
+                    "import dart.ExtraSource;",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "public class TestActivity__NavigationModelBinder<T extends TestActivity> extends TestSuperActivity__NavigationModelBinder<T> {",
+                    "  public static final TestActivity__NavigationModelBinder<?> INSTANCE = new TestActivity__NavigationModelBinder<>();",
+                    "  private final TestActivityNavigationModel__ExtraBinder<TestActivityNavigationModel> extraBinder = new TestActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    if (target.navigationModel == null) {",
+                    "      target.navigationModel = new TestActivityNavigationModel();",
+                    "      extraBinder.bind(target.navigationModel, finder.getExtras(target));",
+                    "    } else {",
+                    "      // Retained targets keep their navigation model, absent optional extras get back their value in a new one.",
+                    "      extraBinder.rebind(target.navigationModel, new TestActivityNavigationModel(), null, finder.getExtras(target));",
+                    "    }",
+                    "    super.assign(target, target.navigationModel);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (target.navigationModel == null) {",
+                    "      assign(target, createNavigationModel(extras));",
+                    "    } else {",
+                    "      // Removed optional extras get back their value in a new navigation model.",
+                    "      TestActivityNavigationModel defaults = Dart.isExtraRemoved(previousExtras, extras) ? new TestActivityNavigationModel() : null;",
+                    "      extraBinder.rebind(target.navigationModel, defaults, previousExtras, extras);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public TestActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    TestActivityNavigationModel navigationModel = new TestActivityNavigationModel();",
+                    "    extraBinder.bind(navigationModel, extras);",
+                    "    return navigationModel;",
+                    "  }",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestActivityNavigationModel) navigationModel);",
                     "  }",
-                    "  public static void assign(TestActivity target, TestActivityNavigationModel navigationModel) {",
+                    "  public void assign(T target, TestActivityNavigationModel navigationModel) {",
                     "    target.navigationModel = navigationModel;",
-                    "    TestSuperActivity__NavigationModelBinder.assign(target, navigationModel);",
+                    "    super.assign(target, navigationModel);",
                     "  }",
                     "}"));
 
@@ -449,12 +897,44 @@ public class BindNavigationModelTest {
                 .join(
                     "package test;",
                     "import dart.Dart;",
-                    "public class TestSuperActivity__NavigationModelBinder {",
-                    "  public static void bind(Dart.Finder finder, TestSuperActivity target) {",
-                    "    target.superNavigationModel = new TestSuperActivityNavigationModel();",
-                    "    TestSuperActivityNavigationModel__ExtraBinder.bind(finder, target.superNavigationModel, target);",
+                    "import dart.ExtraSource;",
+                    "import dart.NavigationModelBinder;",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "public class TestSuperActivity__NavigationModelBinder<T extends TestSuperActivity> implements NavigationModelBinder<T> {",
+                    "  public static final TestSuperActivity__NavigationModelBinder<?> INSTANCE = new TestSuperActivity__NavigationModelBinder<>();",
+                    "  private final TestSuperActivityNavigationModel__ExtraBinder<TestSuperActivityNavigationModel> extraBinder = new TestSuperActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    if (target.superNavigationModel == null) {",
+                    "      target.superNavigationModel = new TestSuperActivityNavigationModel();",
+                    "      extraBinder.bind(target.superNavigationModel, finder.getExtras(target));",
+                    "    } else {",
+                    "      // Retained targets keep their navigation model, absent optional extras get back their value in a new one.",
+                    "      extraBinder.rebind(target.superNavigationModel, new TestSuperActivityNavigationModel(), null, finder.getExtras(target));",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (target.superNavigationModel == null) {",
+                    "      assign(target, createNavigationModel(extras));",
+                    "    } else {",
+                    "      // Removed optional extras get back their value in a new navigation model.",
+                    "      TestSuperActivityNavigationModel defaults = Dart.isExtraRemoved(previousExtras, extras) ? new TestSuperActivityNavigationModel() : null;",
+                    "      extraBinder.rebind(target.superNavigationModel, defaults, previousExtras, extras);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public TestSuperActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    TestSuperActivityNavigationModel navigationModel = new TestSuperActivityNavigationModel();",
+                    "    extraBinder.bind(navigationModel, extras);",
+                    "    return navigationModel;",
+                    "  }",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestSuperActivityNavigationModel) navigationModel);",
                     "  }",
-                    "  public static void assign(TestSuperActivity target, TestSuperActivityNavigationModel navigationModel) {",
+                    "  public void assign(T target, TestSuperActivityNavigationModel navigationModel) {",
                     "    target.superNavigationModel = navigationModel;",
                     "  }",
                     "}"));
@@ -487,8 +967,12 @@ public class BindNavigationModelTest {
                     "}",
                     "class TestActivityNavigationModel extends ActivityWithNavigationModelFieldNavigationModel {",
                     "}",
-                    "class TestActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivityNavigationModel navigationModel, Object source) {",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}"));
 
@@ -499,16 +983,47 @@ public class BindNavigationModelTest {
                 .join(
                     "package test;",
                     "import dart.Dart;",
+                    "import dart.ExtraSource;",
                     "import dart.processor.data.ActivityWithNavigationModelField__NavigationModelBinder;",
-                    "public class TestActivity__NavigationModelBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivity target) {",
-                    "    target.navigationModel = new TestActivityNavigationModel();",
-                    "    TestActivityNavigationModel__ExtraBinder.bind(finder, target.navigationModel, target);",
-                    "    ActivityWithNavigationModelField__NavigationModelBinder.assign(target, target.navigationModel);",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "public class TestActivity__NavigationModelBinder<T extends TestActivity> extends ActivityWithNavigationModelField__NavigationModelBinder<T> {",
+                    "  public static final TestActivity__NavigationModelBinder<?> INSTANCE = new TestActivity__NavigationModelBinder<>();",
+                    "  private final TestActivityNavigationModel__ExtraBinder<TestActivityNavigationModel> extraBinder = new TestActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    if (target.navigationModel == null) {",
+                    "      target.navigationModel = new TestActivityNavigationModel();",
+                    "      extraBinder.bind(target.navigationModel, finder.getExtras(target));",
+                    "    } else {",
+                    "      // Retained targets keep their navigation model, absent optional extras get back their value in a new one.",
+                    "      extraBinder.rebind(target.navigationModel, new TestActivityNavigationModel(), null, finder.getExtras(target));",
+                    "    }",
+                    "    super.assign(target, target.navigationModel);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (target.navigationModel == null) {",
+                    "      assign(target, createNavigationModel(extras));",
+                    "    } else {",
+                    "      // Removed optional extras get back their value in a new navigation model.",
+                    "      TestActivityNavigationModel defaults = Dart.isExtraRemoved(previousExtras, extras) ? new TestActivityNavigationModel() : null;",
+                    "      extraBinder.rebind(target.navigationModel, defaults, previousExtras, extras);",
+                    "    }",
                     "  }",
-                    "  public static void assign(TestActivity target, TestActivityNavigationModel navigationModel) {",
+                    "  @Override",
+                    "  public TestActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    TestActivityNavigationModel navigationModel = new TestActivityNavigationModel();",
+                    "    extraBinder.bind(navigationModel, extras);",
+                    "    return navigationModel;",
+                    "  }",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestActivityNavigationModel) navigationModel);",
+                    "  }",
+                    "  public void assign(T target, TestActivityNavigationModel navigationModel) {",
                     "    target.navigationModel = navigationModel;",
-                    "    ActivityWithNavigationModelField__NavigationModelBinder.assign(target, navigationModel);",
+                    "    super.assign(target, navigationModel);",
                     "  }",
                     "}"));
 
@@ -537,8 +1052,12 @@ public class BindNavigationModelTest {
                     "}",
                     "class TestActivityNavigationModel extends ActivityWithNavigationModelFieldNavigationModel {",
                     "}",
-                    "class TestActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivityNavigationModel navigationModel, Object source) {",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}"));
 
@@ -549,16 +1068,47 @@ public class BindNavigationModelTest {
                 .join(
                     "package test;",
                     "import dart.Dart;",
+                    "import dart.ExtraSource;",
                     "import dart.processor.data.ActivityWithNavigationModelField__NavigationModelBinder;",
-                    "public class TestActivity__NavigationModelBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivity target) {",
-                    "    target.navigationModel = new TestActivityNavigationModel();",
-                    "    TestActivityNavigationModel__ExtraBinder.bind(finder, target.navigationModel, target);",
-                    "    ActivityWithNavigationModelField__NavigationModelBinder.assign(target, target.navigationModel);",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "public class TestActivity__NavigationModelBinder<T extends TestActivity> extends ActivityWithNavigationModelField__NavigationModelBinder<T> {",
+                    "  public static final TestActivity__NavigationModelBinder<?> INSTANCE = new TestActivity__NavigationModelBinder<>();",
+                    "  private final TestActivityNavigationModel__ExtraBinder<TestActivityNavigationModel> extraBinder = new TestActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    if (target.navigationModel == null) {",
+                    "      target.navigationModel = new TestActivityNavigationModel();",
+                    "      extraBinder.bind(target.navigationModel, finder.getExtras(target));",
+                    "    } else {",
+                    "      // Retained targets keep their navigation model, absent optional extras get back their value in a new one.",
+                    "      extraBinder.rebind(target.navigationModel, new TestActivityNavigationModel(), null, finder.getExtras(target));",
+                    "    }",
+                    "    super.assign(target, target.navigationModel);",
+                    "  }",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (target.navigationModel == null) {",
+                    "      assign(target, createNavigationModel(extras));",
+                    "    } else {",
+                    "      // Removed optional extras get back their value in a new navigation model.",
+                    "      TestActivityNavigationModel defaults = Dart.isExtraRemoved(previousExtras, extras) ? new TestActivityNavigationModel() : null;",
+                    "      extraBinder.rebind(target.navigationModel, defaults, previousExtras, extras);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public TestActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    TestActivityNavigationModel navigationModel = new TestActivityNavigationModel();",
+                    "    extraBinder.bind(navigationModel, extras);",
+                    "    return navigationModel;",
                     "  }",
-                    "  public static void assign(TestActivity target, TestActivityNavigationModel navigationModel) {",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestActivityNavigationModel) navigationModel);",
+                    "  }",
+                    "  public void assign(T target, TestActivityNavigationModel navigationModel) {",
                     "    target.navigationModel = navigationModel;",
-                    "    ActivityWithNavigationModelField__NavigationModelBinder.assign(target, navigationModel);",
+                    "    super.assign(target, navigationModel);",
                     "  }",
                     "}"));
 
@@ -587,8 +1137,12 @@ public class BindNavigationModelTest {
                     "}",
                     "class TestActivityNavigationModel extends SubActivityWithNavigationModelFieldNavigationModel {",
                     "}",
-                    "class TestActivityNavigationModel__ExtraBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivityNavigationModel navigationModel, Object source) {",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
                     "  }",
                     "}"));
 
@@ -599,16 +1153,47 @@ public class BindNavigationModelTest {
                 .join(
                     "package test;",
                     "import dart.Dart;",
+                    "import dart.ExtraSource;",
                     "import dart.processor.data.SubActivityWithNavigationModelField__NavigationModelBinder;",
-                    "public class TestActivity__NavigationModelBinder {",
-                    "  public static void bind(Dart.Finder finder, TestActivity target) {",
-                    "    target.navigationModel = new TestActivityNavigationModel();",
-                    "    TestActivityNavigationModel__ExtraBinder.bind(finder, target.navigationModel, target);",
-                    "    SubActivityWithNavigationModelField__NavigationModelBinder.assign(target, target.navigationModel);",
+                    "import java.lang.Object;",
+                    "import java.lang.Override;",
+                    "public class TestActivity__NavigationModelBinder<T extends TestActivity> extends SubActivityWithNavigationModelField__NavigationModelBinder<T> {",
+                    "  public static final TestActivity__NavigationModelBinder<?> INSTANCE = new TestActivity__NavigationModelBinder<>();",
+                    "  private final TestActivityNavigationModel__ExtraBinder<TestActivityNavigationModel> extraBinder = new TestActivityNavigationModel__ExtraBinder<>();",
+                    "  @Override",
+                    "  public void bind(Dart.Finder finder, T target) {",
+                    "    if (target.navigationModel == null) {",
+                    "      target.navigationModel = new TestActivityNavigationModel();",
+                    "      extraBinder.bind(target.navigationModel, finder.getExtras(target));",
+                    "    } else {",
+                    "      // Retained targets keep their navigation model, absent optional extras get back their value in a new one.",
+                    "      extraBinder.rebind(target.navigationModel, new TestActivityNavigationModel(), null, finder.getExtras(target));",
+                    "    }",
+                    "    super.assign(target, target.navigationModel);",
                     "  }",
-                    "  public static void assign(TestActivity target, TestActivityNavigationModel navigationModel) {",
+                    "  @Override",
+                    "  public void rebind(T target, ExtraSource previousExtras, ExtraSource extras) {",
+                    "    if (target.navigationModel == null) {",
+                    "      assign(target, createNavigationModel(extras));",
+                    "    } else {",
+                    "      // Removed optional extras get back their value in a new navigation model.",
+                    "      TestActivityNavigationModel defaults = Dart.isExtraRemoved(previousExtras, extras) ? new TestActivityNavigationModel() : null;",
+                    "      extraBinder.rebind(target.navigationModel, defaults, previousExtras, extras);",
+                    "    }",
+                    "  }",
+                    "  @Override",
+                    "  public TestActivityNavigationModel createNavigationModel(ExtraSource extras) {",
+                    "    TestActivityNavigationModel navigationModel = new TestActivityNavigationModel();",
+                    "    extraBinder.bind(navigationModel, extras);",
+                    "    return navigationModel;",
+                    "  }",
+                    "  @Override",
+                    "  public void assignNavigationModel(T target, Object navigationModel) {",
+                    "    assign(target, (TestActivityNavigationModel) navigationModel);",
+                    "  }",
+                    "  public void assign(T target, TestActivityNavigationModel navigationModel) {",
                     "    target.navigationModel = navigationModel;",
-                    "    SubActivityWithNavigationModelField__NavigationModelBinder.assign(target, navigationModel);",
+                    "    super.assign(target, navigationModel);",
                     "  }",
                     "}"));
 
@@ -618,4 +1203,158 @@ public class BindNavigationModelTest {
         .generatedSourceFile("test/TestActivity__NavigationModelBinder")
         .hasSourceEquivalentTo(binderSource1);
   }
+
+  @Test
+  public void registry() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestActivity",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.DartModel;",
+                    "import dart.Dart;",
+                    "import java.lang.Object;",
+                    "public class TestActivity {",
+                    "  @DartModel TestActivityNavigationModel navigationModel;",
+                    "}",
+                    "class TestActivityNavigationModel {",
+                    "}",
+                    "class TestActivityNavigationModel__ExtraBinder<T extends TestActivityNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
+                    "  }",
+                    "}"));
+
+    String registryQualifiedName = "test.NavigationModelBinderRegistry";
+    JavaFileObject expectedSource =
+        JavaFileObjects.forSourceString(
+            registryQualifiedName,
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.BinderRegistry;",
+                    "import dart.ExtraStateSaver;",
+                    "import dart.NavigationModelBinder;",
+                    "import java.lang.Class;",
+                    "import java.lang.Override;",
+                    "public final class NavigationModelBinderRegistry implements BinderRegistry {",
+                    "  @Override",
+                    "  public ExtraStateSaver<?> getExtraBinder(Class<?> navigationModelClass) {",
+                    "    return null;",
+                    "  }",
+                    "  @Override",
+                    "  public NavigationModelBinder<?> getNavigationModelBinder(Class<?> targetClass) {",
+                    "    switch (targetClass.getName()) {",
+                    "      case \"test.TestActivity\":",
+                    "        return targetClass == TestActivity.class ? TestActivity__NavigationModelBinder.INSTANCE : null;",
+                    "      default:",
+                    "        return null;",
+                    "    }",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac()
+            .withProcessors(navigationModelBinderProcessors())
+            .withOptions("-Adart.registry.package=test")
+            .compile(source);
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation)
+        .generatedSourceFile(registryQualifiedName)
+        .hasSourceEquivalentTo(expectedSource);
+  }
+
+  @Test
+  public void fragmentInstantiator() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestFragment",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.DartModel;",
+                    "public class TestFragment extends android.app.Fragment {",
+                    "  @DartModel TestFragmentNavigationModel navigationModel;",
+                    "}",
+                    "class TestFragmentNavigationModel {",
+                    "}",
+                    "class TestFragmentNavigationModel__ExtraBinder<T extends TestFragmentNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
+                    "  }",
+                    "}"));
+
+    String instantiatorQualifiedName = "test.FragmentInstantiator";
+    JavaFileObject expectedSource =
+        JavaFileObjects.forSourceString(
+            instantiatorQualifiedName,
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import android.app.Fragment;",
+                    "import android.os.Bundle;",
+                    "import dart.Dart;",
+                    "import java.lang.String;",
+                    "public final class FragmentInstantiator {",
+                    "  private FragmentInstantiator() {",
+                    "  }",
+                    "  public static Fragment instantiate(String className, Bundle arguments) {",
+                    "    final Fragment fragment;",
+                    "    if (className.equals(TestFragment.class.getName())) {",
+                    "      fragment = new TestFragment();",
+                    "    } else {",
+                    "      return null;",
+                    "    }",
+                    "    fragment.setArguments(arguments);",
+                    "    Dart.bind(fragment);",
+                    "    return fragment;",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac()
+            .withProcessors(navigationModelBinderProcessors())
+            .withOptions("-Adart.registry.package=test")
+            .compile(source);
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation)
+        .generatedSourceFile(instantiatorQualifiedName)
+        .hasSourceEquivalentTo(expectedSource);
+  }
+
+  @Test
+  public void fragmentInstantiatorRequiresRegistryPackage() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.TestFragment",
+            Joiner.on('\n')
+                .join(
+                    "package test;",
+                    "import dart.DartModel;",
+                    "public class TestFragment extends android.app.Fragment {",
+                    "  @DartModel TestFragmentNavigationModel navigationModel;",
+                    "}",
+                    "class TestFragmentNavigationModel {",
+                    "}",
+                    "class TestFragmentNavigationModel__ExtraBinder<T extends TestFragmentNavigationModel> implements dart.ExtraBinder<T> {",
+                    "  public void bind(T navigationModel, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void rebind(T navigationModel, T defaults, dart.ExtraSource previousExtras, dart.ExtraSource extras) {",
+                    "  }",
+                    "  public void saveState(T navigationModel, android.os.Bundle outState) {",
+                    "  }",
+                    "}"));
+
+    Compilation compilation =
+        javac().withProcessors(navigationModelBinderProcessors()).compile(source);
+    assertThat(compilation).succeeded();
+    assertFalse(compilation.generatedSourceFile("test.FragmentInstantiator").isPresent());
+  }
 }
@@ -17,8 +17,18 @@
 
 package dart.processor;
 
+import com.google.common.io.ByteStreams;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
+import javax.tools.JavaFileObject;
 
 final class ProcessorTestUtilities {
   static ExtraBinderProcessor extraBinderProcessors() {
@@ -35,6 +45,41 @@ final class ProcessorTestUtilities {
     return new NavigationModelBinderProcessor();
   }
 
+  /** The android jar the tests compile against predates {@code android.os.Trace}. */
+  static JavaFileObject traceSource() {
+    return JavaFileObjects.forSourceLines(
+        "android.os.Trace",
+        "package android.os;",
+        "public final class Trace {",
+        "  public static void beginSection(String sectionName) {}",
+        "  public static void endSection() {}",
+        "}");
+  }
+
+  /**
+   * Writes the classes compiled by {@code compilation} to a directory, to compile other sources
+   * against them like against another module.
+   *
+   * @return a classpath made of this directory and the classpath of the tests.
+   */
+  static String classpathOf(Compilation compilation) throws IOException {
+    final File directory = Files.createTempDirectory("classes").toFile();
+    for (JavaFileObject file : compilation.generatedFiles()) {
+      if (file.getKind() != JavaFileObject.Kind.CLASS) {
+        continue;
+      }
+      final String path = file.toUri().getPath();
+      final File classFile =
+          new File(directory, path.substring(path.indexOf("CLASS_OUTPUT/") + 13));
+      classFile.getParentFile().mkdirs();
+      try (InputStream input = file.openInputStream();
+          OutputStream output = new FileOutputStream(classFile)) {
+        ByteStreams.copy(input, output);
+      }
+    }
+    return directory + File.pathSeparator + System.getProperty("java.class.path");
+  }
+
   static TypeElement getMostEnclosingElement(Element element) {
     if (element == null) {
       return null;
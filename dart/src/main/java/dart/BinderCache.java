@@ -0,0 +1,102 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dart;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the binders of classes, which are looked up from any thread.
+ *
+ * <p>Classes loaded by the class loader of Dart or one of its parents can't be unloaded before Dart
+ * is, their binders are cached strongly. Classes loaded by other class loaders, like the ones of
+ * dynamic feature modules, are cached weakly: a binder references its class loader, holding it
+ * strongly would prevent the class loader from ever being collected. Generated binders are held
+ * strongly by a static field of their class, which their class loader holds, so they stay cached
+ * until their class loader is collected. Other binders are looked up again once collected.
+ *
+ * @param <B> the type of binders.
+ */
+final class BinderCache<B> {
+  private final ConcurrentMap<Class<?>, B> binders = new ConcurrentHashMap<>();
+  // Guarded by itself.
+  private final Map<Class<?>, WeakReference<B>> foreignBinders = new WeakHashMap<>();
+
+  /** @return the binder cached for {@code cls}, or null if there is none. */
+  B get(Class<?> cls) {
+    if (isLocal(cls)) {
+      return binders.get(cls);
+    }
+    synchronized (foreignBinders) {
+      WeakReference<B> reference = foreignBinders.get(cls);
+      return reference == null ? null : reference.get();
+    }
+  }
+
+  /**
+   * Caches {@code binder} for {@code cls} unless a binder is already cached for it.
+   *
+   * @return the binder cached for {@code cls}, which concurrent lookups all return.
+   */
+  B putIfAbsent(Class<?> cls, B binder) {
+    if (isLocal(cls)) {
+      B cached = binders.putIfAbsent(cls, binder);
+      return cached != null ? cached : binder;
+    }
+    synchronized (foreignBinders) {
+      WeakReference<B> reference = foreignBinders.get(cls);
+      B cached = reference == null ? null : reference.get();
+      if (cached != null) {
+        return cached;
+      }
+      foreignBinders.put(cls, new WeakReference<>(binder));
+      return binder;
+    }
+  }
+
+  void clear() {
+    binders.clear();
+    synchronized (foreignBinders) {
+      foreignBinders.clear();
+    }
+  }
+
+  boolean isEmpty() {
+    synchronized (foreignBinders) {
+      return binders.isEmpty() && foreignBinders.isEmpty();
+    }
+  }
+
+  /** @return true if {@code cls} can't be unloaded while Dart is loaded. */
+  static boolean isLocal(Class<?> cls) {
+    ClassLoader classLoader = cls.getClassLoader();
+    if (classLoader == null) {
+      return true;
+    }
+    for (ClassLoader local = BinderCache.class.getClassLoader();
+        local != null;
+        local = local.getParent()) {
+      if (local == classLoader) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
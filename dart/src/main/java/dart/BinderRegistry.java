@@ -0,0 +1,42 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dart;
+
+/**
+ * Maps binding targets to the binders generated for them. An implementation is generated for each
+ * module compiled with the {@code dart.registry.package} processor option, and is installed using
+ * {@link Dart#addRegistry(BinderRegistry)}. {@link Dart} consults registries before it falls back
+ * to looking up binders by name. Installed registries are held until they are removed using {@link
+ * Dart#removeRegistry(BinderRegistry)}, along with the class loader of their module.
+ */
+public interface BinderRegistry {
+  /**
+   * @param navigationModelClass a navigation model class.
+   * @return the {@link Dart#BINDER_INSTANCE_FIELD instance} of the extra binder generated for
+   *     {@code navigationModelClass}, an {@link ExtraBinder} or an {@link ImmutableExtraBinder}, or
+   *     null if this registry doesn't know about it.
+   */
+  ExtraStateSaver<?> getExtraBinder(Class<?> navigationModelClass);
+
+  /**
+   * @param targetClass an activity, service or fragment class.
+   * @return the {@link Dart#BINDER_INSTANCE_FIELD instance} of the navigation model binder
+   *     generated for {@code targetClass}, or null if this registry doesn't know about it.
+   */
+  NavigationModelBinder<?> getNavigationModelBinder(Class<?> targetClass);
+}
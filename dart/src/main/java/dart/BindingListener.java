@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dart;
+
+/**
+ * Receives metrics about the bindings performed by {@link Dart}. Install it using {@link
+ * Dart#setBindingListener(BindingListener)}. Callbacks are made synchronously on the thread that
+ * binds, they should return quickly. When no listener is installed, bindings are not measured.
+ */
+public interface BindingListener {
+
+  /** How the binder of a class was found. */
+  enum Lookup {
+    /** The binder was found in the cache. */
+    HIT,
+    /** The binder was not cached and had to be resolved, using a registry or by class name. */
+    MISS,
+    /** The class was found in the cache as having no binder. */
+    NEGATIVE_HIT
+  }
+
+  /**
+   * Called after the binder of a class was looked up.
+   *
+   * @param targetClass the class of the bound navigation model, activity or fragment.
+   * @param lookup how the binder was found.
+   * @param lookupNanos the duration of the lookup, in nanoseconds.
+   */
+  void onBinderLookup(Class<?> targetClass, Lookup lookup, long lookupNanos);
+
+  /**
+   * Called when an extra is bound to a navigation model. Lazy extras are reported when their holder
+   * is installed, before they are decoded.
+   *
+   * @param navigationModelClass the class of the navigation model.
+   * @param key the key of the extra.
+   * @param parceler true if the extra is decoded through Parceler.
+   */
+  void onExtraBound(Class<?> navigationModelClass, String key, boolean parceler);
+
+  /**
+   * Called after a class was bound. Not called for classes that have no binder.
+   *
+   * @param targetClass the class of the bound navigation model, activity or fragment.
+   * @param extrasBound the number of extras that were bound.
+   * @param bindNanos the duration of the binding, including getting the extras of the source, in
+   *     nanoseconds.
+   */
+  void onBind(Class<?> targetClass, int extrasBound, long bindNanos);
+}
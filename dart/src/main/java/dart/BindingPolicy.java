@@ -0,0 +1,218 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dart;
+
+import android.os.Parcel;
+import android.util.Log;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects expensive extras bound on the main thread, in the spirit of {@link
+ * android.os.StrictMode}. Install it using {@link Dart#setBindingPolicy(BindingPolicy)}, typically
+ * in debug builds only:
+ *
+ * <pre><code>
+ * Dart.setBindingPolicy(new BindingPolicy.Builder()
+ *     .detectDecodeTime(8, TimeUnit.MILLISECONDS)
+ *     .detectSerializedSize(100 * 1024)
+ *     .detectParceler()
+ *     .penaltyLog()
+ *     .build());
+ * </code></pre>
+ *
+ * <p>Extras are measured as they are bound by the generated binders, only while a policy is
+ * installed and only for bindings performed on the main thread. Lazy extras are measured when their
+ * holder is installed, before they are decoded.
+ */
+public final class BindingPolicy {
+  private static final String TAG = "Dart";
+
+  /** Receives the violations of a policy built with {@link Builder#penaltyListener}. */
+  public interface OnViolationListener {
+    void onViolation(Violation violation);
+  }
+
+  /** An extra that crossed a threshold of the policy while being bound on the main thread. */
+  public static final class Violation extends RuntimeException {
+    private final Class<?> navigationModelClass;
+    private final String key;
+
+    Violation(Class<?> navigationModelClass, String key, String message) {
+      super(message);
+      this.navigationModelClass = navigationModelClass;
+      this.key = key;
+    }
+
+    /** @return the class of the navigation model the extra was bound to. */
+    public Class<?> getNavigationModelClass() {
+      return navigationModelClass;
+    }
+
+    /** @return the key of the extra. */
+    public String getKey() {
+      return key;
+    }
+  }
+
+  /** Creates {@link BindingPolicy} instances. Without any penalty, violations are logged. */
+  public static final class Builder {
+    private long maxDecodeNanos = -1;
+    private int maxSerializedSize = -1;
+    private boolean detectParceler;
+    private boolean penaltyLog;
+    private boolean penaltyDeath;
+    private OnViolationListener penaltyListener;
+
+    /** Detect extras that take longer than {@code duration} to be read, cast and unwrapped. */
+    public Builder detectDecodeTime(long duration, TimeUnit unit) {
+      maxDecodeNanos = unit.toNanos(duration);
+      return this;
+    }
+
+    /**
+     * Detect extras whose value takes more than {@code bytes} once written to a {@link Parcel}.
+     * Writing the value is costly, this measurement should only be enabled while debugging.
+     */
+    public Builder detectSerializedSize(int bytes) {
+      maxSerializedSize = bytes;
+      return this;
+    }
+
+    /** Detect extras decoded through Parceler. */
+    public Builder detectParceler() {
+      detectParceler = true;
+      return this;
+    }
+
+    /** Log violations, with the stack trace of the binding. */
+    public Builder penaltyLog() {
+      penaltyLog = true;
+      return this;
+    }
+
+    /** Throw violations from the binding, after any other penalty. */
+    public Builder penaltyDeath() {
+      penaltyDeath = true;
+      return this;
+    }
+
+    /** Report violations to {@code listener}. */
+    public Builder penaltyListener(OnViolationListener listener) {
+      if (listener == null) {
+        throw new NullPointerException("listener == null");
+      }
+      penaltyListener = listener;
+      return this;
+    }
+
+    public BindingPolicy build() {
+      return new BindingPolicy(this);
+    }
+  }
+
+  private final long maxDecodeNanos;
+  private final int maxSerializedSize;
+  private final boolean detectParceler;
+  private final boolean penaltyLog;
+  private final boolean penaltyDeath;
+  private final OnViolationListener penaltyListener;
+
+  private BindingPolicy(Builder builder) {
+    maxDecodeNanos = builder.maxDecodeNanos;
+    maxSerializedSize = builder.maxSerializedSize;
+    detectParceler = builder.detectParceler;
+    penaltyDeath = builder.penaltyDeath;
+    penaltyListener = builder.penaltyListener;
+    penaltyLog = builder.penaltyLog || (!penaltyDeath && penaltyListener == null);
+  }
+
+  /** @return true if the serialized size of the extras must be measured. */
+  boolean detectsSerializedSize() {
+    return maxSerializedSize >= 0;
+  }
+
+  /**
+   * Checks an extra that was just bound on the main thread.
+   *
+   * @param extras the extras being bound, or null if the serialized size is not detected.
+   * @param decodeNanos the time it took to read, cast and unwrap the extra.
+   */
+  void onExtraBound(
+      Class<?> navigationModelClass,
+      String key,
+      boolean parceler,
+      ExtraSource extras,
+      long decodeNanos) {
+    if (maxDecodeNanos >= 0 && decodeNanos > maxDecodeNanos) {
+      onViolation(
+          navigationModelClass,
+          key,
+          "took "
+              + TimeUnit.NANOSECONDS.toMicros(decodeNanos)
+              + "us to decode, over "
+              + TimeUnit.NANOSECONDS.toMicros(maxDecodeNanos)
+              + "us");
+    }
+    if (maxSerializedSize >= 0 && extras != null) {
+      int size = getSerializedSize(extras.get(key));
+      if (size > maxSerializedSize) {
+        onViolation(
+            navigationModelClass,
+            key,
+            "takes " + size + " bytes once serialized, over " + maxSerializedSize + " bytes");
+      }
+    }
+    if (detectParceler && parceler) {
+      onViolation(navigationModelClass, key, "is decoded through Parceler");
+    }
+  }
+
+  private void onViolation(Class<?> navigationModelClass, String key, String description) {
+    Violation violation =
+        new Violation(
+            navigationModelClass,
+            key,
+            "Extra '"
+                + key
+                + "' of "
+                + navigationModelClass.getName()
+                + " bound on the main thread "
+                + description);
+    if (penaltyLog) {
+      Log.w(TAG, violation.getMessage(), violation);
+    }
+    if (penaltyListener != null) {
+      penaltyListener.onViolation(violation);
+    }
+    if (penaltyDeath) {
+      throw violation;
+    }
+  }
+
+  private static int getSerializedSize(Object value) {
+    Parcel parcel = Parcel.obtain();
+    try {
+      parcel.writeValue(value);
+      return parcel.dataSize();
+    } catch (RuntimeException e) {
+      // Values of an ExtraSource that can't be written to a parcel never cross a process boundary.
+      return 0;
+    } finally {
+      parcel.recycle();
+    }
+  }
+}
@@ -21,12 +21,26 @@ import static dart.common.util.NavigationModelBindingTargetUtil.NAVIGATION_MODEL
 
 import android.app.Activity;
 import android.app.Fragment;
+import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Looper;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.util.Log;
-import java.lang.reflect.Method;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import android.util.SparseArray;
+import dart.BindingListener.Lookup;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * Extra binding utilities. Use this class to simplify getting extras.
@@ -64,12 +78,43 @@ import java.util.Map;
  */
 public class Dart {
   public static final String EXTRA_BINDER_SUFFIX = "__ExtraBinder";
+  /**
+   * Name of the static field holding the instance of a generated binder, which lives as long as the
+   * class loader of its class. Exposed for use only by generated code.
+   */
+  public static final String BINDER_INSTANCE_FIELD = "INSTANCE";
 
-  static final Map<Class<?>, Method> EXTRA_BINDERS = new LinkedHashMap<>();
-  static final Map<Class<?>, Method> NAVIGATION_MODEL_BINDERS = new LinkedHashMap<>();
-  static final Method NO_OP = null;
+  static final String STATE_KEY = "dart.NavigationModel";
+
+  // Classes without a binder are cached as NO_OP.
+  static final BinderCache<ExtraStateSaver<Object>> EXTRA_BINDERS = new BinderCache<>();
+  static final BinderCache<NavigationModelBinder<Object>> NAVIGATION_MODEL_BINDERS =
+      new BinderCache<>();
+  static final NoOpBinder NO_OP = new NoOpBinder();
+  static final List<BinderRegistry> REGISTRIES = new CopyOnWriteArrayList<>();
   private static final String TAG = "Dart";
   private static boolean debug = false;
+  private static volatile BindingListener bindingListener;
+  private static volatile BindingPolicy bindingPolicy;
+  static final Clock SYSTEM_CLOCK =
+      new Clock() {
+        @Override
+        public long nanoTime() {
+          return System.nanoTime();
+        }
+      };
+  // Measures the decode times checked against the binding policy. Replaced by tests.
+  static volatile Clock policyClock = SYSTEM_CLOCK;
+  // The policy check of the innermost binding in progress on each thread.
+  private static final ThreadLocal<PolicyCheck> POLICY_CHECK = new ThreadLocal<>();
+  // Counts the extras bound on each thread, only used while a listener is installed.
+  private static final ThreadLocal<int[]> EXTRAS_BOUND =
+      new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+          return new int[1];
+        }
+      };
 
   private Dart() {
     // No instances.
@@ -80,6 +125,95 @@ public class Dart {
     Dart.debug = debug;
   }
 
+  /**
+   * Install a listener that receives the lookup and binding metrics of every binding, or remove it
+   * using null. Bindings are not measured while no listener is installed.
+   */
+  public static void setBindingListener(BindingListener listener) {
+    bindingListener = listener;
+  }
+
+  /**
+   * Install a policy that detects expensive extras bound on the main thread, or remove it using
+   * null. Extras are not measured while no policy is installed.
+   */
+  public static void setBindingPolicy(BindingPolicy policy) {
+    bindingPolicy = policy;
+  }
+
+  /**
+   * Read the extras that Henson spilled to the cache directory of {@code context}, see {@code
+   * dart.henson.ExtraSpillover}, or stop reading them using null. Until then, spilled extras are
+   * bound as the handle Henson put in their place.
+   */
+  public static void setSpilledExtrasContext(Context context) {
+    SpilledExtras.install(context == null ? null : context.getApplicationContext());
+  }
+
+  /**
+   * Install a registry of generated binders. Binders listed in a registry are found without loading
+   * classes by name, which is considerably cheaper when no binder exists for a class.
+   *
+   * @param registry a registry generated using the {@code dart.registry.package} option.
+   */
+  public static void addRegistry(BinderRegistry registry) {
+    if (registry == null) {
+      throw new NullPointerException("registry == null");
+    }
+    REGISTRIES.add(registry);
+  }
+
+  /**
+   * Uninstall a registry added using {@link #addRegistry(BinderRegistry)}. Registries hold the
+   * class loader of their module, remove the registries of a dynamic feature module so that its
+   * class loader can be collected once it is no longer used.
+   *
+   * @return true if {@code registry} was installed.
+   */
+  public static boolean removeRegistry(BinderRegistry registry) {
+    return REGISTRIES.remove(registry);
+  }
+
+  /**
+   * Resolve and cache the binders of the given classes, so that binding them later doesn't pay the
+   * cost of loading their binders. Both the navigation model binders of activities, services or
+   * fragments and the extra binders of navigation models are resolved.
+   *
+   * @param classes the classes that will be bound.
+   * @throws Dart.UnableToInjectException if a binder could not be resolved.
+   */
+  public static void preload(Iterable<? extends Class<?>> classes) {
+    for (Class<?> cls : classes) {
+      try {
+        if (debug) Log.d(TAG, "Preloading binders for " + cls.getName());
+        findNavigationModelBinderForClass(cls);
+        findExtraBinderForClass(cls);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new UnableToInjectException("Unable to preload binders for " + cls, e);
+      }
+    }
+  }
+
+  /**
+   * Resolve and cache the binders of the given classes using {@code executor}, typically a
+   * background thread at application start.
+   *
+   * @param classes the classes that will be bound.
+   * @param executor the executor on which the binders are resolved.
+   * @see #preload(Iterable)
+   */
+  public static void preload(final Iterable<? extends Class<?>> classes, Executor executor) {
+    executor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            preload(classes);
+          }
+        });
+  }
+
   /**
    * Inject fields annotated with {@link BindExtra} in the specified {@code target} using the {@code
    * source} {@link android.app.Activity}.
@@ -118,6 +252,31 @@ public class Dart {
     bindNavigationModel(target, source, Finder.BUNDLE);
   }
 
+  /**
+   * Inject fields annotated with {@link BindExtra} in the specified {@code target} using the extras
+   * of the {@code source} {@link android.content.Intent}, typically in a {@code BroadcastReceiver}.
+   * Primitive extras are read without copying the extras of the intent.
+   *
+   * @param target Target class for field binding.
+   * @param source Intent on which extras will be looked up.
+   * @throws Dart.UnableToInjectException if binding could not be performed.
+   */
+  public static void bindNavigationModel(Object target, Intent source) {
+    bindNavigationModel(target, source, Finder.INTENT);
+  }
+
+  /**
+   * Inject fields annotated with {@link BindExtra} in the specified {@code target} using any {@link
+   * ExtraSource}, e.g. a map of extras in a JVM test.
+   *
+   * @param target Target class for field binding.
+   * @param source Source on which extras will be looked up.
+   * @throws Dart.UnableToInjectException if binding could not be performed.
+   */
+  public static void bindNavigationModel(Object target, ExtraSource source) {
+    bindNavigationModel(target, source, Finder.EXTRA_SOURCE);
+  }
+
   /**
    * Inject fields annotated with {@link BindExtra} in the NavigationModel annotated with {@link
    * DartModel} inside the target {@link android.app.Activity}. The intent that called this activity
@@ -144,13 +303,211 @@ public class Dart {
     bind(target, Finder.FRAGMENT);
   }
 
+  /**
+   * Inject fields annotated with {@link BindExtra} in the NavigationModel annotated with {@link
+   * DartModel} inside the target {@link android.app.Activity}, decoding the extras on {@code
+   * executor}. The extras are read from the intent on the calling thread, while Parceler and
+   * Serializable extras are decoded on the executor.
+   *
+   * <p>The NavigationModel is assigned to the target once it is fully bound. Read it only after the
+   * returned future is done, which guarantees that all of its fields are visible.
+   *
+   * @param target Target activity for field binding.
+   * @param executor the executor on which the extras are decoded.
+   * @return a future that completes once the NavigationModel is assigned to {@code target}.
+   * @throws Dart.UnableToInjectException if the binder could not be found.
+   * @see #bind(Activity)
+   */
+  public static Future<Void> bindAsync(Activity target, Executor executor) {
+    return bindAsync(target, Finder.ACTIVITY, executor);
+  }
+
+  /**
+   * Inject fields annotated with {@link BindExtra} in the NavigationModel annotated with {@link
+   * DartModel} inside the target {@link android.app.Fragment}, decoding the extras on {@code
+   * executor}.
+   *
+   * @param target Target fragment for field binding.
+   * @param executor the executor on which the extras are decoded.
+   * @return a future that completes once the NavigationModel is assigned to {@code target}.
+   * @throws Dart.UnableToInjectException if the binder could not be found.
+   * @see #bindAsync(Activity, Executor)
+   */
+  public static Future<Void> bindAsync(Fragment target, Executor executor) {
+    return bindAsync(target, Finder.FRAGMENT, executor);
+  }
+
+  /**
+   * Bind the NavigationModel of the target {@link android.app.Activity} again with the extras of a
+   * new intent, typically from {@code onNewIntent}, and set it as the intent of the activity. Only
+   * the extras that differ from the ones of the current intent are decoded again, extras are
+   * compared using {@link Object#equals(Object)}. They are bound into the current NavigationModel,
+   * the fields of optional extras that were removed get back their declared default value.
+   *
+   * @param target Target activity for field binding, already bound.
+   * @param intent the new intent of the activity.
+   * @throws Dart.UnableToInjectException if binding could not be performed.
+   * @see android.app.Activity#onNewIntent(Intent)
+   */
+  public static void rebind(Activity target, Intent intent) {
+    ExtraSource previousExtras = Finder.ACTIVITY.getExtras(target);
+    target.setIntent(intent);
+    rebind(target, previousExtras, Finder.ACTIVITY.getExtras(target));
+  }
+
+  static void rebind(Object target, ExtraSource previousExtras, ExtraSource extras) {
+    try {
+      findNavigationModelBinderForClass(target.getClass()).rebind(target, previousExtras, extras);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new UnableToInjectException("Unable to rebind NavigationModel for " + target, e);
+    }
+  }
+
+  /**
+   * Save the extras bound in {@code navigationModel} into {@code outState}, typically from {@code
+   * onSaveInstanceState}. They are restored by {@link #restoreState(Activity, Object, Bundle)}.
+   *
+   * @param navigationModel a navigation model bound by Dart.
+   * @param outState the saved instance state.
+   * @throws Dart.UnableToInjectException if the state could not be saved.
+   */
+  public static void saveState(Object navigationModel, Bundle outState) {
+    Class<?> navigationModelClass = navigationModel.getClass();
+    try {
+      ExtraStateSaver<Object> binder = findExtraBinderForClass(navigationModelClass);
+      if (binder != NO_OP) {
+        Bundle state = new Bundle();
+        binder.saveState(navigationModel, state);
+        outState.putBundle(STATE_KEY, state);
+      }
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new UnableToInjectException("Unable to save state of " + navigationModel, e);
+    }
+  }
+
+  /**
+   * Bind the NavigationModel of the target {@link android.app.Activity} after a configuration
+   * change or a process restart. A navigation model retained across the configuration change, e.g.
+   * returned by {@code getLastNonConfigurationInstance()}, is assigned as is without decoding any
+   * extra. Otherwise the state saved by {@link #saveState(Object, Bundle)} is decoded, or the
+   * intent is bound if there is none.
+   *
+   * @param target Target activity for field binding.
+   * @param retainedNavigationModel the navigation model of the previous instance of the activity,
+   *     or null.
+   * @param savedInstanceState the saved instance state, or null.
+   * @throws Dart.UnableToInjectException if binding could not be performed.
+   */
+  public static void restoreState(
+      Activity target, Object retainedNavigationModel, Bundle savedInstanceState) {
+    restoreState(target, Finder.ACTIVITY, retainedNavigationModel, savedInstanceState);
+  }
+
+  /**
+   * Bind the NavigationModel of the target {@link android.app.Fragment} after a configuration
+   * change or a process restart.
+   *
+   * @param target Target fragment for field binding.
+   * @param retainedNavigationModel the navigation model of the previous instance of the fragment,
+   *     or null.
+   * @param savedInstanceState the saved instance state, or null.
+   * @throws Dart.UnableToInjectException if binding could not be performed.
+   * @see #restoreState(Activity, Object, Bundle)
+   */
+  public static void restoreState(
+      Fragment target, Object retainedNavigationModel, Bundle savedInstanceState) {
+    restoreState(target, Finder.FRAGMENT, retainedNavigationModel, savedInstanceState);
+  }
+
+  static void restoreState(
+      Object target, Finder finder, Object retainedNavigationModel, Bundle savedInstanceState) {
+    try {
+      NavigationModelBinder<Object> binder = findNavigationModelBinderForClass(target.getClass());
+      if (retainedNavigationModel != null) {
+        binder.assignNavigationModel(target, retainedNavigationModel);
+      } else if (savedInstanceState != null && savedInstanceState.containsKey(STATE_KEY)) {
+        ExtraSource state = ExtraSource.of(savedInstanceState.getBundle(STATE_KEY));
+        binder.assignNavigationModel(target, binder.createNavigationModel(state));
+      } else {
+        binder.bind(finder, target);
+      }
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new UnableToInjectException("Unable to restore NavigationModel for " + target, e);
+    }
+  }
+
+  static Future<Void> bindAsync(final Object target, Finder finder, Executor executor) {
+    final NavigationModelBinder<Object> binder;
+    try {
+      if (debug) Log.d(TAG, "Looking up NavigationModel binder for " + target.getClass().getName());
+      binder = findNavigationModelBinderForClass(target.getClass());
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new UnableToInjectException("Unable to bind NavigationModel for " + target, e);
+    }
+    // The extras stay shared with the caller thread, the executor decodes a copy of them.
+    final ExtraSource source = finder.getExtras(target).copy();
+    FutureTask<Void> task =
+        new FutureTask<>(
+            new Callable<Void>() {
+              @Override
+              public Void call() {
+                // Completing the task publishes the NavigationModel to threads awaiting it.
+                binder.assignNavigationModel(target, binder.createNavigationModel(source));
+                return null;
+              }
+            });
+    executor.execute(task);
+    return task;
+  }
+
   static void bindNavigationModel(Object target, Object source, Finder finder) {
+    BindingPolicy policy = bindingPolicy;
+    if (policy != null && isMainThread()) {
+      // The extras are measured against the policy as the binder reads them.
+      ExtraSource extras = finder.findExtras(source);
+      PolicyCheck check = beginPolicyCheck(policy, extras);
+      try {
+        performBindNavigationModel(target, extras, Finder.EXTRA_SOURCE);
+      } finally {
+        endPolicyCheck(check);
+      }
+      return;
+    }
+    performBindNavigationModel(target, source, finder);
+  }
+
+  private static void performBindNavigationModel(Object target, Object source, Finder finder) {
     Class<?> targetClass = target.getClass();
     try {
       if (debug) Log.d(TAG, "Looking up extra binder for " + targetClass.getName());
-      Method bind = findExtraBinderForClass(targetClass);
-      if (bind != null) {
-        bind.invoke(null, finder, target, source);
+      BindingListener listener = bindingListener;
+      if (listener != null) {
+        long lookupStart = System.nanoTime();
+        Lookup lookup = lookupOf(EXTRA_BINDERS.get(targetClass));
+        ExtraBinder<Object> binder =
+            bindableExtraBinder(targetClass, findExtraBinderForClass(targetClass));
+        listener.onBinderLookup(targetClass, lookup, System.nanoTime() - lookupStart);
+        if (binder != NO_OP) {
+          int[] extrasBound = EXTRAS_BOUND.get();
+          extrasBound[0] = 0;
+          long bindStart = System.nanoTime();
+          binder.bind(target, finder.getExtras(source));
+          listener.onBind(targetClass, extrasBound[0], System.nanoTime() - bindStart);
+        }
+        return;
+      }
+      ExtraBinder<Object> binder =
+          bindableExtraBinder(targetClass, findExtraBinderForClass(targetClass));
+      if (binder != NO_OP) {
+        binder.bind(target, finder.getExtras(source));
       }
     } catch (RuntimeException e) {
       throw e;
@@ -159,37 +516,90 @@ public class Dart {
     }
   }
 
-  private static Method findExtraBinderForClass(Class<?> cls) throws NoSuchMethodException {
-    Method bind = EXTRA_BINDERS.get(cls);
-    if (bind != null) {
+  /**
+   * @throws IllegalStateException if {@code binder} creates an immutable navigation model, which
+   *     can't be bound.
+   */
+  private static ExtraBinder<Object> bindableExtraBinder(
+      Class<?> navigationModelClass, ExtraStateSaver<Object> binder) {
+    if (binder instanceof ImmutableExtraBinder) {
+      throw new IllegalStateException(
+          "Immutable navigation model "
+              + navigationModelClass.getName()
+              + " can't be bound, it is created by the binder of its activity or fragment.");
+    }
+    return (ExtraBinder<Object>) binder;
+  }
+
+  private static ExtraStateSaver<Object> findExtraBinderForClass(Class<?> cls) throws Exception {
+    ExtraStateSaver<Object> binder = EXTRA_BINDERS.get(cls);
+    if (binder == NO_OP) {
+      if (debug) Log.d(TAG, "MISS: Cached as having no binder.");
+      return binder;
+    }
+    if (binder != null) {
       if (debug) Log.d(TAG, "HIT: Cached in binder map.");
-      return bind;
+      return binder;
     }
     String clsName = cls.getName();
     if (clsName.startsWith("android.") || clsName.startsWith("java.")) {
       if (debug) Log.d(TAG, "MISS: Reached framework class. Abandoning search.");
       return NO_OP;
     }
-    try {
-      Class<?> binder = Class.forName(clsName + EXTRA_BINDER_SUFFIX);
-      bind = binder.getMethod("bind", Finder.class, cls, Object.class);
-      if (debug) Log.d(TAG, "HIT: Class loaded binding class.");
-    } catch (ClassNotFoundException e) {
-      if (debug) Log.d(TAG, "Not found. Trying superclass " + cls.getSuperclass().getName());
-      bind = findExtraBinderForClass(cls.getSuperclass());
+    binder = findRegisteredExtraBinder(cls);
+    if (binder != null) {
+      if (debug) Log.d(TAG, "HIT: Registry provided binder.");
+    } else {
+      try {
+        binder = newBinder(loadClass(cls, clsName + EXTRA_BINDER_SUFFIX));
+        if (debug) Log.d(TAG, "HIT: Class loaded binding class.");
+      } catch (ClassNotFoundException e) {
+        if (debug) Log.d(TAG, "Not found. Trying superclass " + cls.getSuperclass().getName());
+        binder = findExtraBinderForClass(cls.getSuperclass());
+      }
     }
-    EXTRA_BINDERS.put(cls, bind);
-    return bind;
+    // Concurrent lookups of the same class all return the binder cached first.
+    return EXTRA_BINDERS.putIfAbsent(cls, binder);
   }
 
   static void bind(Object target, Finder finder) {
+    BindingPolicy policy = bindingPolicy;
+    if (policy != null && isMainThread()) {
+      // Generated binders get the extras of the target themselves, they are only read here when
+      // their size is measured.
+      PolicyCheck check =
+          beginPolicyCheck(
+              policy, policy.detectsSerializedSize() ? finder.findExtras(target) : null);
+      try {
+        performBind(target, finder);
+      } finally {
+        endPolicyCheck(check);
+      }
+      return;
+    }
+    performBind(target, finder);
+  }
+
+  private static void performBind(Object target, Finder finder) {
     Class<?> targetClass = target.getClass();
     try {
       if (debug) Log.d(TAG, "Looking up NavigationModel binder for " + targetClass.getName());
-      Method bind = findNavigationModelBinderForClass(targetClass);
-      if (bind != null) {
-        bind.invoke(null, finder, target);
+      BindingListener listener = bindingListener;
+      if (listener != null) {
+        long lookupStart = System.nanoTime();
+        Lookup lookup = lookupOf(NAVIGATION_MODEL_BINDERS.get(targetClass));
+        NavigationModelBinder<Object> binder = findNavigationModelBinderForClass(targetClass);
+        listener.onBinderLookup(targetClass, lookup, System.nanoTime() - lookupStart);
+        if (binder != NO_OP) {
+          int[] extrasBound = EXTRAS_BOUND.get();
+          extrasBound[0] = 0;
+          long bindStart = System.nanoTime();
+          binder.bind(finder, target);
+          listener.onBind(targetClass, extrasBound[0], System.nanoTime() - bindStart);
+        }
+        return;
       }
+      findNavigationModelBinderForClass(targetClass).bind(finder, target);
     } catch (RuntimeException e) {
       throw e;
     } catch (Exception e) {
@@ -197,28 +607,117 @@ public class Dart {
     }
   }
 
-  private static Method findNavigationModelBinderForClass(Class<?> cls)
-      throws NoSuchMethodException {
-    Method bind = NAVIGATION_MODEL_BINDERS.get(cls);
-    if (bind != null) {
+  private static NavigationModelBinder<Object> findNavigationModelBinderForClass(Class<?> cls)
+      throws Exception {
+    NavigationModelBinder<Object> binder = NAVIGATION_MODEL_BINDERS.get(cls);
+    if (binder == NO_OP) {
+      if (debug) Log.d(TAG, "MISS: Cached as having no binder.");
+      return binder;
+    }
+    if (binder != null) {
       if (debug) Log.d(TAG, "HIT: Cached in binder map.");
-      return bind;
+      return binder;
     }
     String clsName = cls.getName();
     if (clsName.startsWith("android.") || clsName.startsWith("java.")) {
       if (debug) Log.d(TAG, "MISS: Reached framework class. Abandoning search.");
       return NO_OP;
     }
+    binder = findRegisteredNavigationModelBinder(cls);
+    if (binder != null) {
+      if (debug) Log.d(TAG, "HIT: Registry provided binder.");
+    } else {
+      try {
+        binder = newBinder(loadClass(cls, clsName + NAVIGATION_MODEL_BINDER_SUFFIX));
+        if (debug) Log.d(TAG, "HIT: Class loaded binding class.");
+      } catch (ClassNotFoundException e) {
+        if (debug) Log.d(TAG, "Not found. Trying superclass " + cls.getSuperclass().getName());
+        binder = findNavigationModelBinderForClass(cls.getSuperclass());
+      }
+    }
+    return NAVIGATION_MODEL_BINDERS.putIfAbsent(cls, binder);
+  }
+
+  private static boolean isMainThread() {
+    return Looper.getMainLooper().getThread() == Thread.currentThread();
+  }
+
+  private static PolicyCheck beginPolicyCheck(BindingPolicy policy, ExtraSource extras) {
+    PolicyCheck check = new PolicyCheck(policy, extras, POLICY_CHECK.get());
+    POLICY_CHECK.set(check);
+    return check;
+  }
+
+  private static void endPolicyCheck(PolicyCheck check) {
+    // A binding nested in the one of an extra resumes the check of the enclosing binding.
+    if (check.enclosing != null) {
+      POLICY_CHECK.set(check.enclosing);
+    } else {
+      POLICY_CHECK.remove();
+    }
+  }
+
+  /**
+   * Starts timing the first extra of the binding in progress once its binder got the extras, so
+   * that the binder lookup, the creation of the navigation model and the copy of the extras aren't
+   * charged to the first extra.
+   */
+  private static void restartPolicyCheck() {
+    if (bindingPolicy != null) {
+      PolicyCheck check = POLICY_CHECK.get();
+      if (check != null) {
+        check.mark = policyClock.nanoTime();
+      }
+    }
+  }
+
+  private static Lookup lookupOf(Object cached) {
+    if (cached == null) {
+      return Lookup.MISS;
+    }
+    return cached == NO_OP ? Lookup.NEGATIVE_HIT : Lookup.HIT;
+  }
+
+  // Binders are generated next to their class, which may have been loaded by the class loader of a
+  // dynamic feature module rather than the one of Dart.
+  private static Class<?> loadClass(Class<?> cls, String binderClassName)
+      throws ClassNotFoundException {
+    return Class.forName(binderClassName, true, cls.getClassLoader());
+  }
+
+  /**
+   * @return the instance of a generated binder, held by its class so that caching it weakly doesn't
+   *     collect it before its class loader, or a new instance for binders generated without one.
+   */
+  @SuppressWarnings("unchecked") // Generated binders implement the interface of their kind.
+  private static <T> T newBinder(Class<?> binderClass) throws Exception {
     try {
-      Class<?> binder = Class.forName(clsName + NAVIGATION_MODEL_BINDER_SUFFIX);
-      bind = binder.getMethod("bind", Finder.class, cls);
-      if (debug) Log.d(TAG, "HIT: Class loaded binding class.");
-    } catch (ClassNotFoundException e) {
-      if (debug) Log.d(TAG, "Not found. Trying superclass " + cls.getSuperclass().getName());
-      bind = findNavigationModelBinderForClass(cls.getSuperclass());
+      return (T) binderClass.getField(BINDER_INSTANCE_FIELD).get(null);
+    } catch (NoSuchFieldException e) {
+      return (T) binderClass.getConstructor().newInstance();
+    }
+  }
+
+  @SuppressWarnings("unchecked") // A binder of a class also binds its subclasses.
+  private static ExtraStateSaver<Object> findRegisteredExtraBinder(Class<?> cls) {
+    for (BinderRegistry registry : REGISTRIES) {
+      ExtraStateSaver<?> binder = registry.getExtraBinder(cls);
+      if (binder != null) {
+        return (ExtraStateSaver<Object>) binder;
+      }
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked") // A binder of a class also binds its subclasses.
+  private static NavigationModelBinder<Object> findRegisteredNavigationModelBinder(Class<?> cls) {
+    for (BinderRegistry registry : REGISTRIES) {
+      NavigationModelBinder<?> binder = registry.getNavigationModelBinder(cls);
+      if (binder != null) {
+        return (NavigationModelBinder<Object>) binder;
+      }
     }
-    NAVIGATION_MODEL_BINDERS.put(cls, bind);
-    return bind;
+    return null;
   }
 
   /** Simpler version of {@link android.os.Bundle#get(String)} which infers the target type. */
@@ -229,33 +728,244 @@ public class Dart {
   }
 
   /**
-   * A means of finding an extra in either an {@link android.app.Activity}, {@link
-   * android.app.Fragment} or a {@link android.os.Bundle}. Exposed for use only by generated code.
-   * If any of the means to get a bundle are null, this will simply return a null.
+   * Checks whether the extra {@code key} differs between two bundles. Arrays are compared by
+   * content, parcelables and serializables that don't override {@link Object#equals(Object)} by
+   * their marshalled form. Every extra is changed if {@code previousExtras} is null. Exposed for
+   * use only by generated code.
+   */
+  public static boolean isExtraChanged(ExtraSource previousExtras, ExtraSource extras, String key) {
+    if (previousExtras == null) {
+      return true;
+    }
+    if (previousExtras.containsKey(key) != extras.containsKey(key)) {
+      return true;
+    }
+    Object previous = previousExtras.get(key);
+    Object current = extras.get(key);
+    if (previous == null || current == null) {
+      return previous != current;
+    }
+    if (previous.getClass().isArray()) {
+      return !Arrays.deepEquals(new Object[] {previous}, new Object[] {current});
+    }
+    if (previous.equals(current)) {
+      return false;
+    }
+    if (previous.getClass() != current.getClass() || overridesEquals(previous.getClass())) {
+      return true;
+    }
+    // Parcelables and serializables read from a new bundle are new instances, even when they hold
+    // the same values, e.g. the wrappers of Parceler. Without equals, their marshalled forms are
+    // compared, which costs less than decoding them again.
+    final byte[] previousBytes = marshall(previous);
+    return previousBytes == null || !Arrays.equals(previousBytes, marshall(current));
+  }
+
+  private static boolean overridesEquals(Class<?> cls) {
+    try {
+      return cls.getMethod("equals", Object.class).getDeclaringClass() != Object.class;
+    } catch (NoSuchMethodException e) {
+      return true;
+    }
+  }
+
+  /** @return the marshalled form of {@code value}, or null if it can't be marshalled. */
+  private static byte[] marshall(Object value) {
+    try {
+      if (value instanceof Parcelable) {
+        final Parcel parcel = Parcel.obtain();
+        try {
+          parcel.writeParcelable((Parcelable) value, 0);
+          return parcel.marshall();
+        } finally {
+          parcel.recycle();
+        }
+      } else if (value instanceof Serializable) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream output = new ObjectOutputStream(bytes);
+        output.writeObject(value);
+        output.close();
+        return bytes.toByteArray();
+      }
+    } catch (IOException | RuntimeException e) {
+      // Values holding binders or file descriptors can't be marshalled, they are seen as changed.
+    }
+    return null;
+  }
+
+  /**
+   * Puts a value of any type supported by {@link android.os.Bundle} into {@code bundle}, ignoring
+   * null values. Exposed for use only by generated code.
+   *
+   * @throws IllegalArgumentException if the value can't be put in a bundle.
+   */
+  @SuppressWarnings("unchecked") // Checked by the binder that bound the value.
+  public static void putExtra(Bundle bundle, String key, Object value) {
+    // Bundles parcel their values by runtime type, any setter accepting the value will do.
+    if (value == null) {
+      return;
+    }
+    if (value instanceof Parcelable) {
+      bundle.putParcelable(key, (Parcelable) value);
+    } else if (value instanceof CharSequence) {
+      bundle.putCharSequence(key, (CharSequence) value);
+    } else if (value instanceof SparseArray) {
+      bundle.putSparseParcelableArray(key, (SparseArray<? extends Parcelable>) value);
+    } else if (value instanceof Serializable) {
+      bundle.putSerializable(key, (Serializable) value);
+    } else {
+      throw new IllegalArgumentException(
+          "Extra with key '"
+              + key
+              + "' of type "
+              + value.getClass().getName()
+              + " can't be saved.");
+    }
+  }
+
+  /**
+   * @return true if an extra {@link #isExtraChanged changed} to missing or null in {@code extras},
+   *     in which case the fields bound to it may have to be reset to their default value. This
+   *     includes an extra missing from {@code previousExtras} that {@code extras} sets to null.
+   *     Exposed for use only by generated code.
+   */
+  public static boolean isExtraRemoved(ExtraSource previousExtras, ExtraSource extras) {
+    for (String key : previousExtras.keySet()) {
+      if (extras.get(key) == null && isExtraChanged(previousExtras, extras, key)) {
+        return true;
+      }
+    }
+    for (String key : extras.keySet()) {
+      if (extras.get(key) == null && !previousExtras.containsKey(key)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Reports an extra bound by a generated binder to the {@link BindingListener} and the {@link
+   * BindingPolicy}, if any. Exposed for use only by generated code.
+   */
+  public static void onExtraBound(Object navigationModel, String key, boolean parceler) {
+    onExtraBound(navigationModel.getClass(), key, parceler);
+  }
+
+  /**
+   * Reports an extra read by the generated binder of an immutable navigation model, which is
+   * created after all its extras are read. Exposed for use only by generated code.
+   */
+  public static void onExtraBound(Class<?> navigationModelClass, String key, boolean parceler) {
+    // Checks only begin on the main thread, no other thread has one.
+    PolicyCheck check = bindingPolicy != null ? POLICY_CHECK.get() : null;
+    if (check != null) {
+      // An extra is decoded between the end of the previous one and this call.
+      long decodeNanos = policyClock.nanoTime() - check.mark;
+      check.policy.onExtraBound(navigationModelClass, key, parceler, check.extras, decodeNanos);
+    }
+    BindingListener listener = bindingListener;
+    if (listener != null) {
+      EXTRAS_BOUND.get()[0]++;
+      listener.onExtraBound(navigationModelClass, key, parceler);
+    }
+    if (check != null) {
+      check.mark = policyClock.nanoTime();
+    }
+  }
+
+  /**
+   * A means of finding the extras of either an {@link android.app.Activity}, {@link
+   * android.app.Fragment}, {@link android.os.Bundle}, {@link android.content.Intent} or {@link
+   * ExtraSource}. Exposed for use only by generated code. If any of the means to get extras are
+   * null, this will simply return no extras.
    */
   public enum Finder {
     ACTIVITY {
       @Override
-      public Object getExtra(Object source, String key) {
-        Intent intent = ((Activity) source).getIntent();
-        return intent == null ? null : Finder.BUNDLE.getExtra(intent.getExtras(), key);
+      ExtraSource findExtras(Object source) {
+        return Finder.INTENT.findExtras(((Activity) source).getIntent());
       }
     },
     FRAGMENT {
       @Override
-      public Object getExtra(Object source, String key) {
-        Bundle extras = ((Fragment) source).getArguments();
-        return Finder.BUNDLE.getExtra(extras, key);
+      ExtraSource findExtras(Object source) {
+        return ExtraSource.of(((Fragment) source).getArguments());
       }
     },
     BUNDLE {
       @Override
-      public Object getExtra(Object source, String key) {
-        return source == null ? null : ((Bundle) source).get(key);
+      ExtraSource findExtras(Object source) {
+        return ExtraSource.of((Bundle) source);
+      }
+    },
+    INTENT {
+      @Override
+      ExtraSource findExtras(Object source) {
+        return source == null ? ExtraSource.of((Bundle) null) : ExtraSource.of((Intent) source);
+      }
+    },
+    EXTRA_SOURCE {
+      @Override
+      ExtraSource findExtras(Object source) {
+        return source == null ? ExtraSource.of((Bundle) null) : (ExtraSource) source;
       }
     };
 
-    public abstract Object getExtra(Object source, String key);
+    public ExtraSource getExtras(Object source) {
+      ExtraSource extras = findExtras(source);
+      // Binders read their first extra right after getting the extras.
+      restartPolicyCheck();
+      return extras;
+    }
+
+    abstract ExtraSource findExtras(Object source);
+  }
+
+  /** A source of monotonic time, in nanoseconds. */
+  interface Clock {
+    long nanoTime();
+  }
+
+  /** The state of the binding checked against the {@link BindingPolicy} on a thread. */
+  private static final class PolicyCheck {
+    final BindingPolicy policy;
+    final ExtraSource extras;
+    final PolicyCheck enclosing;
+    // The end of the last extra bound, or the time the binder got the extras.
+    long mark = policyClock.nanoTime();
+
+    PolicyCheck(BindingPolicy policy, ExtraSource extras, PolicyCheck enclosing) {
+      this.policy = policy;
+      this.extras = extras;
+      this.enclosing = enclosing;
+    }
+  }
+
+  /** Stands for the binder of classes that have none. */
+  static final class NoOpBinder implements ExtraBinder<Object>, NavigationModelBinder<Object> {
+    @Override
+    public void bind(Object target, ExtraSource extras) {}
+
+    @Override
+    public void rebind(
+        Object target, Object defaults, ExtraSource previousExtras, ExtraSource extras) {}
+
+    @Override
+    public void rebind(Object target, ExtraSource previousExtras, ExtraSource extras) {}
+
+    @Override
+    public void saveState(Object target, Bundle outState) {}
+
+    @Override
+    public void bind(Finder finder, Object target) {}
+
+    @Override
+    public Object createNavigationModel(ExtraSource extras) {
+      return null;
+    }
+
+    @Override
+    public void assignNavigationModel(Object target, Object navigationModel) {}
   }
 
   public static class UnableToInjectException extends RuntimeException {
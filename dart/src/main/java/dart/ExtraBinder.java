@@ -0,0 +1,48 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dart;
+
+/**
+ * Binds a bundle of extras into a navigation model. Implemented by the generated {@code
+ * __ExtraBinder} classes of navigation models that aren't immutable. Exposed for use only by
+ * generated code.
+ *
+ * @param <T> the navigation model type.
+ */
+public interface ExtraBinder<T> extends ExtraStateSaver<T> {
+  /**
+   * @param target the navigation model to bind.
+   * @param extras the extras of the activity, fragment or bundle being bound, resolved once by a
+   *     {@link Dart.Finder}.
+   */
+  void bind(T target, ExtraSource extras);
+
+  /**
+   * Binds again, into the same instance, the extras of {@code extras} that differ from {@code
+   * previousExtras}, leaving the fields bound to the other extras untouched. The fields of optional
+   * extras that were removed get back their value in {@code defaults}.
+   *
+   * @param target the navigation model previously bound with {@code previousExtras}.
+   * @param defaults a new navigation model, holding the declared default value of each field. May
+   *     be null if no extra of {@code previousExtras} was removed.
+   * @param previousExtras the extras {@code target} was bound with, or null if they are unknown, to
+   *     bind all the extras again.
+   * @param extras the new extras.
+   */
+  void rebind(T target, T defaults, ExtraSource previousExtras, ExtraSource extras);
+}
@@ -0,0 +1,490 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dart;
+
+import android.content.Intent;
+import android.os.Bundle;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The extras a navigation model is bound from. Generated binders read extras through this class,
+ * which lets them bind extras held by other means than a {@link Bundle}.
+ *
+ * <p>Sources are provided for a {@link Bundle}, the extras of an {@link Intent}, read without
+ * copying them, and a {@link Map}, which doesn't require any Android class and suits JVM tests and
+ * benchmarks. Other sources, like a {@code PersistableBundle}, only need to implement {@link
+ * #containsKey(String)}, {@link #get(String)} and {@link #keySet()}: the typed getters unbox the
+ * value returned by {@link #get(String)}, and can be overridden to avoid boxing. Several sources
+ * can be read as one with {@link #firstOf(ExtraSource...)}.
+ *
+ * <p>The sources of a {@link Bundle} and of an {@link Intent} read the extras spilled to files by
+ * Henson in place of their handle, once {@link Dart#setSpilledExtrasContext} is called.
+ */
+public abstract class ExtraSource {
+
+  /** @return a source reading {@code extras}, or no extra if it is null. */
+  public static ExtraSource of(Bundle extras) {
+    return new BundleSource(extras == null ? Bundle.EMPTY : extras);
+  }
+
+  /**
+   * @return a source reading the extras of {@code intent}. Primitive extras are read without
+   *     copying the extras of the intent, as {@link Intent#getExtras()} does.
+   */
+  public static ExtraSource of(Intent intent) {
+    return new IntentSource(intent);
+  }
+
+  /** @return a source reading the values of {@code extras}, which must be boxed for primitives. */
+  public static ExtraSource of(Map<String, ?> extras) {
+    return new MapSource(extras);
+  }
+
+  /**
+   * @return a source reading each extra from the first of {@code sources} that contains it, e.g.
+   *     the extras of an intent, then a saved instance state. A navigation model is bound from all
+   *     of them in a single pass over its extras, fields of extras contained by none of them keep
+   *     their declared default value.
+   */
+  public static ExtraSource firstOf(ExtraSource... sources) {
+    return new FallbackSource(sources.clone());
+  }
+
+  public abstract boolean containsKey(String key);
+
+  /** @return the value of the extra {@code key}, or null if there is none. */
+  public abstract Object get(String key);
+
+  public abstract Set<String> keySet();
+
+  /**
+   * @return a source that is not affected by later changes of this source, and can be read from
+   *     another thread. Values are not decoded by the copy.
+   */
+  public ExtraSource copy() {
+    final Map<String, Object> copy = new HashMap<>();
+    for (String key : keySet()) {
+      copy.put(key, get(key));
+    }
+    return new MapSource(copy);
+  }
+
+  public boolean getBoolean(String key) {
+    final Object value = get(key);
+    return value != null && (Boolean) value;
+  }
+
+  public byte getByte(String key) {
+    final Object value = get(key);
+    return value == null ? 0 : (Byte) value;
+  }
+
+  public short getShort(String key) {
+    final Object value = get(key);
+    return value == null ? 0 : (Short) value;
+  }
+
+  public int getInt(String key) {
+    final Object value = get(key);
+    return value == null ? 0 : (Integer) value;
+  }
+
+  public long getLong(String key) {
+    final Object value = get(key);
+    return value == null ? 0L : (Long) value;
+  }
+
+  public char getChar(String key) {
+    final Object value = get(key);
+    return value == null ? 0 : (Character) value;
+  }
+
+  public float getFloat(String key) {
+    final Object value = get(key);
+    return value == null ? 0f : (Float) value;
+  }
+
+  public double getDouble(String key) {
+    final Object value = get(key);
+    return value == null ? 0d : (Double) value;
+  }
+
+  /**
+   * The typed getters of {@link Bundle} and {@link Intent} return their default value for an extra
+   * of another type, they throw like the cast of the other sources instead.
+   */
+  private static void checkType(String key, Object value, Class<?> type) {
+    if (value != null && !type.isInstance(value)) {
+      throw new ClassCastException(
+          "Extra with key '"
+              + key
+              + "' is a "
+              + value.getClass().getName()
+              + ", not a "
+              + type.getName()
+              + ".");
+    }
+  }
+
+  private static final class BundleSource extends ExtraSource {
+    private final Bundle extras;
+    private final SpilledExtras.Cache spilled = new SpilledExtras.Cache();
+
+    BundleSource(Bundle extras) {
+      this.extras = extras;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+      return extras.containsKey(key);
+    }
+
+    @Override
+    public Object get(String key) {
+      return spilled.resolve(extras.get(key));
+    }
+
+    @Override
+    public Set<String> keySet() {
+      return extras.keySet();
+    }
+
+    @Override
+    public ExtraSource copy() {
+      // Copying a bundle doesn't unparcel it.
+      return new BundleSource(new Bundle(extras));
+    }
+
+    @Override
+    public boolean getBoolean(String key) {
+      final boolean value = extras.getBoolean(key);
+      if (!value) {
+        checkType(key, extras.get(key), Boolean.class);
+      }
+      return value;
+    }
+
+    @Override
+    public byte getByte(String key) {
+      final byte value = extras.getByte(key);
+      if (value == 0) {
+        checkType(key, extras.get(key), Byte.class);
+      }
+      return value;
+    }
+
+    @Override
+    public short getShort(String key) {
+      final short value = extras.getShort(key);
+      if (value == 0) {
+        checkType(key, extras.get(key), Short.class);
+      }
+      return value;
+    }
+
+    @Override
+    public int getInt(String key) {
+      final int value = extras.getInt(key);
+      if (value == 0) {
+        checkType(key, extras.get(key), Integer.class);
+      }
+      return value;
+    }
+
+    @Override
+    public long getLong(String key) {
+      final long value = extras.getLong(key);
+      if (value == 0L) {
+        checkType(key, extras.get(key), Long.class);
+      }
+      return value;
+    }
+
+    @Override
+    public char getChar(String key) {
+      final char value = extras.getChar(key);
+      if (value == 0) {
+        checkType(key, extras.get(key), Character.class);
+      }
+      return value;
+    }
+
+    @Override
+    public float getFloat(String key) {
+      final float value = extras.getFloat(key);
+      if (value == 0f) {
+        checkType(key, extras.get(key), Float.class);
+      }
+      return value;
+    }
+
+    @Override
+    public double getDouble(String key) {
+      final double value = extras.getDouble(key);
+      if (value == 0d) {
+        checkType(key, extras.get(key), Double.class);
+      }
+      return value;
+    }
+  }
+
+  private static final class IntentSource extends ExtraSource {
+    private final Intent intent;
+    // Intents only expose extras of any type through a copy of their extras, made once.
+    private Bundle extras;
+    private final SpilledExtras.Cache spilled = new SpilledExtras.Cache();
+
+    IntentSource(Intent intent) {
+      this.intent = intent;
+    }
+
+    private Bundle extras() {
+      if (extras == null) {
+        final Bundle copy = intent.getExtras();
+        extras = copy == null ? Bundle.EMPTY : copy;
+      }
+      return extras;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+      return intent.hasExtra(key);
+    }
+
+    @Override
+    public Object get(String key) {
+      return spilled.resolve(extras().get(key));
+    }
+
+    @Override
+    public Set<String> keySet() {
+      return extras().keySet();
+    }
+
+    @Override
+    public ExtraSource copy() {
+      return ExtraSource.of(intent.getExtras());
+    }
+
+    @Override
+    public boolean getBoolean(String key) {
+      final boolean value = intent.getBooleanExtra(key, false);
+      // A stored default value isn't returned for another default value, unlike a missing extra or
+      // an extra of another type.
+      if (!value && intent.getBooleanExtra(key, true)) {
+        checkType(key, extras().get(key), Boolean.class);
+      }
+      return value;
+    }
+
+    @Override
+    public byte getByte(String key) {
+      final byte value = intent.getByteExtra(key, (byte) 0);
+      if (value == 0 && intent.getByteExtra(key, (byte) 1) == 1) {
+        checkType(key, extras().get(key), Byte.class);
+      }
+      return value;
+    }
+
+    @Override
+    public short getShort(String key) {
+      final short value = intent.getShortExtra(key, (short) 0);
+      if (value == 0 && intent.getShortExtra(key, (short) 1) == 1) {
+        checkType(key, extras().get(key), Short.class);
+      }
+      return value;
+    }
+
+    @Override
+    public int getInt(String key) {
+      final int value = intent.getIntExtra(key, 0);
+      if (value == 0 && intent.getIntExtra(key, 1) == 1) {
+        checkType(key, extras().get(key), Integer.class);
+      }
+      return value;
+    }
+
+    @Override
+    public long getLong(String key) {
+      final long value = intent.getLongExtra(key, 0L);
+      if (value == 0L && intent.getLongExtra(key, 1L) == 1L) {
+        checkType(key, extras().get(key), Long.class);
+      }
+      return value;
+    }
+
+    @Override
+    public char getChar(String key) {
+      final char value = intent.getCharExtra(key, (char) 0);
+      if (value == 0 && intent.getCharExtra(key, (char) 1) == 1) {
+        checkType(key, extras().get(key), Character.class);
+      }
+      return value;
+    }
+
+    @Override
+    public float getFloat(String key) {
+      final float value = intent.getFloatExtra(key, 0f);
+      if (value == 0f && intent.getFloatExtra(key, 1f) == 1f) {
+        checkType(key, extras().get(key), Float.class);
+      }
+      return value;
+    }
+
+    @Override
+    public double getDouble(String key) {
+      final double value = intent.getDoubleExtra(key, 0d);
+      if (value == 0d && intent.getDoubleExtra(key, 1d) == 1d) {
+        checkType(key, extras().get(key), Double.class);
+      }
+      return value;
+    }
+  }
+
+  private static final class FallbackSource extends ExtraSource {
+    private final ExtraSource[] sources;
+
+    FallbackSource(ExtraSource[] sources) {
+      this.sources = sources;
+    }
+
+    /** @return the first source containing {@code key}, or null if there is none. */
+    private ExtraSource sourceOf(String key) {
+      for (ExtraSource source : sources) {
+        if (source.containsKey(key)) {
+          return source;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+      return sourceOf(key) != null;
+    }
+
+    @Override
+    public Object get(String key) {
+      for (ExtraSource source : sources) {
+        // Most extras are not null, they are read without looking their key up twice.
+        final Object value = source.get(key);
+        if (value != null || source.containsKey(key)) {
+          return value;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public Set<String> keySet() {
+      final Set<String> keys = new LinkedHashSet<>();
+      for (ExtraSource source : sources) {
+        keys.addAll(source.keySet());
+      }
+      return keys;
+    }
+
+    @Override
+    public ExtraSource copy() {
+      final ExtraSource[] copies = new ExtraSource[sources.length];
+      for (int i = 0; i < sources.length; i++) {
+        copies[i] = sources[i].copy();
+      }
+      return new FallbackSource(copies);
+    }
+
+    @Override
+    public boolean getBoolean(String key) {
+      final ExtraSource source = sourceOf(key);
+      return source != null && source.getBoolean(key);
+    }
+
+    @Override
+    public byte getByte(String key) {
+      final ExtraSource source = sourceOf(key);
+      return source == null ? 0 : source.getByte(key);
+    }
+
+    @Override
+    public short getShort(String key) {
+      final ExtraSource source = sourceOf(key);
+      return source == null ? 0 : source.getShort(key);
+    }
+
+    @Override
+    public int getInt(String key) {
+      final ExtraSource source = sourceOf(key);
+      return source == null ? 0 : source.getInt(key);
+    }
+
+    @Override
+    public long getLong(String key) {
+      final ExtraSource source = sourceOf(key);
+      return source == null ? 0L : source.getLong(key);
+    }
+
+    @Override
+    public char getChar(String key) {
+      final ExtraSource source = sourceOf(key);
+      return source == null ? 0 : source.getChar(key);
+    }
+
+    @Override
+    public float getFloat(String key) {
+      final ExtraSource source = sourceOf(key);
+      return source == null ? 0f : source.getFloat(key);
+    }
+
+    @Override
+    public double getDouble(String key) {
+      final ExtraSource source = sourceOf(key);
+      return source == null ? 0d : source.getDouble(key);
+    }
+  }
+
+  private static final class MapSource extends ExtraSource {
+    private final Map<String, ?> extras;
+
+    MapSource(Map<String, ?> extras) {
+      this.extras = extras == null ? Collections.<String, Object>emptyMap() : extras;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+      return extras.containsKey(key);
+    }
+
+    @Override
+    public Object get(String key) {
+      return extras.get(key);
+    }
+
+    @Override
+    public Set<String> keySet() {
+      return extras.keySet();
+    }
+
+    @Override
+    public ExtraSource copy() {
+      return new MapSource(new HashMap<>(extras));
+    }
+  }
+}
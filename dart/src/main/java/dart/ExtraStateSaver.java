@@ -0,0 +1,37 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dart;
+
+import android.os.Bundle;
+
+/**
+ * Saves the extras bound in a navigation model. Implemented by the generated {@code __ExtraBinder}
+ * classes, as an {@link ExtraBinder} for the navigation models Dart binds, or an {@link
+ * ImmutableExtraBinder} for the immutable ones it creates. Exposed for use only by generated code.
+ *
+ * @param <T> the navigation model type.
+ */
+public interface ExtraStateSaver<T> {
+  /**
+   * Writes the extras bound in {@code target} back into {@code outState}, under their keys, so that
+   * they are read again when the navigation model is restored.
+   *
+   * @param target the bound navigation model.
+   * @param outState the bundle to write the extras into.
+   */
+  void saveState(T target, Bundle outState);
+}
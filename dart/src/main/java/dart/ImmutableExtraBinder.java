@@ -0,0 +1,32 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dart;
+
+/**
+ * Creates an immutable navigation model from a bundle of extras. Implemented by the generated
+ * {@code __ExtraBinder} classes of immutable navigation models, which are created by the binder of
+ * their activity or fragment and never bound. Exposed for use only by generated code.
+ *
+ * @param <T> the navigation model type.
+ */
+public interface ImmutableExtraBinder<T> extends ExtraStateSaver<T> {
+  /**
+   * @param extras the extras of the activity or fragment, resolved once by a {@link Dart.Finder}.
+   * @return a new navigation model, passed each of its extras to its constructor.
+   */
+  T create(ExtraSource extras);
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dart;
+
+/**
+ * A holder for an extra that is decoded on first access rather than when it is bound. Declare a
+ * {@link BindExtra} field as {@code Lazy<T>} to defer reading, casting and unwrapping a costly
+ * extra, such as a large Parcelable or Serializable graph or a Parceler model, until {@link #get()}
+ * is first called.
+ *
+ * <pre><code>
+ * {@literal @}BindExtra("key") Lazy&lt;Catalog&gt; catalog;
+ * </code></pre>
+ *
+ * The presence of a required extra is still checked when binding. An optional extra that is absent
+ * leaves the field untouched.
+ *
+ * @param <T> the type of the extra.
+ */
+public abstract class Lazy<T> {
+  private ExtraSource extras;
+  private final String key;
+  private T value;
+
+  /** Exposed for use only by generated code. */
+  protected Lazy(ExtraSource extras, String key) {
+    this.extras = extras;
+    this.key = key;
+  }
+
+  /** @return the extra, decoded from the extras it was bound from on the first call. */
+  public final synchronized T get() {
+    if (extras != null) {
+      value = decode(extras, key);
+      // Decoded once, the extras are not needed anymore.
+      extras = null;
+    }
+    return value;
+  }
+
+  /** Exposed for use only by generated code. */
+  protected abstract T decode(ExtraSource extras, String key);
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dart;
+
+/**
+ * Creates the navigation model of an activity, service or fragment and binds it. Implemented by the
+ * generated {@code __NavigationModelBinder} classes. Exposed for use only by generated code.
+ *
+ * @param <T> the activity, service or fragment type.
+ */
+public interface NavigationModelBinder<T> {
+  /**
+   * @param finder the means to read extras from {@code target}.
+   * @param target the activity, service or fragment to bind.
+   */
+  void bind(Dart.Finder finder, T target);
+
+  /**
+   * Binds again the extras of {@code extras} that differ from {@code previousExtras} into the
+   * navigation model of {@code target}, or binds a new one if it has none.
+   *
+   * @param target the activity, service or fragment previously bound with {@code previousExtras}.
+   * @param previousExtras the extras {@code target} was bound with.
+   * @param extras the new extras.
+   */
+  void rebind(T target, ExtraSource previousExtras, ExtraSource extras);
+
+  /**
+   * Creates the navigation model and binds {@code extras} into it, without touching any target.
+   * Safe to call from any thread that owns {@code extras}.
+   *
+   * @param extras the extras of the activity, service or fragment.
+   * @return the bound navigation model.
+   */
+  Object createNavigationModel(ExtraSource extras);
+
+  /**
+   * @param target the activity, service or fragment to assign the navigation model to.
+   * @param navigationModel a navigation model created by {@link
+   *     #createNavigationModel(ExtraSource)}.
+   */
+  void assignNavigationModel(T target, Object navigationModel);
+}
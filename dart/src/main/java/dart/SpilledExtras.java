@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dart;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Parcel;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads back the extras that Henson spilled to files, in place of the handles it put in their
+ * bundle. The layout of the files and handles must match {@code dart.henson.ExtraSpillover}.
+ */
+final class SpilledExtras {
+  static final String HANDLE_KEY = "dart.henson.SpilledExtra";
+  static final String DIRECTORY = "dart-extras";
+
+  private static volatile SpilledExtras installed;
+
+  private final File directory;
+  private final ClassLoader classLoader;
+
+  private SpilledExtras(Context context) {
+    directory = new File(context.getCacheDir(), DIRECTORY);
+    classLoader = context.getClassLoader();
+  }
+
+  static void install(Context context) {
+    installed = context == null ? null : new SpilledExtras(context);
+  }
+
+  /**
+   * The extras read back for one source. Each spilled extra is read once per source, like the other
+   * extras of a bundle, which are unparceled once: getting it again returns the same instance.
+   */
+  static final class Cache {
+    private Map<String, Object> values;
+
+    /**
+     * @return the extra spilled to the file named by {@code value} if it is a handle, null if this
+     *     file no longer exists, or {@code value} itself otherwise.
+     */
+    Object resolve(Object value) {
+      final SpilledExtras spilledExtras = installed;
+      if (spilledExtras == null || !(value instanceof Bundle)) {
+        return value;
+      }
+      final Bundle bundle = (Bundle) value;
+      final String name = bundle.size() == 1 ? bundle.getString(HANDLE_KEY) : null;
+      if (name == null) {
+        return value;
+      }
+      if (values == null) {
+        values = new HashMap<>();
+      } else if (values.containsKey(name)) {
+        return values.get(name);
+      }
+      final Object extra = spilledExtras.read(name);
+      values.put(name, extra);
+      return extra;
+    }
+  }
+
+  private Object read(String name) {
+    // Handles can come from other apps, they only name files of the spillover directory.
+    if (name.indexOf(File.separatorChar) >= 0 || name.startsWith(".")) {
+      return null;
+    }
+    final File file = new File(directory, name);
+    final byte[] bytes;
+    try {
+      final RandomAccessFile input = new RandomAccessFile(file, "r");
+      try {
+        final FileChannel channel = input.getChannel();
+        final MappedByteBuffer buffer =
+            channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+      } finally {
+        input.close();
+      }
+    } catch (IOException e) {
+      return null;
+    }
+    // Reading an extra keeps its file from being collected, the activity it was sent to may be
+    // recreated from the same intent.
+    file.setLastModified(System.currentTimeMillis());
+    final Parcel parcel = Parcel.obtain();
+    try {
+      parcel.unmarshall(bytes, 0, bytes.length);
+      parcel.setDataPosition(0);
+      return parcel.readValue(classLoader);
+    } finally {
+      parcel.recycle();
+    }
+  }
+}
@@ -20,27 +20,70 @@ package dart;
 import static dart.Dart.EXTRA_BINDERS;
 import static dart.Dart.NAVIGATION_MODEL_BINDERS;
 import static dart.Dart.NO_OP;
+import static dart.Dart.REGISTRIES;
 import static dart.Dart.bind;
 import static dart.Dart.bindNavigationModel;
 import static org.fest.assertions.api.Assertions.assertThat;
-import static org.fest.assertions.api.Assertions.entry;
+import static org.junit.Assert.fail;
 
 import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
 import org.robolectric.annotation.Config;
 
 @RunWith(RobolectricTestRunner.class)
 @Config(manifest = Config.NONE)
 public class DartTest {
+  private static final BinderRegistry REGISTRY =
+      new BinderRegistry() {
+        @Override
+        public ExtraBinder<?> getExtraBinder(Class<?> navigationModelClass) {
+          return navigationModelClass == Registered.class ? new RegisteredExtraBinder() : null;
+        }
+
+        @Override
+        public NavigationModelBinder<?> getNavigationModelBinder(Class<?> targetClass) {
+          return targetClass == Registered.class ? new RegisteredNavigationModelBinder() : null;
+        }
+      };
+
   @Before
   @After // Clear out cache of biners  before and after each test.
   public void resetExtrasCache() {
     EXTRA_BINDERS.clear();
     NAVIGATION_MODEL_BINDERS.clear();
+    REGISTRIES.clear();
+    Dart.setBindingListener(null);
+    Dart.setBindingPolicy(null);
+    Dart.setSpilledExtrasContext(null);
+    Dart.policyClock = Dart.SYSTEM_CLOCK;
   }
 
   @Test
@@ -50,15 +93,782 @@ public class DartTest {
     Example example = new Example();
     bind(example, null);
     bindNavigationModel(example, null, null);
-    assertThat(EXTRA_BINDERS).contains(entry(Example.class, NO_OP));
-    assertThat(NAVIGATION_MODEL_BINDERS).contains(entry(Example.class, NO_OP));
+    assertThat(EXTRA_BINDERS.get(Example.class)).isSameAs(NO_OP);
+    assertThat(NAVIGATION_MODEL_BINDERS.get(Example.class)).isSameAs(NO_OP);
   }
 
   @Test
   public void bindingKnownPackagesIsNoOp() {
     bind(new Activity());
     bindNavigationModel(new Object(), new Activity());
-    assertThat(EXTRA_BINDERS).isEmpty();
-    assertThat(NAVIGATION_MODEL_BINDERS).isEmpty();
+    assertThat(EXTRA_BINDERS.isEmpty()).isTrue();
+    assertThat(NAVIGATION_MODEL_BINDERS.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void registeredBindersAreUsed() {
+    Dart.addRegistry(REGISTRY);
+
+    Registered registered = new Registered();
+    bind(registered, null);
+    bindNavigationModel(registered, null, Dart.Finder.BUNDLE);
+    assertThat(registered.navigationModelBindings).isEqualTo(1);
+    assertThat(registered.extraBindings).isEqualTo(1);
+  }
+
+  @Test
+  public void removedRegistriesAreNotConsulted() {
+    Dart.addRegistry(REGISTRY);
+
+    assertThat(Dart.removeRegistry(REGISTRY)).isTrue();
+    assertThat(REGISTRIES).isEmpty();
+    assertThat(Dart.removeRegistry(REGISTRY)).isFalse();
+  }
+
+  @Test
+  public void activityExtrasAreResolvedOncePerBind() {
+    Dart.addRegistry(REGISTRY);
+    CountingActivity activity = new CountingActivity();
+    activity.setIntent(new Intent().putExtra("key", "value"));
+
+    Registered registered = new Registered();
+    bindNavigationModel(registered, activity);
+    assertThat(activity.getIntentCalls).isEqualTo(1);
+    assertThat(registered.extraBindings).isEqualTo(1);
+  }
+
+  @Test
+  public void missingExtrasAreEmpty() {
+    assertThat(Dart.Finder.ACTIVITY.getExtras(new Activity()).keySet()).isEmpty();
+    assertThat(Dart.Finder.BUNDLE.getExtras(null).keySet()).isEmpty();
+  }
+
+  @Test
+  public void lazyExtrasAreDecodedOnFirstAccessOnly() {
+    Bundle extras = new Bundle();
+    extras.putString("key", "value");
+    final int[] decodings = new int[1];
+    Lazy<String> lazy =
+        new Lazy<String>(ExtraSource.of(extras), "key") {
+          @Override
+          protected String decode(ExtraSource extras, String key) {
+            decodings[0]++;
+            return (String) extras.get(key);
+          }
+        };
+    assertThat(decodings[0]).isEqualTo(0);
+    assertThat(lazy.get()).isEqualTo("value");
+    assertThat(lazy.get()).isEqualTo("value");
+    assertThat(decodings[0]).isEqualTo(1);
+  }
+
+  @Test
+  public void bindingListenerReceivesMetrics() {
+    class Unbound {}
+
+    Dart.addRegistry(REGISTRY);
+    final List<String> events = new ArrayList<>();
+    Dart.setBindingListener(
+        new BindingListener() {
+          @Override
+          public void onBinderLookup(Class<?> targetClass, Lookup lookup, long lookupNanos) {
+            events.add(targetClass.getSimpleName() + " " + lookup);
+          }
+
+          @Override
+          public void onExtraBound(Class<?> navigationModelClass, String key, boolean parceler) {
+            events.add(navigationModelClass.getSimpleName() + " " + key + " " + parceler);
+          }
+
+          @Override
+          public void onBind(Class<?> targetClass, int extrasBound, long bindNanos) {
+            events.add(targetClass.getSimpleName() + " bound " + extrasBound);
+          }
+        });
+
+    bindNavigationModel(new Registered(), null, Dart.Finder.BUNDLE);
+    bindNavigationModel(new Registered(), null, Dart.Finder.BUNDLE);
+    bindNavigationModel(new Unbound(), null, Dart.Finder.BUNDLE);
+    bindNavigationModel(new Unbound(), null, Dart.Finder.BUNDLE);
+    assertThat(events)
+        .containsExactly(
+            "Registered MISS",
+            "Registered key false",
+            "Registered bound 1",
+            "Registered HIT",
+            "Registered key false",
+            "Registered bound 1",
+            "Unbound MISS",
+            "Unbound NEGATIVE_HIT");
+  }
+
+  @Test
+  public void preloadCachesBinders() throws Exception {
+    class Unbound {}
+
+    Dart.addRegistry(REGISTRY);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Dart.preload(Arrays.asList(Registered.class, Unbound.class), executor);
+      executor.shutdown();
+      assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(EXTRA_BINDERS.get(Registered.class)).isInstanceOf(RegisteredExtraBinder.class);
+    assertThat(NAVIGATION_MODEL_BINDERS.get(Registered.class))
+        .isInstanceOf(RegisteredNavigationModelBinder.class);
+    assertThat(EXTRA_BINDERS.get(Unbound.class)).isSameAs(NO_OP);
+    assertThat(NAVIGATION_MODEL_BINDERS.get(Unbound.class)).isSameAs(NO_OP);
+  }
+
+  @Test
+  public void bindingPolicyReportsExpensiveExtrasBoundOnMainThread() throws Exception {
+    Dart.addRegistry(REGISTRY);
+    final List<BindingPolicy.Violation> violations = new ArrayList<>();
+    Dart.setBindingPolicy(
+        new BindingPolicy.Builder()
+            .detectSerializedSize(100)
+            .penaltyListener(
+                new BindingPolicy.OnViolationListener() {
+                  @Override
+                  public void onViolation(BindingPolicy.Violation violation) {
+                    violations.add(violation);
+                  }
+                })
+            .build());
+    final Bundle small = new Bundle();
+    small.putByteArray("key", new byte[10]);
+    final Bundle large = new Bundle();
+    large.putByteArray("key", new byte[1000]);
+
+    bindNavigationModel(new Registered(), small);
+    assertThat(violations).isEmpty();
+    bindNavigationModel(new Registered(), large);
+    assertThat(violations).hasSize(1);
+    assertThat((Object) violations.get(0).getNavigationModelClass()).isSameAs(Registered.class);
+    assertThat(violations.get(0).getKey()).isEqualTo("key");
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor
+          .submit(
+              new Runnable() {
+                @Override
+                public void run() {
+                  bindNavigationModel(new Registered(), large);
+                }
+              })
+          .get();
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(violations).hasSize(1);
+
+    Dart.setBindingPolicy(
+        new BindingPolicy.Builder().detectSerializedSize(100).penaltyDeath().build());
+    try {
+      bindNavigationModel(new Registered(), large);
+      fail();
+    } catch (BindingPolicy.Violation expected) {
+      assertThat(expected.getKey()).isEqualTo("key");
+    }
+  }
+
+  @Test
+  public void bindingPolicyDoesNotChargeBinderLookupToFirstExtra() {
+    final long[] now = new long[1];
+    Dart.policyClock =
+        new Dart.Clock() {
+          @Override
+          public long nanoTime() {
+            return now[0];
+          }
+        };
+    Dart.addRegistry(
+        new BinderRegistry() {
+          @Override
+          public ExtraStateSaver<?> getExtraBinder(Class<?> navigationModelClass) {
+            // A slow lookup.
+            now[0] += TimeUnit.MILLISECONDS.toNanos(200);
+            if (navigationModelClass == Nesting.class) {
+              return new ExtraBinder<Nesting>() {
+                @Override
+                public void bind(Nesting target, ExtraSource extras) {
+                  // A slow extra.
+                  now[0] += TimeUnit.MILLISECONDS.toNanos(200);
+                  Dart.onExtraBound(target, "key", false);
+                }
+
+                @Override
+                public void rebind(
+                    Nesting target,
+                    Nesting defaults,
+                    ExtraSource previousExtras,
+                    ExtraSource extras) {}
+
+                @Override
+                public void saveState(Nesting target, Bundle outState) {}
+              };
+            }
+            return REGISTRY.getExtraBinder(navigationModelClass);
+          }
+
+          @Override
+          public NavigationModelBinder<?> getNavigationModelBinder(Class<?> targetClass) {
+            return null;
+          }
+        });
+    Dart.setBindingPolicy(
+        new BindingPolicy.Builder()
+            .detectDecodeTime(100, TimeUnit.MILLISECONDS)
+            .penaltyDeath()
+            .build());
+    Bundle bundle = new Bundle();
+    bundle.putString("key", "value");
+
+    bindNavigationModel(new Registered(), bundle);
+    try {
+      bindNavigationModel(new Nesting(), bundle);
+      fail();
+    } catch (BindingPolicy.Violation expected) {
+      assertThat(expected.getKey()).isEqualTo("key");
+    }
+  }
+
+  @Test
+  public void bindingPolicyChecksBindingEnclosingNestedBinding() {
+    Dart.addRegistry(REGISTRY);
+    final Bundle small = new Bundle();
+    small.putByteArray("key", new byte[10]);
+    Dart.addRegistry(
+        new BinderRegistry() {
+          @Override
+          public ExtraBinder<?> getExtraBinder(Class<?> navigationModelClass) {
+            if (navigationModelClass != Nesting.class) {
+              return null;
+            }
+            return new ExtraBinder<Nesting>() {
+              @Override
+              public void bind(Nesting target, ExtraSource extras) {
+                bindNavigationModel(new Registered(), small);
+                Dart.onExtraBound(target, "key", false);
+              }
+
+              @Override
+              public void rebind(
+                  Nesting target,
+                  Nesting defaults,
+                  ExtraSource previousExtras,
+                  ExtraSource extras) {}
+
+              @Override
+              public void saveState(Nesting target, Bundle outState) {}
+            };
+          }
+
+          @Override
+          public NavigationModelBinder<?> getNavigationModelBinder(Class<?> targetClass) {
+            return null;
+          }
+        });
+    final List<BindingPolicy.Violation> violations = new ArrayList<>();
+    Dart.setBindingPolicy(
+        new BindingPolicy.Builder()
+            .detectSerializedSize(100)
+            .penaltyListener(
+                new BindingPolicy.OnViolationListener() {
+                  @Override
+                  public void onViolation(BindingPolicy.Violation violation) {
+                    violations.add(violation);
+                  }
+                })
+            .build());
+    Bundle large = new Bundle();
+    large.putByteArray("key", new byte[1000]);
+
+    bindNavigationModel(new Nesting(), large);
+    assertThat(violations).hasSize(1);
+    assertThat((Object) violations.get(0).getNavigationModelClass()).isSameAs(Nesting.class);
+  }
+
+  @Test
+  public void immutableNavigationModelsAreNotBound() {
+    Dart.addRegistry(
+        new BinderRegistry() {
+          @Override
+          public ExtraStateSaver<?> getExtraBinder(Class<?> navigationModelClass) {
+            if (navigationModelClass != Nesting.class) {
+              return null;
+            }
+            return new ImmutableExtraBinder<Nesting>() {
+              @Override
+              public Nesting create(ExtraSource extras) {
+                return new Nesting();
+              }
+
+              @Override
+              public void saveState(Nesting target, Bundle outState) {
+                outState.putString("key", "value");
+              }
+            };
+          }
+
+          @Override
+          public NavigationModelBinder<?> getNavigationModelBinder(Class<?> targetClass) {
+            return null;
+          }
+        });
+
+    try {
+      bindNavigationModel(new Nesting(), new Bundle());
+      fail();
+    } catch (IllegalStateException expected) {
+      assertThat(expected.getMessage()).contains(Nesting.class.getName());
+    }
+    Bundle outState = new Bundle();
+    Dart.saveState(new Nesting(), outState);
+    assertThat(outState.getBundle(Dart.STATE_KEY).getString("key")).isEqualTo("value");
+  }
+
+  @Test
+  public void bindAsyncDecodesOnExecutor() throws Exception {
+    Dart.addRegistry(REGISTRY);
+    Registered registered = new Registered();
+    registered.setIntent(new Intent().putExtra("key", "value"));
+    final List<Runnable> tasks = new ArrayList<>();
+
+    Future<Void> bound =
+        Dart.bindAsync(
+            registered,
+            new Executor() {
+              @Override
+              public void execute(Runnable task) {
+                tasks.add(task);
+              }
+            });
+    assertThat(registered.navigationModelBindings).isEqualTo(0);
+    assertThat(bound.isDone()).isFalse();
+
+    tasks.get(0).run();
+    assertThat(bound.get()).isNull();
+    assertThat(registered.navigationModelBindings).isEqualTo(1);
+    assertThat(registered.navigationModel).isEqualTo("value");
+  }
+
+  @Test
+  public void restoreStatePrefersRetainedThenSavedNavigationModel() {
+    Dart.addRegistry(REGISTRY);
+    Registered previous = new Registered();
+    previous.navigationModel = "saved";
+    Bundle savedInstanceState = new Bundle();
+    Dart.saveState(previous, savedInstanceState);
+
+    Registered retained = new Registered();
+    Dart.restoreState(retained, "retained", savedInstanceState);
+    assertThat(retained.navigationModel).isEqualTo("retained");
+
+    Registered restored = new Registered();
+    Dart.restoreState(restored, null, savedInstanceState);
+    assertThat(restored.navigationModel).isEqualTo("saved");
+
+    Registered bound = new Registered();
+    Dart.restoreState(bound, null, null);
+    assertThat(bound.navigationModel).isNull();
+    assertThat(bound.navigationModelBindings).isEqualTo(1);
+  }
+
+  @Test
+  public void changedExtrasAreDetected() {
+    Bundle previous = new Bundle();
+    previous.putString("key", "value");
+    previous.putIntArray("array", new int[] {1, 2});
+    Bundle extras = new Bundle(previous);
+    extras.putIntArray("array", new int[] {1, 2});
+    ExtraSource previousSource = ExtraSource.of(previous);
+    ExtraSource source = ExtraSource.of(extras);
+
+    assertThat(Dart.isExtraChanged(previousSource, source, "key")).isFalse();
+    assertThat(Dart.isExtraChanged(previousSource, source, "array")).isFalse();
+    assertThat(Dart.isExtraChanged(previousSource, source, "missing")).isFalse();
+    extras.putString("key", "other");
+    extras.putString("added", null);
+    assertThat(Dart.isExtraChanged(previousSource, source, "key")).isTrue();
+    assertThat(Dart.isExtraChanged(previousSource, source, "added")).isTrue();
+  }
+
+  @Test
+  public void parcelablesAndSerializablesWithoutEqualsAreComparedMarshalled() {
+    Bundle previous = new Bundle();
+    previous.putParcelable("parcelable", new Wrapper("value"));
+    previous.putSerializable("serializable", new Token("value"));
+    Bundle extras = new Bundle();
+    extras.putParcelable("parcelable", new Wrapper("value"));
+    extras.putSerializable("serializable", new Token("value"));
+    ExtraSource previousSource = ExtraSource.of(previous);
+    ExtraSource source = ExtraSource.of(extras);
+
+    assertThat(Dart.isExtraChanged(previousSource, source, "parcelable")).isFalse();
+    assertThat(Dart.isExtraChanged(previousSource, source, "serializable")).isFalse();
+    extras.putParcelable("parcelable", new Wrapper("other"));
+    extras.putSerializable("serializable", new Token("other"));
+    assertThat(Dart.isExtraChanged(previousSource, source, "parcelable")).isTrue();
+    assertThat(Dart.isExtraChanged(previousSource, source, "serializable")).isTrue();
+  }
+
+  @Test
+  public void extraSourcesReadExtras() {
+    Map<String, Object> map = new HashMap<>();
+    map.put("int", 1);
+    map.put("string", "value");
+    ExtraSource mapSource = ExtraSource.of(map);
+    assertThat(mapSource.getInt("int")).isEqualTo(1);
+    assertThat(mapSource.getLong("missing")).isEqualTo(0L);
+    assertThat(mapSource.get("string")).isEqualTo("value");
+    assertThat(mapSource.containsKey("missing")).isFalse();
+
+    ExtraSource intentSource = ExtraSource.of(new Intent().putExtra("int", 1));
+    assertThat(intentSource.getInt("int")).isEqualTo(1);
+    assertThat(intentSource.containsKey("int")).isTrue();
+    assertThat(intentSource.copy().keySet()).containsOnly("int");
+
+    Dart.addRegistry(REGISTRY);
+    Registered registered = new Registered();
+    bindNavigationModel(registered, mapSource);
+    assertThat(registered.extraBindings).isEqualTo(1);
+  }
+
+  @Test
+  public void mistypedPrimitiveExtrasAreNotReadAsDefaultValues() {
+    Bundle bundle = new Bundle();
+    bundle.putLong("long", 1L);
+    bundle.putInt("zero", 0);
+    Intent intent = new Intent().putExtra("long", 1L).putExtra("zero", 0);
+    for (ExtraSource source : Arrays.asList(ExtraSource.of(bundle), ExtraSource.of(intent))) {
+      assertThat(source.getInt("zero")).isEqualTo(0);
+      assertThat(source.getInt("missing")).isEqualTo(0);
+      try {
+        source.getInt("long");
+        fail();
+      } catch (ClassCastException expected) {
+        assertThat(expected.getMessage()).contains("'long'");
+      }
+    }
+  }
+
+  @Test
+  public void spilledExtrasAreReadInPlaceOfTheirHandle() throws Exception {
+    Context context = RuntimeEnvironment.application;
+    File directory = new File(context.getCacheDir(), SpilledExtras.DIRECTORY);
+    directory.mkdirs();
+    Parcel parcel = Parcel.obtain();
+    parcel.writeValue(new int[] {1, 2, 3});
+    FileOutputStream output = new FileOutputStream(new File(directory, "spilled"));
+    output.write(parcel.marshall());
+    output.close();
+    parcel.recycle();
+    Intent intent =
+        new Intent()
+            .putExtra("spilled", handle("spilled"))
+            .putExtra("missing", handle("missing"))
+            .putExtra("outside", handle("../spilled"));
+
+    assertThat(ExtraSource.of(intent).get("spilled")).isInstanceOf(Bundle.class);
+
+    Dart.setSpilledExtrasContext(context);
+    assertThat((int[]) ExtraSource.of(intent).get("spilled")).containsOnly(1, 2, 3);
+    assertThat((int[]) ExtraSource.of(intent.getExtras()).get("spilled")).containsOnly(1, 2, 3);
+    assertThat(ExtraSource.of(intent).get("missing")).isNull();
+    assertThat(ExtraSource.of(intent).get("outside")).isNull();
+
+    ExtraSource source = ExtraSource.of(intent);
+    assertThat(source.get("spilled")).isSameAs(source.get("spilled"));
+  }
+
+  private static Bundle handle(String name) {
+    Bundle handle = new Bundle();
+    handle.putString(SpilledExtras.HANDLE_KEY, name);
+    return handle;
+  }
+
+  @Test
+  public void fallbackSourcesReadEachExtraFromTheFirstSourceContainingIt() {
+    Map<String, Object> intent = new HashMap<>();
+    intent.put("int", 1);
+    intent.put("null", null);
+    Map<String, Object> state = new HashMap<>();
+    state.put("int", 2);
+    state.put("null", "state");
+    state.put("string", "state");
+    state.put("long", 3L);
+    ExtraSource source = ExtraSource.firstOf(ExtraSource.of(intent), ExtraSource.of(state));
+    assertThat(source.getInt("int")).isEqualTo(1);
+    assertThat(source.get("null")).isNull();
+    assertThat(source.get("string")).isEqualTo("state");
+    assertThat(source.getLong("long")).isEqualTo(3L);
+    assertThat(source.getLong("missing")).isEqualTo(0L);
+    assertThat(source.containsKey("missing")).isFalse();
+    assertThat(source.keySet()).containsOnly("int", "null", "string", "long");
+
+    state.put("int", 4);
+    ExtraSource copy = source.copy();
+    intent.remove("int");
+    assertThat(copy.getInt("int")).isEqualTo(1);
+    assertThat(source.getInt("int")).isEqualTo(4);
+  }
+
+  @Test
+  public void rebindKeepsNavigationModelEvenIfExtrasWereRemoved() {
+    Dart.addRegistry(REGISTRY);
+    Registered registered = new Registered();
+    registered.setIntent(new Intent().putExtra("key", "value").putExtra("other", 1));
+
+    Dart.rebind(registered, new Intent().putExtra("key", "changed").putExtra("other", 1));
+    assertThat(registered.navigationModel).isEqualTo("changed");
+    assertThat(registered.navigationModelBindings).isEqualTo(0);
+
+    Intent intent = new Intent().putExtra("key", "removed");
+    Dart.rebind(registered, intent);
+    assertThat(registered.getIntent()).isSameAs(intent);
+    assertThat(registered.navigationModel).isEqualTo("removed");
+    assertThat(registered.navigationModelBindings).isEqualTo(0);
+  }
+
+  @Test
+  public void removedExtrasAreDetected() {
+    Map<String, Object> previous = new HashMap<>();
+    previous.put("key", "value");
+    previous.put("other", 1);
+    Map<String, Object> extras = new HashMap<>(previous);
+    extras.put("added", 2);
+    assertThat(Dart.isExtraRemoved(ExtraSource.of(previous), ExtraSource.of(extras))).isFalse();
+
+    extras.put("other", null);
+    assertThat(Dart.isExtraRemoved(ExtraSource.of(previous), ExtraSource.of(extras))).isTrue();
+    extras.remove("other");
+    assertThat(Dart.isExtraRemoved(ExtraSource.of(previous), ExtraSource.of(extras))).isTrue();
+  }
+
+  @Test
+  public void absentExtrasSetToNullAreDetectedAsRemoved() {
+    Map<String, Object> previous = new HashMap<>();
+    previous.put("key", "value");
+    previous.put("unchanged", null);
+    Map<String, Object> extras = new HashMap<>(previous);
+    assertThat(Dart.isExtraRemoved(ExtraSource.of(previous), ExtraSource.of(extras))).isFalse();
+
+    // Changed from absent to null, generated binders reset the fields bound to it.
+    extras.put("added", null);
+    assertThat(Dart.isExtraChanged(ExtraSource.of(previous), ExtraSource.of(extras), "added"))
+        .isTrue();
+    assertThat(Dart.isExtraRemoved(ExtraSource.of(previous), ExtraSource.of(extras))).isTrue();
+  }
+
+  @Test
+  public void concurrentBindsAreConsistent() throws Exception {
+    class Unbound {}
+
+    Dart.addRegistry(REGISTRY);
+    final int threadCount = 8;
+    final int bindCount = 1000;
+    final CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<Registered>> results = new ArrayList<>();
+      for (int i = 0; i < threadCount; i++) {
+        results.add(
+            executor.submit(
+                new Callable<Registered>() {
+                  @Override
+                  public Registered call() throws Exception {
+                    Registered registered = new Registered();
+                    Unbound unbound = new Unbound();
+                    start.await();
+                    for (int j = 0; j < bindCount; j++) {
+                      bind(registered, null);
+                      bindNavigationModel(registered, null, Dart.Finder.BUNDLE);
+                      bind(unbound, null);
+                      bindNavigationModel(unbound, null, Dart.Finder.BUNDLE);
+                    }
+                    return registered;
+                  }
+                }));
+      }
+      start.countDown();
+
+      for (Future<Registered> result : results) {
+        Registered registered = result.get();
+        assertThat(registered.extraBindings).isEqualTo(bindCount);
+        assertThat(registered.navigationModelBindings).isEqualTo(bindCount);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(EXTRA_BINDERS.get(Unbound.class)).isSameAs(NO_OP);
+    assertThat(NAVIGATION_MODEL_BINDERS.get(Unbound.class)).isSameAs(NO_OP);
+    assertThat(EXTRA_BINDERS.get(Registered.class)).isNotSameAs(NO_OP);
+    assertThat(NAVIGATION_MODEL_BINDERS.get(Registered.class)).isNotSameAs(NO_OP);
+  }
+
+  @Test
+  public void bindersAreLoadedByTheClassLoaderOfTheirClass() throws Exception {
+    ClassLoader featureClassLoader = new FeatureClassLoader(getClass().getClassLoader());
+    Class<?> featureClass = featureClassLoader.loadClass(Feature.class.getName());
+    assertThat(BinderCache.isLocal(Registered.class)).isTrue();
+    assertThat(BinderCache.isLocal(featureClass)).isFalse();
+
+    Object feature = featureClass.getConstructor().newInstance();
+    bindNavigationModel(feature, ExtraSource.of(new Bundle()));
+    assertThat(featureClass.getField("binderClassLoader").get(feature))
+        .isSameAs(featureClassLoader);
+
+    // The instance of the binder is held by its class, it stays cached while its class loader
+    // lives.
+    Object binder =
+        featureClassLoader
+            .loadClass(Feature__ExtraBinder.class.getName())
+            .getField(Dart.BINDER_INSTANCE_FIELD)
+            .get(null);
+    System.gc();
+    System.runFinalization();
+    assertThat((Object) EXTRA_BINDERS.get(featureClass)).isSameAs(binder);
+  }
+
+  /** Loads the feature classes itself, like the class loader of a dynamic feature module. */
+  static class FeatureClassLoader extends ClassLoader {
+    FeatureClassLoader(ClassLoader parent) {
+      super(parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (!name.startsWith(Feature.class.getName())) {
+        return super.loadClass(name, resolve);
+      }
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> cls = findLoadedClass(name);
+        if (cls == null) {
+          String resource = name.replace('.', '/') + ".class";
+          try (InputStream in = getParent().getResourceAsStream(resource)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int read; (read = in.read(buffer)) != -1; ) {
+              bytes.write(buffer, 0, read);
+            }
+            cls = defineClass(name, bytes.toByteArray(), 0, bytes.size());
+          } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+          }
+        }
+        return cls;
+      }
+    }
+  }
+
+  public static class Feature {
+    public ClassLoader binderClassLoader;
+  }
+
+  public static class Feature__ExtraBinder implements ExtraBinder<Feature> {
+    public static final Feature__ExtraBinder INSTANCE = new Feature__ExtraBinder();
+
+    @Override
+    public void bind(Feature target, ExtraSource extras) {
+      target.binderClassLoader = getClass().getClassLoader();
+    }
+
+    @Override
+    public void rebind(
+        Feature target, Feature defaults, ExtraSource previousExtras, ExtraSource extras) {}
+
+    @Override
+    public void saveState(Feature target, Bundle outState) {}
+  }
+
+  static class Registered extends Activity {
+    int extraBindings;
+    int navigationModelBindings;
+    String navigationModel;
+  }
+
+  static class Nesting {}
+
+  /** A parcelable that doesn't override equals, like the wrappers of Parceler. */
+  static class Wrapper implements Parcelable {
+    final String value;
+
+    Wrapper(String value) {
+      this.value = value;
+    }
+
+    @Override
+    public int describeContents() {
+      return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+      dest.writeString(value);
+    }
+  }
+
+  static class Token implements Serializable {
+    final String value;
+
+    Token(String value) {
+      this.value = value;
+    }
+  }
+
+  static class CountingActivity extends Activity {
+    int getIntentCalls;
+
+    @Override
+    public Intent getIntent() {
+      getIntentCalls++;
+      return super.getIntent();
+    }
+  }
+
+  static class RegisteredExtraBinder implements ExtraBinder<Registered> {
+    @Override
+    public void bind(Registered target, ExtraSource extras) {
+      target.extraBindings++;
+      Dart.onExtraBound(target, "key", false);
+    }
+
+    @Override
+    public void rebind(
+        Registered target, Registered defaults, ExtraSource previousExtras, ExtraSource extras) {
+      target.extraBindings++;
+    }
+
+    @Override
+    public void saveState(Registered target, Bundle outState) {
+      Dart.putExtra(outState, "key", target.navigationModel);
+    }
+  }
+
+  static class RegisteredNavigationModelBinder implements NavigationModelBinder<Registered> {
+    @Override
+    public void bind(Dart.Finder finder, Registered target) {
+      target.navigationModelBindings++;
+    }
+
+    @Override
+    public void rebind(Registered target, ExtraSource previousExtras, ExtraSource extras) {
+      target.navigationModel = (String) extras.get("key");
+    }
+
+    @Override
+    public Object createNavigationModel(ExtraSource extras) {
+      return (String) extras.get("key");
+    }
+
+    @Override
+    public void assignNavigationModel(Registered target, Object navigationModel) {
+      target.navigationModelBindings++;
+      target.navigationModel = (String) navigationModel;
+    }
   }
 }
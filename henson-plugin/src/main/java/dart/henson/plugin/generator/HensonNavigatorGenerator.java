@@ -56,6 +56,16 @@ public class HensonNavigatorGenerator {
                       "    return %s__IntentBuilder.getInitialState(context);\n",
                       targetActivityCapitalizedName));
               methodStatement.append("  }\n");
+              // Builders don't know their target is a fragment, they all build arguments.
+              methodStatement.append(
+                  format(
+                      "  public static %s__IntentBuilder.InitialState argumentsFor%s() {\n",
+                      targetActivityCapitalizedName, targetActivityCapitalizedName));
+              methodStatement.append(
+                  format(
+                      "    return %s__IntentBuilder.getInitialArgumentsState();\n",
+                      targetActivityCapitalizedName));
+              methodStatement.append("  }\n");
             });
     String classEndStatement = "}\n";
     return new StringBuilder()
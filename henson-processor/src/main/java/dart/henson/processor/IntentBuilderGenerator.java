@@ -20,8 +20,12 @@ package dart.henson.processor;
 import static com.squareup.javapoet.ClassName.get;
 import static dart.common.util.ExtraBindingTargetUtil.BUNDLE_BUILDER_SUFFIX;
 import static dart.common.util.ExtraBindingTargetUtil.NEXT_STATE_METHOD;
+import static dart.common.util.ExtraBindingTargetUtil.REQUIRED_SETTERS_CLASS;
 
+import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
@@ -32,7 +36,6 @@ import dart.common.BaseGenerator;
 import dart.common.ExtraBindingTarget;
 import dart.common.ExtraInjection;
 import dart.common.FieldBinding;
-import dart.henson.ActivityClassFinder;
 import dart.henson.AllRequiredSetState;
 import dart.henson.Bundler;
 import dart.henson.RequiredStateSequence;
@@ -52,10 +55,16 @@ public class IntentBuilderGenerator extends BaseGenerator {
   static final String REQUIRED_SEQUENCE_CLASS = "RequiredSequence";
   static final String RESOLVED_OPTIONAL_SEQUENCE_CLASS = "ResolvedAllSet";
   private static final String INITIAL_STATE_METHOD = "getInitialState";
+  private static final String INITIAL_ARGUMENTS_STATE_METHOD = "getInitialArgumentsState";
+  private static final String COMPONENT_FIELD = "component";
+  private static final String EXTRA_COUNT_FIELD = "EXTRA_COUNT";
+  private static final String COMPONENT_METHOD = "getComponent";
   private static final String OPTIONAL_SEQUENCE_CLASS = "AllSet";
   private static final String OPTIONAL_SEQUENCE_GENERIC = "ALL_SET";
   private static final String OPTIONAL_SEQUENCE_SUBCLASS_GENERIC = "SELF";
   private static final String REQUIRED_SEQUENCE_INTERMEDIARY_CLASS_PREFIX = "AfterSetting";
+  private static final AnnotationSpec UNCHECKED =
+      AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build();
 
   private final ExtraBindingTarget target;
 
@@ -68,7 +77,10 @@ public class IntentBuilderGenerator extends BaseGenerator {
     TypeSpec.Builder intentBuilderTypeBuilder =
         TypeSpec.classBuilder(builderClassName()).addModifiers(Modifier.PUBLIC);
 
+    emitExtraCount(intentBuilderTypeBuilder);
+    emitComponentGetter(intentBuilderTypeBuilder);
     emitInitialStateGetter(intentBuilderTypeBuilder);
+    emitInitialArgumentsStateGetter(intentBuilderTypeBuilder);
     emitNextStateGetter(intentBuilderTypeBuilder);
     emitExtraDSLStateMachine(intentBuilderTypeBuilder);
     emitResolvedOptionalSequence(intentBuilderTypeBuilder);
@@ -78,7 +90,6 @@ public class IntentBuilderGenerator extends BaseGenerator {
     JavaFile javaFile =
         JavaFile.builder(target.classPackage, intentBuilderTypeBuilder.build())
             .addFileComment("Generated code from Henson. Do not modify!")
-            .addStaticImport(ActivityClassFinder.class, "getClassDynamically")
             .build();
     return javaFile.toString();
   }
@@ -92,6 +103,53 @@ public class IntentBuilderGenerator extends BaseGenerator {
     return target.className + BUNDLE_BUILDER_SUFFIX;
   }
 
+  /**
+   * Counts the extras the builder can write, including the ones of ancestors, to size the bundle of
+   * the intent once. Children add this constant to their own count.
+   */
+  private void emitExtraCount(TypeSpec.Builder intentBuilderTypeBuilder) {
+    final CodeBlock count;
+    if (target.parentPackage == null) {
+      count = CodeBlock.of("$L", target.bindingMap.size());
+    } else {
+      final ClassName parentIntentBuilder =
+          get(target.parentPackage, target.parentClass + BUNDLE_BUILDER_SUFFIX);
+      count =
+          target.bindingMap.isEmpty()
+              ? CodeBlock.of("$T.$L", parentIntentBuilder, EXTRA_COUNT_FIELD)
+              : CodeBlock.of(
+                  "$L + $T.$L", target.bindingMap.size(), parentIntentBuilder, EXTRA_COUNT_FIELD);
+    }
+    intentBuilderTypeBuilder.addField(
+        FieldSpec.builder(
+                TypeName.INT, EXTRA_COUNT_FIELD, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .initializer(count)
+            .build());
+  }
+
+  /**
+   * The component of the target is named rather than resolved from its class: building an intent
+   * doesn't load the target, which may even belong to a feature module that is not installed yet.
+   * The component is created once, the package of all the contexts of an app being the same.
+   */
+  private void emitComponentGetter(TypeSpec.Builder intentBuilderTypeBuilder) {
+    final ClassName componentName = ClassName.get("android.content", "ComponentName");
+    intentBuilderTypeBuilder.addField(
+        componentName, COMPONENT_FIELD, Modifier.PRIVATE, Modifier.STATIC);
+    intentBuilderTypeBuilder.addMethod(
+        MethodSpec.methodBuilder(COMPONENT_METHOD)
+            .addModifiers(Modifier.PRIVATE)
+            .addModifiers(Modifier.STATIC)
+            .addParameter(get("android.content", "Context"), "context")
+            .returns(componentName)
+            .beginControlFlow("if ($L == null)", COMPONENT_FIELD)
+            .addStatement(
+                "$L = new $T(context, $S)", COMPONENT_FIELD, componentName, target.getFQN())
+            .endControlFlow()
+            .addStatement("return $L", COMPONENT_FIELD)
+            .build());
+  }
+
   private void emitInitialStateGetter(TypeSpec.Builder intentBuilderTypeBuilder) {
     MethodSpec.Builder initialStateGetterForHensonBuilder =
         MethodSpec.methodBuilder(INITIAL_STATE_METHOD)
@@ -101,47 +159,69 @@ public class IntentBuilderGenerator extends BaseGenerator {
             .returns(get(target.classPackage, builderClassName(), INITIAL_STATE_CLASS));
 
     initialStateGetterForHensonBuilder.addStatement(
-        "final $T intent = new $T(context, getClassDynamically($S))",
-        ClassName.get("android.content", "Intent"),
+        "final $T intent = new $T().setComponent(getComponent(context))",
         ClassName.get("android.content", "Intent"),
-        target.getFQN());
+        ClassName.get("android.content", "Intent"));
     initialStateGetterForHensonBuilder.addStatement(
-        "final $T bundler = $T.create()", Bundler.class, Bundler.class);
+        "final $T bundler = $T.create($L)", Bundler.class, Bundler.class, EXTRA_COUNT_FIELD);
     initialStateGetterForHensonBuilder.addStatement(
-        "return new $L(bundler, intent)", INITIAL_STATE_CLASS);
+        "return new $L(bundler, intent)", initialStateImplementation());
 
     intentBuilderTypeBuilder.addMethod(initialStateGetterForHensonBuilder.build());
   }
 
+  /** The same state machine builds the arguments of a fragment, without any intent. */
+  private void emitInitialArgumentsStateGetter(TypeSpec.Builder intentBuilderTypeBuilder) {
+    intentBuilderTypeBuilder.addMethod(
+        MethodSpec.methodBuilder(INITIAL_ARGUMENTS_STATE_METHOD)
+            .addModifiers(Modifier.PUBLIC)
+            .addModifiers(Modifier.STATIC)
+            .returns(get(target.classPackage, builderClassName(), INITIAL_STATE_CLASS))
+            .addStatement(
+                "final $T bundler = $T.create($L)", Bundler.class, Bundler.class, EXTRA_COUNT_FIELD)
+            .addStatement("return new $L(bundler, null)", initialStateImplementation())
+            .build());
+  }
+
+  /**
+   * Exposes the state following the required extras of subclasses, whose type tells them their
+   * closest ancestor with required extras. All the states are views of the same {@code AllSet}.
+   */
   private void emitNextStateGetter(TypeSpec.Builder intentBuilderTypeBuilder) {
-    final TypeName initialStateGeneric = getInitialStateGeneric(false);
+    final TypeVariableName allSet = selfBoundedGeneric(OPTIONAL_SEQUENCE_GENERIC);
     MethodSpec.Builder initialStateGetterForSubBuilder =
         MethodSpec.methodBuilder(NEXT_STATE_METHOD)
             .addModifiers(Modifier.PUBLIC)
             .addModifiers(Modifier.STATIC)
-            .addTypeVariable((TypeVariableName) initialStateGeneric)
-            .addParameter(Bundler.class, "bundler")
-            .addParameter(initialStateGeneric, "allSetState")
-            .returns(getInitialStateType(initialStateGeneric));
-
-    if (target.hasRequiredFields) {
-      initialStateGetterForSubBuilder.addStatement(
-          "return new $L<>(bundler, allSetState)", REQUIRED_SEQUENCE_CLASS);
-      intentBuilderTypeBuilder.addMethod(initialStateGetterForSubBuilder.build());
-      return;
-    }
+            .addTypeVariable(allSet)
+            .addParameter(allSet, "allSetState")
+            .returns(getInitialStateType(allSet));
 
-    if (target.parentPackage != null) {
+    if (!target.hasRequiredFields && target.parentPackage != null) {
       final String parentIntentBuilderClass = target.parentClass + BUNDLE_BUILDER_SUFFIX;
       initialStateGetterForSubBuilder.addStatement(
-          "return $T.getNextState(bundler, allSetState)",
+          "return $T.getNextState(allSetState)",
           get(target.parentPackage, parentIntentBuilderClass));
-      intentBuilderTypeBuilder.addMethod(initialStateGetterForSubBuilder.build());
-      return;
+    } else if (target.separateRequiredSetters) {
+      initialStateGetterForSubBuilder.addStatement(
+          "return new $L<>(allSetState)", REQUIRED_SETTERS_CLASS);
+    } else {
+      initialStateGetterForSubBuilder.addStatement("return allSetState");
     }
-
-    initialStateGetterForSubBuilder.addStatement("return allSetState");
     intentBuilderTypeBuilder.addMethod(initialStateGetterForSubBuilder.build());
+
+    // Builders compiled against earlier versions pass the bundler, which the states now share.
+    intentBuilderTypeBuilder.addMethod(
+        MethodSpec.methodBuilder(NEXT_STATE_METHOD)
+            .addAnnotation(Deprecated.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addModifiers(Modifier.STATIC)
+            .addTypeVariable(allSet)
+            .addParameter(Bundler.class, "bundler")
+            .addParameter(allSet, "allSetState")
+            .returns(getInitialStateType(allSet))
+            .addStatement("return $L(allSetState)", NEXT_STATE_METHOD)
+            .build());
   }
 
   private void emitExtraDSLStateMachine(TypeSpec.Builder intentBuilderTypeBuilder) {
@@ -161,45 +241,59 @@ public class IntentBuilderGenerator extends BaseGenerator {
     Collections.sort(optionalInjections, extraInjectionComparator);
 
     emitRequiredSequence(intentBuilderTypeBuilder, requiredInjections);
-    emitOptionalSequence(intentBuilderTypeBuilder, optionalInjections);
+    if (target.separateRequiredSetters) {
+      emitSeparateRequiredSetters(intentBuilderTypeBuilder, requiredInjections);
+    }
+    emitOptionalSequence(intentBuilderTypeBuilder, requiredInjections, optionalInjections);
   }
 
+  /**
+   * Each state of the required sequence is an interface exposing the setter of the next required
+   * extra, so that they can only be set in order. The {@code AllSet} class implements all of them:
+   * setting an extra returns the same object, building an intent allocates no state. Unless an
+   * ancestor declares a setter under one of the required keys, see {@link
+   * #emitSeparateRequiredSetters}.
+   */
   private void emitRequiredSequence(
       TypeSpec.Builder intentBuilderTypeBuilder, List<ExtraInjection> requiredInjections) {
     if (!target.hasRequiredFields) {
       return;
     }
-    final TypeName generic = getInitialStateGeneric(false);
+    final TypeVariableName generic = selfBoundedGeneric(OPTIONAL_SEQUENCE_GENERIC);
 
     TypeSpec.Builder requiredSequenceBuilder =
-        TypeSpec.classBuilder(REQUIRED_SEQUENCE_CLASS)
-            .superclass(ParameterizedTypeName.get(get(RequiredStateSequence.class), generic))
-            .addTypeVariable((TypeVariableName) generic)
-            .addModifiers(Modifier.PUBLIC)
-            .addModifiers(Modifier.STATIC);
-
-    MethodSpec.Builder constructorBuilder =
-        MethodSpec.constructorBuilder()
-            .addModifiers(Modifier.PUBLIC)
-            .addParameter(Bundler.class, "bundler")
-            .addParameter(generic, "allRequiredSetState")
-            .addStatement("super(bundler, allRequiredSetState)");
-
-    requiredSequenceBuilder.addMethod(constructorBuilder.build());
+        TypeSpec.interfaceBuilder(REQUIRED_SEQUENCE_CLASS)
+            .addTypeVariable(generic)
+            .addModifiers(Modifier.PUBLIC);
 
     TypeSpec.Builder builderStateClass = requiredSequenceBuilder;
     for (int i = 0; i < requiredInjections.size(); i++) {
-      final boolean isLast = i == requiredInjections.size() - 1;
-      final ExtraInjection binding = requiredInjections.get(i);
-      final String nextClass = emitRequiredSetter(builderStateClass, binding, generic, isLast);
-      builderStateClass = rotateBuilderState(requiredSequenceBuilder, builderStateClass, nextClass);
+      final MethodSpec.Builder setterBuilder = requiredSetter(requiredInjections, i, generic);
+      if (setterBuilder != null) {
+        builderStateClass.addMethod(
+            setterBuilder.addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT).build());
+      }
+      if (i < requiredInjections.size() - 1) {
+        if (builderStateClass != requiredSequenceBuilder) {
+          requiredSequenceBuilder.addType(builderStateClass.build());
+        }
+        builderStateClass =
+            TypeSpec.interfaceBuilder(afterSetting(requiredInjections.get(i)))
+                .addTypeVariable(generic)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC);
+      }
+    }
+    if (builderStateClass != requiredSequenceBuilder) {
+      requiredSequenceBuilder.addType(builderStateClass.build());
     }
 
     intentBuilderTypeBuilder.addType(requiredSequenceBuilder.build());
   }
 
   private void emitOptionalSequence(
-      TypeSpec.Builder intentBuilderTypeBuilder, List<ExtraInjection> optionalInjections) {
+      TypeSpec.Builder intentBuilderTypeBuilder,
+      List<ExtraInjection> requiredInjections,
+      List<ExtraInjection> optionalInjections) {
     // find type
     final ClassName optionalSequence =
         get(target.classPackage, builderClassName(), OPTIONAL_SEQUENCE_CLASS);
@@ -238,6 +332,14 @@ public class IntentBuilderGenerator extends BaseGenerator {
 
     optionalSequenceBuilder.addMethod(constructorBuilder.build());
 
+    if (target.hasRequiredFields && !target.separateRequiredSetters) {
+      emitRequiredSetters(
+          optionalSequenceBuilder,
+          requiredInjections,
+          typeVariable,
+          CodeBlock.of("($T) this", typeVariable));
+    }
+
     for (int i = 0; i < optionalInjections.size(); i++) {
       emitOptionalSetter(optionalSequenceBuilder, optionalInjections.get(i), typeVariable);
     }
@@ -265,14 +367,29 @@ public class IntentBuilderGenerator extends BaseGenerator {
             .addParameter(get("android.content", "Intent"), "intent")
             .addStatement("super(bundler, intent)");
 
+    if (hasRequiredSequence() && !isInitialStateSeparate()) {
+      resolvedOptionalSequenceBuilder.addSuperinterface(
+          get(target.classPackage, builderClassName(), INITIAL_STATE_CLASS));
+    }
+
     resolvedOptionalSequenceBuilder.addMethod(constructorBuilder.build());
     intentBuilderTypeBuilder.addType(resolvedOptionalSequenceBuilder.build());
   }
 
   public void emitInitialState(TypeSpec.Builder intentBuilderTypeBuilder) {
+    if (hasRequiredSequence() && !isInitialStateSeparate()) {
+      // The resolved state implements the required sequence, it is the initial state.
+      intentBuilderTypeBuilder.addType(
+          TypeSpec.interfaceBuilder(INITIAL_STATE_CLASS)
+              .addSuperinterface(getInitialStateType(resolvedAllSet()))
+              .addModifiers(Modifier.PUBLIC)
+              .build());
+      return;
+    }
+
+    final TypeName resolved = resolvedAllSet();
     TypeSpec.Builder initialStateBuilder =
         TypeSpec.classBuilder(INITIAL_STATE_CLASS)
-            .superclass(getInitialStateType(getInitialStateGeneric(true)))
             .addModifiers(Modifier.PUBLIC)
             .addModifiers(Modifier.STATIC);
 
@@ -282,11 +399,20 @@ public class IntentBuilderGenerator extends BaseGenerator {
             .addParameter(Bundler.class, "bundler")
             .addParameter(get("android.content", "Intent"), "intent");
 
-    if (!target.hasRequiredFields && target.closestRequiredAncestorPackage == null) {
-      constructorBuilder.addStatement("super(bundler, intent)");
+    if (hasRequiredSequence()) {
+      // The required setters are implemented by a state of their own, wrapping the resolved state.
+      final ClassName requiredSetters =
+          target.hasRequiredFields
+              ? get(target.classPackage, builderClassName(), REQUIRED_SETTERS_CLASS)
+              : get(
+                  target.closestRequiredAncestorPackage,
+                  target.closestRequiredAncestorClass + BUNDLE_BUILDER_SUFFIX,
+                  REQUIRED_SETTERS_CLASS);
+      initialStateBuilder.superclass(ParameterizedTypeName.get(requiredSetters, resolved));
+      constructorBuilder.addStatement("super(new $T(bundler, intent))", resolved);
     } else {
-      constructorBuilder.addStatement(
-          "super(bundler, new $L(bundler, intent))", RESOLVED_OPTIONAL_SEQUENCE_CLASS);
+      initialStateBuilder.superclass(getInitialStateType(resolved));
+      constructorBuilder.addStatement("super(bundler, intent)");
     }
 
     initialStateBuilder.addMethod(constructorBuilder.build());
@@ -294,26 +420,118 @@ public class IntentBuilderGenerator extends BaseGenerator {
   }
 
   /**
-   * @param builder the intent builder in which to emit.
-   * @param binding the binding to emit.
-   * @param generic generic value.
-   * @param isLast whether or not the binding is the last mandatory one.
-   * @return the name of the next state class to create
+   * An ancestor of the target declares a setter under the key of one of its required extras, that
+   * {@code AllSet} can't both inherit and implement with another return type. The states of the
+   * required sequence of the target are then implemented by a {@code RequiredSetters} object
+   * wrapping {@code AllSet}, created once per intent.
+   */
+  private void emitSeparateRequiredSetters(
+      TypeSpec.Builder intentBuilderTypeBuilder, List<ExtraInjection> requiredInjections) {
+    final TypeVariableName allSet = selfBoundedGeneric(OPTIONAL_SEQUENCE_GENERIC);
+    TypeSpec.Builder requiredSettersBuilder =
+        TypeSpec.classBuilder(REQUIRED_SETTERS_CLASS)
+            .superclass(ParameterizedTypeName.get(get(RequiredStateSequence.class), allSet))
+            .addTypeVariable(allSet)
+            .addModifiers(Modifier.PUBLIC)
+            .addModifiers(Modifier.STATIC);
+
+    requiredSettersBuilder.addMethod(
+        MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(allSet, "allSetState")
+            .addStatement("super(allSetState)")
+            .build());
+
+    emitRequiredSetters(
+        requiredSettersBuilder, requiredInjections, allSet, CodeBlock.of("allRequiredSetState"));
+    intentBuilderTypeBuilder.addType(requiredSettersBuilder.build());
+  }
+
+  /**
+   * Implements all the states of the required sequence in {@code AllSet}, or in {@code
+   * RequiredSetters}.
+   *
+   * @param builder the class in which to emit.
+   * @param requiredInjections the required bindings, in the order of the sequence.
+   * @param self the type of the {@code AllSet} class.
+   * @param allSet the {@code AllSet} object, returned once all the required extras are set.
+   */
+  private void emitRequiredSetters(
+      TypeSpec.Builder builder,
+      List<ExtraInjection> requiredInjections,
+      TypeName self,
+      CodeBlock allSet) {
+    builder.addSuperinterface(
+        ParameterizedTypeName.get(
+            get(target.classPackage, builderClassName(), REQUIRED_SEQUENCE_CLASS), self));
+    for (int i = 0; i < requiredInjections.size(); i++) {
+      final boolean isLast = i == requiredInjections.size() - 1;
+      if (!isLast) {
+        builder.addSuperinterface(
+            ParameterizedTypeName.get(
+                get(
+                    target.classPackage,
+                    builderClassName(),
+                    REQUIRED_SEQUENCE_CLASS,
+                    afterSetting(requiredInjections.get(i))),
+                self));
+      }
+
+      final MethodSpec.Builder setterBuilder = requiredSetter(requiredInjections, i, self);
+      if (setterBuilder == null) {
+        continue;
+      }
+      final ExtraInjection binding = requiredInjections.get(i);
+      final FieldBinding firstFieldBinding = binding.getFieldBindings().iterator().next();
+      final String castToParcelableIfNecessary =
+          doCreateParcelableCastIfExtraIsParcelable(firstFieldBinding.getType());
+      setterBuilder
+          .addModifiers(Modifier.PUBLIC)
+          .addStatement(
+              "bundler.put($S," + castToParcelableIfNecessary + " $L)",
+              binding.getKey(),
+              extractValue(firstFieldBinding));
+      if (isLast && !target.separateRequiredSetters && !returnsThis()) {
+        // AllSet returns itself as its SELF type.
+        setterBuilder.addAnnotation(UNCHECKED);
+      }
+      if (!isLast) {
+        setterBuilder.addStatement("return this");
+      } else if (target.closestRequiredAncestorPackage == null) {
+        setterBuilder.addStatement("return $L", allSet);
+      } else if (target.closestRequiredAncestorSeparate) {
+        // The required sequence of the closest ancestor is a state of its own.
+        setterBuilder.addStatement(
+            "return $T.getNextState($L)",
+            get(target.parentPackage, target.parentClass + BUNDLE_BUILDER_SUFFIX),
+            allSet);
+      } else if (target.separateRequiredSetters) {
+        setterBuilder.addStatement("return $L", allSet);
+      } else {
+        // The required sequence of the closest ancestor is this object.
+        setterBuilder.addStatement("return this");
+      }
+      builder.addMethod(setterBuilder.build());
+    }
+  }
+
+  /**
+   * @param requiredInjections the required bindings, in the order of the sequence.
+   * @param index the index of the binding to emit.
+   * @param generic the type of the state reached once all extras are set.
+   * @return the signature of the setter of the binding, or null if the binding has no field.
    */
-  private String emitRequiredSetter(
-      TypeSpec.Builder builder, ExtraInjection binding, TypeName generic, boolean isLast) {
+  private MethodSpec.Builder requiredSetter(
+      List<ExtraInjection> requiredInjections, int index, TypeName generic) {
+    final ExtraInjection binding = requiredInjections.get(index);
     final Collection<FieldBinding> fieldBindings = binding.getFieldBindings();
     if (fieldBindings.isEmpty()) {
       return null;
     }
 
-    // only used for non-last iterations, but needed for the algorithm
-    String nextIntermediary =
-        REQUIRED_SEQUENCE_INTERMEDIARY_CLASS_PREFIX + capitalize(binding.getKey());
-    ;
-    // find next intermediary state
+    // find next state
     final TypeName nextState;
-    if (isLast) {
+    if (index == requiredInjections.size() - 1) {
       if (target.closestRequiredAncestorPackage == null) {
         nextState = generic;
       } else {
@@ -328,38 +546,24 @@ public class IntentBuilderGenerator extends BaseGenerator {
       }
     } else {
       nextState =
-          get(target.classPackage, builderClassName(), REQUIRED_SEQUENCE_CLASS, nextIntermediary);
+          ParameterizedTypeName.get(
+              get(
+                  target.classPackage,
+                  builderClassName(),
+                  REQUIRED_SEQUENCE_CLASS,
+                  afterSetting(binding)),
+              generic);
     }
 
     final FieldBinding firstFieldBinding = fieldBindings.iterator().next();
-    final TypeMirror extraType = firstFieldBinding.getType();
-    final String castToParcelableIfNecessary = doCreateParcelableCastIfExtraIsParcelable(extraType);
-    final String value = extractValue(firstFieldBinding);
-
-    MethodSpec.Builder setterBuilder =
-        MethodSpec.methodBuilder(binding.getKey())
-            .addModifiers(Modifier.PUBLIC)
-            .addParameter(TypeName.get(extraType), firstFieldBinding.getName())
-            .returns(nextState)
-            .addStatement(
-                "bundler.put($S," + castToParcelableIfNecessary + " $L)", binding.getKey(), value);
-
-    // find return statement
-    if (isLast) {
-      if (target.parentPackage != null) {
-        final String parentIntentBuilderClass = target.parentClass + BUNDLE_BUILDER_SUFFIX;
-        setterBuilder.addStatement(
-            "return $T.getNextState(bundler, allRequiredSetState)",
-            get(target.parentPackage, parentIntentBuilderClass));
-      } else {
-        setterBuilder.addStatement("return allRequiredSetState");
-      }
-    } else {
-      setterBuilder.addStatement("return new $T()", nextState);
-    }
+    return MethodSpec.methodBuilder(binding.getKey())
+        .addParameter(TypeName.get(firstFieldBinding.getType()), firstFieldBinding.getName())
+        .returns(nextState);
+  }
 
-    builder.addMethod(setterBuilder.build());
-    return nextIntermediary;
+  /** @return the name of the state reached once the extra of {@code binding} is set. */
+  private String afterSetting(ExtraInjection binding) {
+    return REQUIRED_SEQUENCE_INTERMEDIARY_CLASS_PREFIX + capitalize(binding.getKey());
   }
 
   /**
@@ -381,6 +585,7 @@ public class IntentBuilderGenerator extends BaseGenerator {
 
     MethodSpec.Builder setterBuilder =
         MethodSpec.methodBuilder(binding.getKey())
+            .addAnnotation(UNCHECKED)
             .addModifiers(Modifier.PUBLIC)
             .addParameter(TypeName.get(extraType), firstFieldBinding.getName())
             .returns(generic)
@@ -391,16 +596,6 @@ public class IntentBuilderGenerator extends BaseGenerator {
     builder.addMethod(setterBuilder.build());
   }
 
-  private TypeSpec.Builder rotateBuilderState(
-      TypeSpec.Builder builder, TypeSpec.Builder builderStateClass, String nextStateClassName) {
-    if (builderStateClass != builder) {
-      builder.addType(builderStateClass.build());
-    }
-    //prepare next state class
-    builderStateClass = TypeSpec.classBuilder(nextStateClassName).addModifiers(Modifier.PUBLIC);
-    return builderStateClass;
-  }
-
   private TypeName getInitialStateType(TypeName generic) {
     if (target.hasRequiredFields) {
       final ClassName requiredSequence =
@@ -420,13 +615,45 @@ public class IntentBuilderGenerator extends BaseGenerator {
     return generic;
   }
 
-  private TypeName getInitialStateGeneric(boolean resolved) {
-    if (resolved) {
-      return get(target.classPackage, builderClassName(), RESOLVED_OPTIONAL_SEQUENCE_CLASS);
-    }
+  /**
+   * @return true if the last required setter of {@code AllSet} returns it as the required sequence
+   *     of the closest ancestor, without cast.
+   */
+  private boolean returnsThis() {
+    return target.closestRequiredAncestorPackage != null && !target.closestRequiredAncestorSeparate;
+  }
+
+  /** @return true if extras of this target or of an ancestor must be set before building. */
+  private boolean hasRequiredSequence() {
+    return target.hasRequiredFields || target.closestRequiredAncestorPackage != null;
+  }
+
+  /**
+   * @return true if the required sequence starting the initial state is implemented by a {@code
+   *     RequiredSetters} object rather than by {@code AllSet}.
+   */
+  private boolean isInitialStateSeparate() {
+    return target.hasRequiredFields
+        ? target.separateRequiredSetters
+        : target.closestRequiredAncestorSeparate;
+  }
+
+  /** @return the class of the object holding every state, created by the initial state getters. */
+  private String initialStateImplementation() {
+    return hasRequiredSequence() && !isInitialStateSeparate()
+        ? RESOLVED_OPTIONAL_SEQUENCE_CLASS
+        : INITIAL_STATE_CLASS;
+  }
+
+  private TypeVariableName selfBoundedGeneric(String name) {
     final ClassName optionalSequence =
         get(target.classPackage, builderClassName(), OPTIONAL_SEQUENCE_CLASS);
-    return TypeVariableName.get(OPTIONAL_SEQUENCE_GENERIC, optionalSequence);
+    return TypeVariableName.get(
+        name, ParameterizedTypeName.get(optionalSequence, TypeVariableName.get(name)));
+  }
+
+  private TypeName resolvedAllSet() {
+    return get(target.classPackage, builderClassName(), RESOLVED_OPTIONAL_SEQUENCE_CLASS);
   }
 
   /**
@@ -112,6 +112,7 @@ public class IntentBuilderProcessor extends AbstractProcessor {
     dartModelUtil.parseDartModelAnnotatedTypes(targetClassMap);
     bindExtraUtil.parseBindExtraAnnotatedElements(targetClassMap);
     extraBindingTargetUtil.createBindingTargetTrees(targetClassMap);
+    bindExtraUtil.findSeparateRequiredSetters(targetClassMap);
     extraBindingTargetUtil.addClosestRequiredAncestorForTargets(targetClassMap);
 
     return targetClassMap;
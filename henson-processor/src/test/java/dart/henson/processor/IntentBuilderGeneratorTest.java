@@ -54,46 +54,59 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra(String extra) {",
-                    "      bundler.put(\"extra\", extra);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra(String extra);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra(String extra) {",
+                    "      bundler.put(\"extra\", extra);",
+                    "      return (SELF) this;",
+                    "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -132,21 +145,38 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
+                    "import java.lang.Deprecated;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 0;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
                     "    return new InitialState(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> ALL_SET getNextState(Bundler bundler,",
-                    "      ALL_SET allSetState) {",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new InitialState(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> ALL_SET getNextState(ALL_SET allSetState) {",
                     "    return allSetState;",
                     "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> ALL_SET getNextState(Bundler bundler,",
+                    "      ALL_SET allSetState) {",
+                    "    return getNextState(allSetState);",
+                    "  }",
                     "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
@@ -199,46 +229,59 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra(String extra) {",
-                    "      bundler.put(\"extra\", extra);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra(String extra);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra(String extra) {",
+                    "      bundler.put(\"extra\", extra);",
+                    "      return (SELF) this;",
+                    "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -278,26 +321,45 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
                     "    return new InitialState(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> ALL_SET getNextState(Bundler bundler,",
-                    "      ALL_SET allSetState) {",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new InitialState(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> ALL_SET getNextState(ALL_SET allSetState) {",
                     "    return allSetState;",
                     "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> ALL_SET getNextState(Bundler bundler,",
+                    "      ALL_SET allSetState) {",
+                    "    return getNextState(allSetState);",
+                    "  }",
                     "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF extra(String extra) {",
                     "      bundler.put(\"extra\", extra);",
                     "      return (SELF) this;",
@@ -352,50 +414,64 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 2;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra1(String extra1) {",
-                    "      bundler.put(\"extra1\", extra1);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra1(String extra1);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra1(String extra1) {",
+                    "      bundler.put(\"extra1\", extra1);",
+                    "      return (SELF) this;",
+                    "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF extra2(String extra2) {",
                     "      bundler.put(\"extra2\", extra2);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -435,50 +511,64 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 2;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET key1(String extra1) {",
-                    "      bundler.put(\"key1\", extra1);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET key1(String extra1);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF key1(String extra1) {",
+                    "      bundler.put(\"key1\", extra1);",
+                    "      return (SELF) this;",
+                    "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF key2(String extra2) {",
                     "      bundler.put(\"key2\", extra2);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -518,46 +608,59 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET key(String extra1) {",
-                    "      bundler.put(\"key\", extra1);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET key(String extra1);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF key(String extra1) {",
+                    "      bundler.put(\"key\", extra1);",
+                    "      return (SELF) this;",
+                    "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
     IntentBuilderProcessor processor = hensonProcessor();
@@ -836,87 +939,107 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 8;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    AfterSettingABool<ALL_SET> aBool(boolean aBool);",
+                    "    interface AfterSettingABool<ALL_SET extends AllSet<ALL_SET>> {",
+                    "      AfterSettingAByte<ALL_SET> aByte(byte aByte);",
                     "    }",
-                    "    public AfterSettingABool aBool(boolean aBool) {",
-                    "      bundler.put(\"aBool\", aBool);",
-                    "      return new AfterSettingABool();",
-                    "    }",
-                    "    public class AfterSettingABool {",
-                    "      public AfterSettingAByte aByte(byte aByte) {",
-                    "        bundler.put(\"aByte\", aByte);",
-                    "        return new AfterSettingAByte();",
-                    "      }",
-                    "    }",
-                    "    public class AfterSettingAByte {",
-                    "      public AfterSettingAChar aChar(char aChar) {",
-                    "        bundler.put(\"aChar\", aChar);",
-                    "        return new AfterSettingAChar();",
-                    "      }",
-                    "    }",
-                    "    public class AfterSettingAChar {",
-                    "      public AfterSettingADouble aDouble(double aDouble) {",
-                    "        bundler.put(\"aDouble\", aDouble);",
-                    "        return new AfterSettingADouble();",
-                    "      }",
-                    "    }",
-                    "    public class AfterSettingADouble {",
-                    "      public AfterSettingAFloat aFloat(float aFloat) {",
-                    "        bundler.put(\"aFloat\", aFloat);",
-                    "        return new AfterSettingAFloat();",
-                    "      }",
-                    "    }",
-                    "    public class AfterSettingAFloat {",
-                    "      public AfterSettingALong aLong(long aLong) {",
-                    "        bundler.put(\"aLong\", aLong);",
-                    "        return new AfterSettingALong();",
-                    "      }",
-                    "    }",
-                    "    public class AfterSettingALong {",
-                    "      public AfterSettingAShort aShort(short aShort) {",
-                    "        bundler.put(\"aShort\", aShort);",
-                    "        return new AfterSettingAShort();",
-                    "      }",
-                    "    }",
-                    "    public class AfterSettingAShort {",
-                    "      public ALL_SET anInt(int anInt) {",
-                    "        bundler.put(\"anInt\", anInt);",
-                    "        return allRequiredSetState;",
-                    "      }",
+                    "    interface AfterSettingAByte<ALL_SET extends AllSet<ALL_SET>> {",
+                    "      AfterSettingAChar<ALL_SET> aChar(char aChar);",
+                    "    }",
+                    "    interface AfterSettingAChar<ALL_SET extends AllSet<ALL_SET>> {",
+                    "      AfterSettingADouble<ALL_SET> aDouble(double aDouble);",
+                    "    }",
+                    "    interface AfterSettingADouble<ALL_SET extends AllSet<ALL_SET>> {",
+                    "      AfterSettingAFloat<ALL_SET> aFloat(float aFloat);",
+                    "    }",
+                    "    interface AfterSettingAFloat<ALL_SET extends AllSet<ALL_SET>> {",
+                    "      AfterSettingALong<ALL_SET> aLong(long aLong);",
+                    "    }",
+                    "    interface AfterSettingALong<ALL_SET extends AllSet<ALL_SET>> {",
+                    "      AfterSettingAShort<ALL_SET> aShort(short aShort);",
+                    "    }",
+                    "    interface AfterSettingAShort<ALL_SET extends AllSet<ALL_SET>> {",
+                    "      ALL_SET anInt(int anInt);",
                     "    }",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF>, RequiredSequence.AfterSettingABool<SELF>, RequiredSequence.AfterSettingAByte<SELF>, RequiredSequence.AfterSettingAChar<SELF>, RequiredSequence.AfterSettingADouble<SELF>, RequiredSequence.AfterSettingAFloat<SELF>, RequiredSequence.AfterSettingALong<SELF>, RequiredSequence.AfterSettingAShort<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    public RequiredSequence.AfterSettingABool<SELF> aBool(boolean aBool) {",
+                    "      bundler.put(\"aBool\", aBool);",
+                    "      return this;",
+                    "    }",
+                    "    public RequiredSequence.AfterSettingAByte<SELF> aByte(byte aByte) {",
+                    "      bundler.put(\"aByte\", aByte);",
+                    "      return this;",
+                    "    }",
+                    "    public RequiredSequence.AfterSettingAChar<SELF> aChar(char aChar) {",
+                    "      bundler.put(\"aChar\", aChar);",
+                    "      return this;",
+                    "    }",
+                    "    public RequiredSequence.AfterSettingADouble<SELF> aDouble(double aDouble) {",
+                    "      bundler.put(\"aDouble\", aDouble);",
+                    "      return this;",
+                    "    }",
+                    "    public RequiredSequence.AfterSettingAFloat<SELF> aFloat(float aFloat) {",
+                    "      bundler.put(\"aFloat\", aFloat);",
+                    "      return this;",
+                    "    }",
+                    "    public RequiredSequence.AfterSettingALong<SELF> aLong(long aLong) {",
+                    "      bundler.put(\"aLong\", aLong);",
+                    "      return this;",
+                    "    }",
+                    "    public RequiredSequence.AfterSettingAShort<SELF> aShort(short aShort) {",
+                    "      bundler.put(\"aShort\", aShort);",
+                    "      return this;",
+                    "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF anInt(int anInt) {",
+                    "      bundler.put(\"anInt\", anInt);",
+                    "      return (SELF) this;",
+                    "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -956,45 +1079,58 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra(Extra extra) {",
-                    "      bundler.put(\"extra\",(android.os.Parcelable) extra);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra(Extra extra);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra(Extra extra) {",
+                    "      bundler.put(\"extra\",(android.os.Parcelable) extra);",
+                    "      return (SELF) this;",
+                    "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -1025,47 +1161,60 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "import java.util.ArrayList;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET list(ArrayList<String> list) {",
-                    "      bundler.put(\"list\", list);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET list(ArrayList<String> list);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF list(ArrayList<String> list) {",
+                    "      bundler.put(\"list\", list);",
+                    "      return (SELF) this;",
+                    "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -1102,49 +1251,62 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test1__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 2 + Test2__IntentBuilder.EXTRA_COUNT;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test1\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test1\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public Test2__IntentBuilder.RequiredSequence<ALL_SET> extra1(String extra1) {",
-                    "      bundler.put(\"extra1\", extra1);",
-                    "      return Test2__IntentBuilder.getNextState(bundler, allRequiredSetState);",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    Test2__IntentBuilder.RequiredSequence<ALL_SET> extra1(String extra1);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends Test2__IntentBuilder.AllSet<SELF> {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends Test2__IntentBuilder.AllSet<SELF> implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    public Test2__IntentBuilder.RequiredSequence<SELF> extra1(String extra1) {",
+                    "      bundler.put(\"extra1\", extra1);",
+                    "      return this;",
+                    "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra1(String optExtra1) {",
                     "      bundler.put(\"optExtra1\", optExtra1);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -1154,50 +1316,64 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test2__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 2;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test2\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test2\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra2(String extra2) {",
-                    "      bundler.put(\"extra2\", extra2);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra2(String extra2);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra2(String extra2) {",
+                    "      bundler.put(\"extra2\", extra2);",
+                    "      return (SELF) this;",
+                    "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra2(String optExtra2) {",
                     "      bundler.put(\"optExtra2\", optExtra2);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -1235,49 +1411,63 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test1__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 2 + Test2__IntentBuilder.EXTRA_COUNT;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test1\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test1\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra1(String extra1) {",
-                    "      bundler.put(\"extra1\", extra1);",
-                    "      return Test2__IntentBuilder.getNextState(bundler, allRequiredSetState);",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra1(String extra1);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends Test2__IntentBuilder.AllSet<SELF> {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends Test2__IntentBuilder.AllSet<SELF> implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra1(String extra1) {",
+                    "      bundler.put(\"extra1\", extra1);",
+                    "      return (SELF) this;",
+                    "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra1(String optExtra1) {",
                     "      bundler.put(\"optExtra1\", optExtra1);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -1287,26 +1477,45 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test2__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test2\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test2\"));",
-                    "    final Bundler bundler = Bundler.create();",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
                     "    return new InitialState(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> ALL_SET getNextState(Bundler bundler,",
-                    "      ALL_SET allSetState) {",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new InitialState(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> ALL_SET getNextState(ALL_SET allSetState) {",
                     "    return allSetState;",
                     "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> ALL_SET getNextState(Bundler bundler,",
+                    "      ALL_SET allSetState) {",
+                    "    return getNextState(allSetState);",
+                    "  }",
                     "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra2(String optExtra2) {",
                     "      bundler.put(\"optExtra2\", optExtra2);",
                     "      return (SELF) this;",
@@ -1358,39 +1567,55 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.Bundler;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test1__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1 + Test2__IntentBuilder.EXTRA_COUNT;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test1\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test1\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> Test2__IntentBuilder.RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> Test2__IntentBuilder.RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return Test2__IntentBuilder.getNextState(allSetState);",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> Test2__IntentBuilder.RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return Test2__IntentBuilder.getNextState(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
                     "  public static class AllSet<SELF extends AllSet<SELF>> extends Test2__IntentBuilder.AllSet<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra1(String optExtra1) {",
                     "      bundler.put(\"optExtra1\", optExtra1);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends Test2__IntentBuilder.RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends Test2__IntentBuilder.RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -1400,51 +1625,65 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test2__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 2;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test2\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test2\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra2(String extra2) {",
-                    "      bundler.put(\"extra2\", extra2);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra2(String extra2);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra2(String extra2) {",
+                    "      bundler.put(\"extra2\", extra2);",
+                    "      return (SELF) this;",
+                    "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra2(String optExtra2) {",
                     "      bundler.put(\"optExtra2\", optExtra2);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> { ",
-                    "    public InitialState(Bundler bundler, Intent intent) { ",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent)); ",
-                    "    } ",
-                    "  } ",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
+                    "  }",
                     "}"));
 
     Compilation compilation = javac().withProcessors(hensonProcessor()).compile(source);
@@ -1480,25 +1719,44 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.Bundler;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test1__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1 + Test2__IntentBuilder.EXTRA_COUNT;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test1\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test1\"));",
-                    "    final Bundler bundler = Bundler.create();",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
                     "    return new InitialState(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> ALL_SET getNextState(Bundler bundler,",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new InitialState(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> ALL_SET getNextState(ALL_SET allSetState) {",
+                    "    return Test2__IntentBuilder.getNextState(allSetState);",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> ALL_SET getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return Test2__IntentBuilder.getNextState(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
                     "  public static class AllSet<SELF extends AllSet<SELF>> extends Test2__IntentBuilder.AllSet<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra1(String optExtra1) {",
                     "      bundler.put(\"optExtra1\", optExtra1);",
                     "      return (SELF) this;",
@@ -1522,26 +1780,45 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test2__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test2\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test2\"));",
-                    "    final Bundler bundler = Bundler.create();",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
                     "    return new InitialState(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> ALL_SET getNextState(Bundler bundler,",
-                    "      ALL_SET allSetState) {",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new InitialState(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> ALL_SET getNextState(ALL_SET allSetState) {",
                     "    return allSetState;",
                     "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> ALL_SET getNextState(Bundler bundler,",
+                    "      ALL_SET allSetState) {",
+                    "    return getNextState(allSetState);",
+                    "  }",
                     "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra2(String optExtra2) {",
                     "      bundler.put(\"optExtra2\", optExtra2);",
                     "      return (SELF) this;",
@@ -1618,39 +1895,55 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.Bundler;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test1__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1 + Test2__IntentBuilder.EXTRA_COUNT;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test1\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test1\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> Test3__IntentBuilder.RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> Test3__IntentBuilder.RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return Test2__IntentBuilder.getNextState(allSetState);",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> Test3__IntentBuilder.RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return Test2__IntentBuilder.getNextState(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
                     "  public static class AllSet<SELF extends AllSet<SELF>> extends Test2__IntentBuilder.AllSet<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra1(String optExtra1) {",
                     "      bundler.put(\"optExtra1\", optExtra1);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends Test3__IntentBuilder.RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends Test3__IntentBuilder.RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -1660,34 +1953,48 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.Bundler;",
+                    "import java.lang.Deprecated;",
                     "public class Test2__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = Test3__IntentBuilder.EXTRA_COUNT;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test2\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test2\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> Test3__IntentBuilder.RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> Test3__IntentBuilder.RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return Test3__IntentBuilder.getNextState(allSetState);",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> Test3__IntentBuilder.RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return Test3__IntentBuilder.getNextState(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
                     "  public static class AllSet<SELF extends AllSet<SELF>> extends Test3__IntentBuilder.AllSet<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends Test3__IntentBuilder.RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends Test3__IntentBuilder.RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -1697,50 +2004,64 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test3__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 2;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test3\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test3\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra3(String extra3) {",
-                    "      bundler.put(\"extra3\", extra3);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra3(String extra3);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra3(String extra3) {",
+                    "      bundler.put(\"extra3\", extra3);",
+                    "      return (SELF) this;",
+                    "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra3(String optExtra3) {",
                     "      bundler.put(\"optExtra3\", optExtra3);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -1786,49 +2107,62 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test1__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 2 + Test2__IntentBuilder.EXTRA_COUNT;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test1\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test1\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public Test3__IntentBuilder.RequiredSequence<ALL_SET> extra1(String extra1) {",
-                    "      bundler.put(\"extra1\", extra1);",
-                    "      return Test2__IntentBuilder.getNextState(bundler, allRequiredSetState);",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    Test3__IntentBuilder.RequiredSequence<ALL_SET> extra1(String extra1);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends Test2__IntentBuilder.AllSet<SELF> {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends Test2__IntentBuilder.AllSet<SELF> implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    public Test3__IntentBuilder.RequiredSequence<SELF> extra1(String extra1) {",
+                    "      bundler.put(\"extra1\", extra1);",
+                    "      return this;",
+                    "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra1(String optExtra1) {",
                     "      bundler.put(\"optExtra1\", optExtra1);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -1838,34 +2172,48 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.Bundler;",
+                    "import java.lang.Deprecated;",
                     "public class Test2__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = Test3__IntentBuilder.EXTRA_COUNT;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test2\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test2\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> Test3__IntentBuilder.RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> Test3__IntentBuilder.RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return Test3__IntentBuilder.getNextState(allSetState);",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> Test3__IntentBuilder.RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return Test3__IntentBuilder.getNextState(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
                     "  public static class AllSet<SELF extends AllSet<SELF>> extends Test3__IntentBuilder.AllSet<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends Test3__IntentBuilder.RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends Test3__IntentBuilder.RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -1875,50 +2223,64 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test3__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 2;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test3\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test3\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra3(String extra3) {",
-                    "      bundler.put(\"extra3\", extra3);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra3(String extra3);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra3(String extra3) {",
+                    "      bundler.put(\"extra3\", extra3);",
+                    "      return (SELF) this;",
+                    "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra3(String optExtra3) {",
                     "      bundler.put(\"optExtra3\", optExtra3);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -1957,50 +2319,63 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
                     "import dart.henson.processor.data.ClassWithRequiredAndOptionalExtras__IntentBuilder;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test1__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 2 + ClassWithRequiredAndOptionalExtras__IntentBuilder.EXTRA_COUNT;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test1\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test1\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ClassWithRequiredAndOptionalExtras__IntentBuilder.RequiredSequence<ALL_SET> extra1(String extra1) {",
-                    "      bundler.put(\"extra1\", extra1);",
-                    "      return ClassWithRequiredAndOptionalExtras__IntentBuilder.getNextState(bundler, allRequiredSetState);",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ClassWithRequiredAndOptionalExtras__IntentBuilder.RequiredSequence<ALL_SET> extra1(String extra1);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends ClassWithRequiredAndOptionalExtras__IntentBuilder.AllSet<SELF> {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends ClassWithRequiredAndOptionalExtras__IntentBuilder.AllSet<SELF> implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    public ClassWithRequiredAndOptionalExtras__IntentBuilder.RequiredSequence<SELF> extra1(String extra1) {",
+                    "      bundler.put(\"extra1\", extra1);",
+                    "      return this;",
+                    "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra1(String optExtra1) {",
                     "      bundler.put(\"optExtra1\", optExtra1);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -2033,56 +2408,281 @@ public class IntentBuilderGeneratorTest {
             Joiner.on('\n')
                 .join(
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
                     "import dart.henson.processor.data.ClassWithOptionalExtras__IntentBuilder;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test1__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 2 + ClassWithOptionalExtras__IntentBuilder.EXTRA_COUNT;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test1\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test1\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
                     "      ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra1(String extra1) {",
-                    "      bundler.put(\"extra1\", extra1);",
-                    "      return ClassWithOptionalExtras__IntentBuilder.getNextState(bundler, allRequiredSetState);",
-                    "    }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra1(String extra1);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends ClassWithOptionalExtras__IntentBuilder.AllSet<SELF> {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends ClassWithOptionalExtras__IntentBuilder.AllSet<SELF> implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra1(String extra1) {",
+                    "      bundler.put(\"extra1\", extra1);",
+                    "      return (SELF) this;",
+                    "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
                     "    public SELF optExtra1(String optExtra1) {",
                     "      bundler.put(\"optExtra1\", optExtra1);",
                     "      return (SELF) this;",
                     "    }",
                     "  }",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
+                    "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
+                    "      super(bundler, intent);",
+                    "    }",
+                    "  }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
+                    "  }",
+                    "}"));
+
+    Compilation compilation = javac().withProcessors(hensonProcessor()).compile(source);
+    assertThat(compilation)
+        .generatedSourceFile("test.navigation.Test1__IntentBuilder")
+        .hasSourceEquivalentTo(builderSource1);
+  }
+
+  @Test
+  public void intentBuilderGenerator_should_chainRequiredExtrasOnTheSameState() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.navigation.Test1NavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test.navigation;",
+                    "import dart.BindExtra;",
+                    "@interface Nullable {}",
+                    "public class Test1NavigationModel extends Test2NavigationModel {",
+                    "    @BindExtra String extra1;",
+                    "    @BindExtra int extra3;",
+                    "}",
+                    "class Test2NavigationModel {",
+                    "    @BindExtra String extra2;",
+                    "    @Nullable @BindExtra String optExtra2;",
+                    "}",
+                    "class Navigation {",
+                    "  static android.content.Intent intent(android.content.Context context) {",
+                    "    return Test1__IntentBuilder.getInitialState(context)",
+                    "        .extra1(\"1\").extra3(3).extra2(\"2\").optExtra2(\"opt\").build();",
+                    "  }",
+                    "}"));
+
+    Compilation compilation = javac().withProcessors(hensonProcessor()).compile(source);
+    assertThat(compilation).succeeded();
+  }
+
+  @Test
+  public void intentBuilderGenerator_should_notCompile_when_requiredExtrasAreSetOutOfOrder() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.navigation.Test1NavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test.navigation;",
+                    "import dart.BindExtra;",
+                    "@interface Nullable {}",
+                    "public class Test1NavigationModel extends Test2NavigationModel {",
+                    "    @BindExtra String extra1;",
+                    "    @BindExtra int extra3;",
+                    "}",
+                    "class Test2NavigationModel {",
+                    "    @BindExtra String extra2;",
+                    "    @Nullable @BindExtra String optExtra2;",
+                    "}",
+                    "class Navigation {",
+                    "  static android.content.Intent intent(android.content.Context context) {",
+                    "    return Test1__IntentBuilder.getInitialState(context)",
+                    "        .extra1(\"1\").extra2(\"2\").extra3(3).build();",
+                    "  }",
+                    "}"));
+
+    Compilation compilation = javac().withProcessors(hensonProcessor()).compile(source);
+    assertThat(compilation).hadErrorContaining("cannot find symbol");
+  }
+
+  @Test
+  public void
+      intentBuilderGenerator_should_setRequiredExtrasSeparately_when_childRedeclaresRequiredKey() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.navigation.Test1NavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test.navigation;",
+                    "import dart.BindExtra;",
+                    "@interface Nullable {}",
+                    "public class Test1NavigationModel extends Test2NavigationModel {",
+                    "    @BindExtra(\"foo\") String childFoo;",
+                    "    @BindExtra String extra1;",
+                    "}",
+                    "class Test2NavigationModel {",
+                    "    @BindExtra String foo;",
+                    "    @BindExtra String bar;",
+                    "}",
+                    "class Test0NavigationModel extends Test1NavigationModel {",
+                    "    @Nullable @BindExtra String optExtra0;",
+                    "}",
+                    "class Test3NavigationModel extends Test1NavigationModel {",
+                    "    @BindExtra String extra3;",
+                    "}",
+                    "class Navigation {",
+                    "  static android.content.Intent intent(android.content.Context context) {",
+                    "    return Test1__IntentBuilder.getInitialState(context)",
+                    "        .extra1(\"1\").foo(\"child\").bar(\"2\").foo(\"parent\").build();",
+                    "  }",
+                    "  static android.content.Intent childIntent(android.content.Context context) {",
+                    "    return Test0__IntentBuilder.getInitialState(context)",
+                    "        .extra1(\"1\").foo(\"child\").bar(\"2\").foo(\"parent\").optExtra0(\"0\")",
+                    "        .build();",
+                    "  }",
+                    "  static android.content.Intent requiredChildIntent(android.content.Context context) {",
+                    "    return Test3__IntentBuilder.getInitialState(context)",
+                    "        .extra3(\"3\").extra1(\"1\").foo(\"child\").bar(\"2\").foo(\"parent\")",
+                    "        .build();",
+                    "  }",
+                    "}"));
+
+    JavaFileObject builderSource =
+        JavaFileObjects.forSourceString(
+            "test.navigation.Test1__IntentBuilder",
+            Joiner.on('\n')
+                .join(
+                    "package test.navigation;",
+                    "import android.content.ComponentName;",
+                    "import android.content.Context;",
+                    "import android.content.Intent;",
+                    "import dart.henson.Bundler;",
+                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
+                    "import java.lang.String;",
+                    "public class Test1__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 2 + Test2__IntentBuilder.EXTRA_COUNT;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test1\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
+                    "  public static InitialState getInitialState(Context context) {",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new InitialState(bundler, intent);",
+                    "  }",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new InitialState(bundler, null);",
+                    "  }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return new RequiredSetters<>(allSetState);",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "      ALL_SET allSetState) {",
+                    "    return getNextState(allSetState);",
+                    "  }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    AfterSettingExtra1<ALL_SET> extra1(String extra1);",
+                    "    interface AfterSettingExtra1<ALL_SET extends AllSet<ALL_SET>> {",
+                    "      Test2__IntentBuilder.RequiredSequence<ALL_SET> foo(String childFoo);",
+                    "    }",
+                    "  }",
+                    "  public static class RequiredSetters<ALL_SET extends AllSet<ALL_SET>> extends RequiredStateSequence<ALL_SET> implements RequiredSequence<ALL_SET>, RequiredSequence.AfterSettingExtra1<ALL_SET> {",
+                    "    public RequiredSetters(ALL_SET allSetState) {",
+                    "      super(allSetState);",
+                    "    }",
+                    "    public RequiredSequence.AfterSettingExtra1<ALL_SET> extra1(String extra1) {",
+                    "      bundler.put(\"extra1\", extra1);",
+                    "      return this;",
+                    "    }",
+                    "    public Test2__IntentBuilder.RequiredSequence<ALL_SET> foo(String childFoo) {",
+                    "      bundler.put(\"foo\", childFoo);",
+                    "      return allRequiredSetState;",
+                    "    }",
+                    "  }",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends Test2__IntentBuilder.AllSet<SELF> {",
+                    "    public AllSet(Bundler bundler, Intent intent) {",
+                    "      super(bundler, intent);",
+                    "    }",
+                    "  }",
                     "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
+                    "  public static class InitialState extends RequiredSetters<ResolvedAllSet> {",
                     "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
+                    "      super(new ResolvedAllSet(bundler, intent));",
                     "    }",
                     "  }",
                     "}"));
 
     Compilation compilation = javac().withProcessors(hensonProcessor()).compile(source);
+    assertThat(compilation).succeeded();
     assertThat(compilation)
         .generatedSourceFile("test.navigation.Test1__IntentBuilder")
-        .hasSourceEquivalentTo(builderSource1);
+        .hasSourceEquivalentTo(builderSource);
+  }
+
+  @Test
+  public void
+      intentBuilderGenerator_should_setRequiredExtrasSeparately_when_parentHasOptionalWithSameKey() {
+    JavaFileObject source =
+        JavaFileObjects.forSourceString(
+            "test.navigation.Test1NavigationModel",
+            Joiner.on('\n')
+                .join(
+                    "package test.navigation;",
+                    "import dart.BindExtra;",
+                    "@interface Nullable {}",
+                    "public class Test1NavigationModel extends Test2NavigationModel {",
+                    "    @BindExtra(\"foo\") String requiredFoo;",
+                    "    @BindExtra String extra1;",
+                    "}",
+                    "class Test2NavigationModel {",
+                    "    @Nullable @BindExtra String foo;",
+                    "}",
+                    "class Navigation {",
+                    "  static android.content.Intent intent(android.content.Context context) {",
+                    "    return Test1__IntentBuilder.getInitialState(context)",
+                    "        .extra1(\"1\").foo(\"required\").build();",
+                    "  }",
+                    "}"));
+
+    Compilation compilation = javac().withProcessors(hensonProcessor()).compile(source);
+    assertThat(compilation).succeeded();
   }
 }
@@ -54,47 +54,60 @@ public class IntentBuilderGeneratorWithoutParcelerTest {
             Joiner.on('\n')
                 .join( //
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
                     "import java.lang.String;",
+                    "import java.lang.SuppressWarnings;",
                     "import java.util.ArrayList;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
-                    "          ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra(ArrayList<String> extra) {",
-                    "      bundler.put(\"extra\", extra);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "      ALL_SET allSetState) {",
+                    "    return getNextState(allSetState);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra(ArrayList<String> extra);",
+                    "  }",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra(ArrayList<String> extra) {",
+                    "      bundler.put(\"extra\", extra);",
+                    "      return (SELF) this;",
+                    "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -208,45 +221,58 @@ public class IntentBuilderGeneratorWithoutParcelerTest {
             Joiner.on('\n')
                 .join( //
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
                     "  }",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
-                    "          ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra(TestNavigationModel.ClassWithRequiredAndOptionalExtrasNavigationModel extra) {",
-                    "      bundler.put(\"extra\",(android.os.Parcelable) extra);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "      ALL_SET allSetState) {",
+                    "    return getNextState(allSetState);",
+                    "  }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra(TestNavigationModel.ClassWithRequiredAndOptionalExtrasNavigationModel extra);",
+                    "  }",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra(TestNavigationModel.ClassWithRequiredAndOptionalExtrasNavigationModel extra) {",
+                    "      bundler.put(\"extra\",(android.os.Parcelable) extra);",
+                    "      return (SELF) this;",
+                    "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
@@ -301,46 +327,58 @@ public class IntentBuilderGeneratorWithoutParcelerTest {
             Joiner.on('\n')
                 .join( //
                     "package test.navigation;",
-                    "import static dart.henson.ActivityClassFinder.getClassDynamically;",
+                    "import android.content.ComponentName;",
                     "import android.content.Context;",
                     "import android.content.Intent;",
                     "import dart.henson.AllRequiredSetState;",
                     "import dart.henson.Bundler;",
-                    "import dart.henson.RequiredStateSequence;",
+                    "import java.lang.Deprecated;",
+                    "import java.lang.SuppressWarnings;",
                     "public class Test__IntentBuilder {",
+                    "  public static final int EXTRA_COUNT = 1;",
+                    "  private static ComponentName component;",
+                    "  private static ComponentName getComponent(Context context) {",
+                    "    if (component == null) {",
+                    "      component = new ComponentName(context, \"test.navigation.Test\");",
+                    "    }",
+                    "    return component;",
+                    "  }",
                     "  public static InitialState getInitialState(Context context) {",
-                    "    final Intent intent = new Intent(context, getClassDynamically(\"test.navigation.Test\"));",
-                    "    final Bundler bundler = Bundler.create();",
-                    "    return new InitialState(bundler, intent);",
+                    "    final Intent intent = new Intent().setComponent(getComponent(context));",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, intent);",
                     "  }",
-                    "",
-                    "  public static <ALL_SET extends AllSet> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
-                    "          ALL_SET allSetState) {",
-                    "    return new RequiredSequence<>(bundler, allSetState);",
+                    "  public static InitialState getInitialArgumentsState() {",
+                    "    final Bundler bundler = Bundler.create(EXTRA_COUNT);",
+                    "    return new ResolvedAllSet(bundler, null);",
                     "  }",
-                    "  public static class RequiredSequence<ALL_SET extends AllSet> extends RequiredStateSequence<ALL_SET> {",
-                    "    public RequiredSequence(Bundler bundler, ALL_SET allRequiredSetState) {",
-                    "      super(bundler, allRequiredSetState);",
-                    "    }",
-                    "    public ALL_SET extra(TestNavigationModel.ClassWithRequiredAndOptionalExtrasNavigationModel extra) {",
-                    "      bundler.put(\"extra\",(android.os.Parcelable) extra);",
-                    "      return allRequiredSetState;",
-                    "    }",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(ALL_SET allSetState) {",
+                    "    return allSetState;",
+                    "  }",
+                    "  @Deprecated",
+                    "  public static <ALL_SET extends AllSet<ALL_SET>> RequiredSequence<ALL_SET> getNextState(Bundler bundler,",
+                    "      ALL_SET allSetState) {",
+                    "    return getNextState(allSetState);",
+                    "  }",
+                    "  public interface RequiredSequence<ALL_SET extends AllSet<ALL_SET>> {",
+                    "    ALL_SET extra(TestNavigationModel.ClassWithRequiredAndOptionalExtrasNavigationModel extra);",
                     "  }",
-                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState {",
+                    "  public static class AllSet<SELF extends AllSet<SELF>> extends AllRequiredSetState implements RequiredSequence<SELF> {",
                     "    public AllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
+                    "    @SuppressWarnings(\"unchecked\")",
+                    "    public SELF extra(TestNavigationModel.ClassWithRequiredAndOptionalExtrasNavigationModel extra) {",
+                    "      bundler.put(\"extra\",(android.os.Parcelable) extra);",
+                    "      return (SELF) this;",
+                    "    }",
                     "  }",
-                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> {",
+                    "  public static class ResolvedAllSet extends AllSet<ResolvedAllSet> implements InitialState {",
                     "    public ResolvedAllSet(Bundler bundler, Intent intent) {",
                     "      super(bundler, intent);",
                     "    }",
                     "  }",
-                    "  public static class InitialState extends RequiredSequence<ResolvedAllSet> {",
-                    "    public InitialState(Bundler bundler, Intent intent) {",
-                    "      super(bundler, new ResolvedAllSet(bundler, intent));",
-                    "    }",
+                    "  public interface InitialState extends RequiredSequence<ResolvedAllSet> {",
                     "  }",
                     "}"));
 
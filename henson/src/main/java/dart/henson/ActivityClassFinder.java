@@ -17,6 +17,11 @@
 
 package dart.henson;
 
+/**
+ * @deprecated generated intent builders name the component of their target instead of loading its
+ *     class. Only used by intent builders generated by previous versions.
+ */
+@Deprecated
 public class ActivityClassFinder {
   public static Class getClassDynamically(String className) {
     try {
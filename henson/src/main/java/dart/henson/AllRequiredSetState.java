@@ -18,17 +18,36 @@
 package dart.henson;
 
 import android.content.Intent;
+import android.os.Bundle;
 
 public class AllRequiredSetState extends State {
   private Intent intent;
 
+  /**
+   * @param bundler the extras being built.
+   * @param intent the intent receiving the extras, or null when building the arguments of a
+   *     fragment.
+   */
   public AllRequiredSetState(Bundler bundler, Intent intent) {
     super(bundler);
     this.intent = intent;
   }
 
   public Intent build() {
-    intent.putExtras(bundler.get());
+    if (intent == null) {
+      throw new IllegalStateException(
+          "No intent is built from the arguments of a fragment, use buildArguments().");
+    }
+    final Bundle extras = bundler.get();
+    ExtrasBudget.check(intent, extras);
+    intent.putExtras(extras);
     return intent;
   }
+
+  /** @return the extras, e.g. to be set as the arguments of a fragment. */
+  public Bundle buildArguments() {
+    final Bundle arguments = bundler.get();
+    ExtrasBudget.check(null, arguments);
+    return arguments;
+  }
 }
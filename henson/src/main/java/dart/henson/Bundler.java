@@ -26,6 +26,9 @@ import java.util.ArrayList;
 /**
  * Fluent API for {@link Bundle} Usage: {@code Bundle delegate = new
  * Bundler().put(....).put(....).get();}
+ *
+ * <p>Large values are put in files instead of the Bundle once an {@link ExtraSpillover} is
+ * installed.
  */
 public class Bundler {
 
@@ -46,6 +49,14 @@ public class Bundler {
     return new Bundler(new Bundle());
   }
 
+  /**
+   * Creates a bundler instance whose bundle is sized for {@code capacity} values, so that it
+   * doesn't grow while they are inserted.
+   */
+  public static Bundler create(int capacity) {
+    return new Bundler(new Bundle(capacity));
+  }
+
   /** Constructs a new Bundler instance that delegates to {@code delegate}. */
   private Bundler(Bundle delegate) {
     this.delegate = delegate;
@@ -73,7 +84,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, boolean[] value) {
-    delegate.putBooleanArray(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putBooleanArray(key, value);
+    }
     return this;
   }
 
@@ -99,7 +112,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, int[] value) {
-    delegate.putIntArray(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putIntArray(key, value);
+    }
     return this;
   }
 
@@ -112,7 +127,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler putIntegerArrayList(String key, ArrayList<Integer> value) {
-    delegate.putIntegerArrayList(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putIntegerArrayList(key, value);
+    }
     return this;
   }
 
@@ -125,7 +142,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, Bundle value) {
-    delegate.putBundle(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putBundle(key, value);
+    }
     return this;
   }
 
@@ -151,7 +170,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, byte[] value) {
-    delegate.putByteArray(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putByteArray(key, value);
+    }
     return this;
   }
 
@@ -164,7 +185,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, String value) {
-    delegate.putString(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putString(key, value);
+    }
     return this;
   }
 
@@ -177,7 +200,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, String[] value) {
-    delegate.putStringArray(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putStringArray(key, value);
+    }
     return this;
   }
 
@@ -190,7 +215,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler putStringArrayList(String key, ArrayList<String> value) {
-    delegate.putStringArrayList(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putStringArrayList(key, value);
+    }
     return this;
   }
 
@@ -216,7 +243,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, long[] value) {
-    delegate.putLongArray(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putLongArray(key, value);
+    }
     return this;
   }
 
@@ -242,7 +271,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, float[] value) {
-    delegate.putFloatArray(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putFloatArray(key, value);
+    }
     return this;
   }
 
@@ -268,7 +299,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, char[] value) {
-    delegate.putCharArray(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putCharArray(key, value);
+    }
     return this;
   }
 
@@ -281,7 +314,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, CharSequence value) {
-    delegate.putCharSequence(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putCharSequence(key, value);
+    }
     return this;
   }
 
@@ -294,7 +329,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, CharSequence[] value) {
-    delegate.putCharSequenceArray(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putCharSequenceArray(key, value);
+    }
     return this;
   }
 
@@ -307,7 +344,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler putCharSequenceArrayList(String key, ArrayList<CharSequence> value) {
-    delegate.putCharSequenceArrayList(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putCharSequenceArrayList(key, value);
+    }
     return this;
   }
 
@@ -333,7 +372,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, double[] value) {
-    delegate.putDoubleArray(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putDoubleArray(key, value);
+    }
     return this;
   }
 
@@ -346,7 +387,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, Parcelable value) {
-    delegate.putParcelable(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putParcelable(key, value);
+    }
     return this;
   }
 
@@ -359,7 +402,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, Parcelable[] value) {
-    delegate.putParcelableArray(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putParcelableArray(key, value);
+    }
     return this;
   }
 
@@ -372,7 +417,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler putParcelableArrayList(String key, ArrayList<? extends Parcelable> value) {
-    delegate.putParcelableArrayList(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putParcelableArrayList(key, value);
+    }
     return this;
   }
 
@@ -385,7 +432,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler putSparseParcelableArray(String key, SparseArray<? extends Parcelable> value) {
-    delegate.putSparseParcelableArray(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putSparseParcelableArray(key, value);
+    }
     return this;
   }
 
@@ -411,7 +460,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, short[] value) {
-    delegate.putShortArray(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putShortArray(key, value);
+    }
     return this;
   }
 
@@ -424,7 +475,9 @@ public class Bundler {
    * @return this bundler instance to chain method calls
    */
   public Bundler put(String key, Serializable value) {
-    delegate.putSerializable(key, value);
+    if (!ExtraSpillover.spill(delegate, key, value)) {
+      delegate.putSerializable(key, value);
+    }
     return this;
   }
 
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dart.henson;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Parcel;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps large extras out of binder transactions. Extras put in a {@link Bundler} that take more
+ * than a size once written to a {@link Parcel} are written to a memory mapped file in the cache
+ * directory of the app instead, and replaced by a small handle naming this file. Install it using
+ * {@link #install(ExtraSpillover)}:
+ *
+ * <pre><code>
+ * ExtraSpillover.install(new ExtraSpillover.Builder(context)
+ *     .maxSize(64 * 1024)
+ *     .build());
+ * Dart.setSpilledExtrasContext(context);
+ * </code></pre>
+ *
+ * <p>Dart reads spilled extras back in place of their handle, from any process of the app. The
+ * files outlive the process that wrote them, and are kept once read, so that an activity recreated
+ * from the same intent after the death of its process binds them again. Files that were neither
+ * written nor read for {@link Builder#maxAge(long, TimeUnit) a while} are deleted instead, on the
+ * {@link Builder#executor(Executor) executor} of the spillover, when an extra is spilled, at most
+ * once an hour.
+ *
+ * <p>Spilled extras are written to their file on the thread building the intent, as the file must
+ * exist once the intent is sent.
+ *
+ * <p>Only extras of object types are spilled. Boxed primitives are never spilled. Arrays of
+ * primitives and strings are only written to a {@link Parcel} when their length may exceed the
+ * size, other extras are written to measure them. Extras holding binders or file descriptors can't
+ * be written to a file and are never spilled.
+ */
+public final class ExtraSpillover {
+  // Shared with dart.SpilledExtras, which reads the extras back.
+  private static final String HANDLE_KEY = "dart.henson.SpilledExtra";
+  private static final String DIRECTORY = "dart-extras";
+  private static final long COLLECTION_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+  private static volatile ExtraSpillover installed;
+
+  /** Creates {@link ExtraSpillover} instances. */
+  public static final class Builder {
+    private final File directory;
+    private int maxSize = -1;
+    private long maxAgeMillis = TimeUnit.DAYS.toMillis(7);
+    private Executor executor;
+
+    /** @param context the context of the app, whose cache directory receives spilled extras. */
+    public Builder(Context context) {
+      directory = new File(context.getCacheDir(), DIRECTORY);
+    }
+
+    /** Spill extras taking more than {@code bytes} once written to a {@link Parcel}. */
+    public Builder maxSize(int bytes) {
+      maxSize = bytes;
+      return this;
+    }
+
+    /**
+     * Delete spilled extras that were neither written nor read for {@code maxAge}. Defaults to 7
+     * days. Activities recreated from older intents don't find their spilled extras. Extras are not
+     * deleted once read, the intents holding them can still be delivered again.
+     */
+    public Builder maxAge(long maxAge, TimeUnit unit) {
+      maxAgeMillis = unit.toMillis(maxAge);
+      return this;
+    }
+
+    /**
+     * Delete old spilled extras on {@code executor}. Defaults to a new background thread for each
+     * collection.
+     */
+    public Builder executor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    public ExtraSpillover build() {
+      if (maxSize < 0) {
+        throw new IllegalStateException("A max size is required.");
+      }
+      return new ExtraSpillover(this);
+    }
+  }
+
+  private final File directory;
+  private final int maxSize;
+  private final long maxAgeMillis;
+  private final Executor executor;
+  // Spills racing past this time may both collect, which only deletes the same files twice.
+  private volatile long nextCollectionMillis;
+
+  private ExtraSpillover(Builder builder) {
+    directory = builder.directory;
+    maxSize = builder.maxSize;
+    maxAgeMillis = builder.maxAgeMillis;
+    executor = builder.executor;
+  }
+
+  /** Spills the extras of all the following builders to files using {@code spillover}, or none. */
+  public static void install(ExtraSpillover spillover) {
+    installed = spillover;
+  }
+
+  /**
+   * Puts a handle in {@code extras} in place of {@code value} if it is too large.
+   *
+   * @return true if {@code value} was spilled, false if it has to be put in {@code extras}.
+   */
+  static boolean spill(Bundle extras, String key, Object value) {
+    final ExtraSpillover spillover = installed;
+    if (spillover == null || value == null || isBoxedPrimitive(value)) {
+      return false;
+    }
+    final int length = lengthOf(value);
+    if (length >= 0 && length <= spillover.maxSize) {
+      return false;
+    }
+    return spillover.write(extras, key, value);
+  }
+
+  /** @return true if {@code value} takes at most 12 bytes in a {@link Parcel}. */
+  private static boolean isBoxedPrimitive(Object value) {
+    return value instanceof Integer
+        || value instanceof Long
+        || value instanceof Boolean
+        || value instanceof Double
+        || value instanceof Float
+        || value instanceof Character
+        || value instanceof Short
+        || value instanceof Byte;
+  }
+
+  /**
+   * @return a lower bound of the size of {@code value} in a {@link Parcel} for arrays of primitives
+   *     and strings, which are only written to be measured when they may exceed the max size, or -1
+   *     for other values.
+   */
+  private static int lengthOf(Object value) {
+    if (value instanceof byte[]) {
+      return ((byte[]) value).length;
+    } else if (value instanceof String) {
+      return 2 * ((String) value).length();
+    } else if (value instanceof int[]) {
+      return 4 * ((int[]) value).length;
+    } else if (value instanceof long[]) {
+      return 8 * ((long[]) value).length;
+    } else if (value instanceof double[]) {
+      return 8 * ((double[]) value).length;
+    } else if (value instanceof float[]) {
+      return 4 * ((float[]) value).length;
+    } else if (value instanceof boolean[]) {
+      // Parcels write booleans, chars and shorts as ints.
+      return 4 * ((boolean[]) value).length;
+    } else if (value instanceof char[]) {
+      return 4 * ((char[]) value).length;
+    } else if (value instanceof short[]) {
+      return 4 * ((short[]) value).length;
+    }
+    return -1;
+  }
+
+  private boolean write(Bundle extras, String key, Object value) {
+    final Parcel parcel = Parcel.obtain();
+    try {
+      parcel.writeValue(value);
+      if (parcel.dataSize() <= maxSize) {
+        return false;
+      }
+      final byte[] bytes = parcel.marshall();
+      collect();
+      final String name = UUID.randomUUID().toString();
+      if (!directory.isDirectory() && !directory.mkdirs()) {
+        return false;
+      }
+      final RandomAccessFile output = new RandomAccessFile(new File(directory, name), "rw");
+      try {
+        output.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, bytes.length).put(bytes);
+      } finally {
+        output.close();
+      }
+      final Bundle handle = new Bundle(1);
+      handle.putString(HANDLE_KEY, name);
+      extras.putBundle(key, handle);
+      return true;
+    } catch (IOException | RuntimeException e) {
+      // Values holding binders or file descriptors can't be marshalled, they stay in the bundle,
+      // as values that can't be written to a file.
+      return false;
+    } finally {
+      parcel.recycle();
+    }
+  }
+
+  /** Deletes the files neither written nor read for the max age, at most once an hour. */
+  private void collect() {
+    final long now = System.currentTimeMillis();
+    if (now < nextCollectionMillis) {
+      return;
+    }
+    nextCollectionMillis = now + COLLECTION_INTERVAL_MILLIS;
+    final Runnable collection =
+        new Runnable() {
+          @Override
+          public void run() {
+            deleteOlderThan(now - maxAgeMillis);
+          }
+        };
+    if (executor != null) {
+      executor.execute(collection);
+    } else {
+      final Thread thread = new Thread(collection, "ExtraSpillover");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  private void deleteOlderThan(long oldest) {
+    final File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      if (file.lastModified() < oldest) {
+        file.delete();
+      }
+    }
+  }
+}
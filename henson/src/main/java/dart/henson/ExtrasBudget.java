@@ -0,0 +1,166 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dart.henson;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.Parcel;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Detects intents and fragment arguments whose extras are too large to be sent safely, before they
+ * fail with a {@code TransactionTooLargeException}. Install it using {@link
+ * #install(ExtrasBudget)}:
+ *
+ * <pre><code>
+ * ExtrasBudget.install(new ExtrasBudget.Builder()
+ *     .maxSize(100 * 1024)
+ *     .sampleRate(BuildConfig.DEBUG ? 1 : 100)
+ *     .listener(listener)
+ *     .build());
+ * </code></pre>
+ *
+ * <p>The extras are measured by writing them to a {@link Parcel} when the builders generated by
+ * Henson build, which costs about as much as sending them. Sampling builds keeps this cost low in
+ * production. The size of each extra is only measured when the budget is exceeded.
+ */
+public final class ExtrasBudget {
+  private static volatile ExtrasBudget installed;
+
+  /**
+   * Receives the extras over budget, on the thread building them. Exceptions thrown by the listener
+   * fail the build, to fail fast in debug builds.
+   */
+  public interface OnOverBudgetListener {
+    /**
+     * @param intent the intent being built, or null for the arguments of a fragment.
+     * @param size the size of the extras, in bytes, once written to a {@link Parcel}.
+     * @param sizes the size of each extra, with its key, by key, largest first.
+     */
+    void onOverBudget(Intent intent, int size, Map<String, Integer> sizes);
+  }
+
+  /** Creates {@link ExtrasBudget} instances. */
+  public static final class Builder {
+    private int maxSize = -1;
+    private int sampleRate = 1;
+    private OnOverBudgetListener listener;
+
+    /** Report extras taking more than {@code bytes} once written to a {@link Parcel}. */
+    public Builder maxSize(int bytes) {
+      maxSize = bytes;
+      return this;
+    }
+
+    /** Measure the extras of one build out of {@code rate}. Defaults to all builds. */
+    public Builder sampleRate(int rate) {
+      if (rate < 1) {
+        throw new IllegalArgumentException("Sample rate must be positive.");
+      }
+      sampleRate = rate;
+      return this;
+    }
+
+    public Builder listener(OnOverBudgetListener listener) {
+      this.listener = listener;
+      return this;
+    }
+
+    public ExtrasBudget build() {
+      if (maxSize < 0 || listener == null) {
+        throw new IllegalStateException("A max size and a listener are required.");
+      }
+      return new ExtrasBudget(this);
+    }
+  }
+
+  private final int maxSize;
+  private final int sampleRate;
+  private final OnOverBudgetListener listener;
+  private final AtomicInteger builds = new AtomicInteger();
+
+  private ExtrasBudget(Builder builder) {
+    maxSize = builder.maxSize;
+    sampleRate = builder.sampleRate;
+    listener = builder.listener;
+  }
+
+  /** Checks the extras of all the following builds against {@code budget}, or none if null. */
+  public static void install(ExtrasBudget budget) {
+    installed = budget;
+  }
+
+  /** Checks {@code extras} against the installed budget, if any. */
+  static void check(Intent intent, Bundle extras) {
+    final ExtrasBudget budget = installed;
+    if (budget != null && budget.builds.getAndIncrement() % budget.sampleRate == 0) {
+      budget.measure(intent, extras);
+    }
+  }
+
+  private void measure(Intent intent, Bundle extras) {
+    final int size;
+    final Map<String, Integer> sizes;
+    final Parcel parcel = Parcel.obtain();
+    try {
+      parcel.writeBundle(extras);
+      size = parcel.dataSize();
+      if (size <= maxSize) {
+        return;
+      }
+      sizes = measureEach(parcel, extras);
+    } catch (RuntimeException e) {
+      // Extras that can't be written fail on their own when the intent is sent.
+      return;
+    } finally {
+      parcel.recycle();
+    }
+    // Outside of the try, listeners throwing to fail fast fail the build.
+    listener.onOverBudget(intent, size, sizes);
+  }
+
+  private static Map<String, Integer> measureEach(Parcel parcel, Bundle extras) {
+    final List<Map.Entry<String, Integer>> sizes = new ArrayList<>();
+    for (String key : extras.keySet()) {
+      final int start = parcel.dataPosition();
+      parcel.writeString(key);
+      parcel.writeValue(extras.get(key));
+      sizes.add(new AbstractMap.SimpleEntry<>(key, parcel.dataPosition() - start));
+    }
+    Collections.sort(
+        sizes,
+        new Comparator<Map.Entry<String, Integer>>() {
+          @Override
+          public int compare(Map.Entry<String, Integer> o1, Map.Entry<String, Integer> o2) {
+            return o2.getValue().compareTo(o1.getValue());
+          }
+        });
+    final Map<String, Integer> sorted = new LinkedHashMap<>();
+    for (Map.Entry<String, Integer> entry : sizes) {
+      sorted.put(entry.getKey(), entry.getValue());
+    }
+    return sorted;
+  }
+}
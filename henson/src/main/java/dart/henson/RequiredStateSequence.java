@@ -24,4 +24,9 @@ public class RequiredStateSequence<ALL_REQUIRED_SET_STATE extends State> extends
     super(bundler);
     this.allRequiredSetState = allRequiredSetState;
   }
+
+  /** @param allRequiredSetState the state whose extras are being built, shared with this state. */
+  public RequiredStateSequence(ALL_REQUIRED_SET_STATE allRequiredSetState) {
+    this(allRequiredSetState.bundler, allRequiredSetState);
+  }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dart.henson;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Parcel;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class ExtraSpilloverTest {
+  private static final String HANDLE_KEY = "dart.henson.SpilledExtra";
+
+  private Context context;
+  private File directory;
+
+  @Before
+  public void setUp() {
+    context = RuntimeEnvironment.application;
+    directory = new File(context.getCacheDir(), "dart-extras");
+    clear();
+  }
+
+  @After
+  public void tearDown() {
+    ExtraSpillover.install(null);
+    clear();
+  }
+
+  @Test
+  public void extrasAreNotSpilledWithoutInstalledSpillover() {
+    Bundle extras = new Bundle();
+
+    assertThat(ExtraSpillover.spill(extras, "key", new byte[4096])).isFalse();
+    assertThat(extras.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void smallExtrasAreNotSpilled() {
+    ExtraSpillover.install(new ExtraSpillover.Builder(context).maxSize(1024).build());
+    Bundle extras = new Bundle();
+
+    assertThat(ExtraSpillover.spill(extras, "null", null)).isFalse();
+    assertThat(ExtraSpillover.spill(extras, "int", 1)).isFalse();
+    assertThat(ExtraSpillover.spill(extras, "string", "small")).isFalse();
+    assertThat(ExtraSpillover.spill(extras, "bytes", new byte[16])).isFalse();
+    assertThat(ExtraSpillover.spill(extras, "list", new ArrayList<String>())).isFalse();
+    assertThat(extras.isEmpty()).isTrue();
+    assertThat(directory.list()).isNullOrEmpty();
+  }
+
+  @Test
+  public void largeExtrasAreSpilledToTheFileNamedByTheirHandle() throws IOException {
+    ExtraSpillover.install(new ExtraSpillover.Builder(context).maxSize(1024).build());
+    Bundle extras = new Bundle();
+    int[] value = new int[1024];
+    value[1023] = 42;
+
+    assertThat(ExtraSpillover.spill(extras, "key", value)).isTrue();
+
+    Bundle handle = extras.getBundle("key");
+    assertThat(handle).isNotNull();
+    File file = new File(directory, handle.getString(HANDLE_KEY));
+    assertThat(file).exists();
+    assertThat((int[]) read(file)).isEqualTo(value);
+  }
+
+  @Test
+  public void staleFilesAreCollectedOnTheExecutorAtMostOnceAnHour() throws IOException {
+    final List<Runnable> collections = new ArrayList<>();
+    ExtraSpillover.install(
+        new ExtraSpillover.Builder(context)
+            .maxSize(1024)
+            .maxAge(1, TimeUnit.DAYS)
+            .executor(
+                new Executor() {
+                  @Override
+                  public void execute(Runnable command) {
+                    collections.add(command);
+                  }
+                })
+            .build());
+    directory.mkdirs();
+    File stale = stale("stale");
+    File recent = new File(directory, "recent");
+    recent.createNewFile();
+
+    ExtraSpillover.spill(new Bundle(), "key", new byte[2048]);
+
+    assertThat(stale).exists();
+    assertThat(collections).hasSize(1);
+    collections.get(0).run();
+    assertThat(stale).doesNotExist();
+    assertThat(recent).exists();
+
+    stale("staleAgain");
+    ExtraSpillover.spill(new Bundle(), "key", new byte[2048]);
+
+    assertThat(collections).hasSize(1);
+  }
+
+  @Test
+  public void spilloversRequireAMaxSize() {
+    try {
+      new ExtraSpillover.Builder(context).build();
+      fail("A spillover without max size should have failed to build.");
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("A max size is required.");
+    }
+  }
+
+  private File stale(String name) throws IOException {
+    File file = new File(directory, name);
+    file.createNewFile();
+    file.setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2));
+    return file;
+  }
+
+  private static Object read(File file) throws IOException {
+    byte[] bytes = new byte[(int) file.length()];
+    FileInputStream input = new FileInputStream(file);
+    try {
+      int read = 0;
+      while (read < bytes.length) {
+        read += input.read(bytes, read, bytes.length - read);
+      }
+    } finally {
+      input.close();
+    }
+    Parcel parcel = Parcel.obtain();
+    try {
+      parcel.unmarshall(bytes, 0, bytes.length);
+      parcel.setDataPosition(0);
+      return parcel.readValue(ExtraSpilloverTest.class.getClassLoader());
+    } finally {
+      parcel.recycle();
+    }
+  }
+
+  private void clear() {
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2013 Jake Wharton
+ * Copyright 2014 Prateek Srivastava (@f2prateek)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dart.henson;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import android.content.Intent;
+import android.os.Bundle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class ExtrasBudgetTest {
+  private final List<Report> reports = new ArrayList<>();
+  private final ExtrasBudget.OnOverBudgetListener listener =
+      new ExtrasBudget.OnOverBudgetListener() {
+        @Override
+        public void onOverBudget(Intent intent, int size, Map<String, Integer> sizes) {
+          reports.add(new Report(intent, size, sizes));
+        }
+      };
+
+  @After
+  public void tearDown() {
+    ExtrasBudget.install(null);
+  }
+
+  @Test
+  public void extrasWithinBudgetAreNotReported() {
+    ExtrasBudget.install(new ExtrasBudget.Builder().maxSize(1024).listener(listener).build());
+
+    ExtrasBudget.check(new Intent(), extras(new byte[16], new byte[32]));
+
+    assertThat(reports).isEmpty();
+  }
+
+  @Test
+  public void extrasOverBudgetAreReportedWithTheirSize() {
+    ExtrasBudget.install(new ExtrasBudget.Builder().maxSize(1024).listener(listener).build());
+    Intent intent = new Intent();
+
+    ExtrasBudget.check(intent, extras(new byte[1024], new byte[16]));
+
+    assertThat(reports).hasSize(1);
+    Report report = reports.get(0);
+    assertThat(report.intent).isSameAs(intent);
+    assertThat(report.size).isGreaterThan(1024);
+    int total = 0;
+    for (int size : report.sizes.values()) {
+      total += size;
+    }
+    assertThat(report.size).isGreaterThanOrEqualTo(total);
+  }
+
+  @Test
+  public void fragmentArgumentsOverBudgetAreReportedWithoutIntent() {
+    ExtrasBudget.install(new ExtrasBudget.Builder().maxSize(1024).listener(listener).build());
+
+    ExtrasBudget.check(null, extras(new byte[2048]));
+
+    assertThat(reports).hasSize(1);
+    assertThat(reports.get(0).intent).isNull();
+  }
+
+  @Test
+  public void extrasOverBudgetAreReportedLargestFirst() {
+    ExtrasBudget.install(new ExtrasBudget.Builder().maxSize(1024).listener(listener).build());
+
+    ExtrasBudget.check(new Intent(), extras(new byte[16], new byte[2048], new byte[512]));
+
+    assertThat(reports).hasSize(1);
+    Map<String, Integer> sizes = reports.get(0).sizes;
+    assertThat(new ArrayList<>(sizes.keySet())).containsExactly("extra1", "extra2", "extra0");
+    List<Integer> values = new ArrayList<>(sizes.values());
+    assertThat(values.get(0)).isGreaterThan(values.get(1));
+    assertThat(values.get(1)).isGreaterThan(values.get(2));
+  }
+
+  @Test
+  public void onlyOneBuildOutOfTheSampleRateIsMeasured() {
+    ExtrasBudget.install(
+        new ExtrasBudget.Builder().maxSize(1024).sampleRate(3).listener(listener).build());
+
+    for (int i = 0; i < 7; i++) {
+      ExtrasBudget.check(new Intent(), extras(new byte[2048]));
+    }
+
+    assertThat(reports).hasSize(3);
+  }
+
+  @Test
+  public void noBuildIsMeasuredWithoutInstalledBudget() {
+    ExtrasBudget.install(new ExtrasBudget.Builder().maxSize(1024).listener(listener).build());
+    ExtrasBudget.install(null);
+
+    ExtrasBudget.check(new Intent(), extras(new byte[2048]));
+
+    assertThat(reports).isEmpty();
+  }
+
+  @Test
+  public void listenerExceptionsFailTheBuild() {
+    final RuntimeException failure = new IllegalStateException("Over budget");
+    ExtrasBudget.install(
+        new ExtrasBudget.Builder()
+            .maxSize(1024)
+            .listener(
+                new ExtrasBudget.OnOverBudgetListener() {
+                  @Override
+                  public void onOverBudget(Intent intent, int size, Map<String, Integer> sizes) {
+                    throw failure;
+                  }
+                })
+            .build());
+
+    try {
+      ExtrasBudget.check(new Intent(), extras(new byte[2048]));
+      fail("The exception of the listener should have been thrown.");
+    } catch (IllegalStateException e) {
+      assertThat(e).isSameAs(failure);
+    }
+  }
+
+  @Test
+  public void budgetsRequireAMaxSizeAndAListener() {
+    try {
+      new ExtrasBudget.Builder().listener(listener).build();
+      fail("A budget without max size should have failed to build.");
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("A max size and a listener are required.");
+    }
+    try {
+      new ExtrasBudget.Builder().maxSize(1024).build();
+      fail("A budget without listener should have failed to build.");
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("A max size and a listener are required.");
+    }
+    try {
+      new ExtrasBudget.Builder().sampleRate(0);
+      fail("A budget with a sample rate of 0 should have failed to build.");
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("Sample rate must be positive.");
+    }
+  }
+
+  private static Bundle extras(byte[]... values) {
+    Bundle extras = new Bundle();
+    for (int i = 0; i < values.length; i++) {
+      extras.putByteArray("extra" + i, values[i]);
+    }
+    return extras;
+  }
+
+  private static final class Report {
+    final Intent intent;
+    final int size;
+    final Map<String, Integer> sizes;
+
+    Report(Intent intent, int size, Map<String, Integer> sizes) {
+      this.intent = intent;
+      this.size = size;
+      this.sizes = sizes;
+    }
+  }
+}